@@ -3,6 +3,7 @@ plugins {
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
     id("jacoco")
+    alias(libs.plugins.jmh)
 }
 
 configurations {
@@ -23,10 +24,13 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.actuator)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
     testImplementation(libs.spring.boot.starter.test)
+    "jmhImplementation"(libs.hdrhistogram)
 }
 
 // about source and compilation
@@ -35,7 +39,42 @@ java {
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
-    toolVersion = "0.8.7"
+    toolVersion = "0.8.11"
+}
+
+// benchmark tasks - ./gradlew jmh (src/jmh)
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    findProperty("jmh.includes")?.let { includes.set(listOf(it.toString())) }
+}
+
+// heap footprint of point stores - ./gradlew pointStoreFootprint -Pusers=1000000,10000000
+tasks.register<JavaExec>("pointStoreFootprint") {
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("io.hhplus.tdd.database.PointStoreFootprint")
+    maxHeapSize = "4g"
+    args(findProperty("users")?.toString() ?: "1000000,10000000")
+}
+
+// platform vs virtual thread load test - ./gradlew threadModeLoadTest -Prequests=5000 -Pusers=1000 -Pthreads=200
+tasks.register<JavaExec>("threadModeLoadTest") {
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("io.hhplus.tdd.point.ThreadModeLoadTest")
+    args(
+        findProperty("requests")?.toString() ?: "5000",
+        findProperty("users")?.toString() ?: "1000",
+        findProperty("threads")?.toString() ?: "200",
+    )
+}
+
+// open-loop soak test with invariant check - ./gradlew pointSoakTest -Psoak="users=100000 distribution=zipf rate=5000 duration=2h"
+tasks.register<JavaExec>("pointSoakTest") {
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("io.hhplus.tdd.point.PointSoakTest")
+    maxHeapSize = "2g"
+    args((findProperty("soak")?.toString() ?: "").split(" ").filter { it.isNotBlank() })
 }
 
 // bundling tasks
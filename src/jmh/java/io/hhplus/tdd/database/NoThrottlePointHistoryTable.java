@@ -0,0 +1,28 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 테이블 - 지연(throttle) 없이 여러 쓰레드에서 동시에 사용할 수 있습니다.
+ * 조회는 원본 테이블과 같이 전체 이력을 훑습니다.
+ */
+public class NoThrottlePointHistoryTable extends PointHistoryTable {
+    private final List<PointHistory> pointHistories = new ArrayList<>();
+    private long cursor = 1;
+
+    @Override
+    public synchronized PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = new PointHistory(cursor++, userId, amount, type, updateMillis);
+        pointHistories.add(pointHistory);
+        return pointHistory;
+    }
+
+    @Override
+    public synchronized List<PointHistory> selectAllByUserId(long userId) {
+        return pointHistories.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+    }
+}
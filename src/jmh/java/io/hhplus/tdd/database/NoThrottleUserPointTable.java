@@ -0,0 +1,25 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 벤치마크용 테이블 - 지연(throttle) 없이 여러 쓰레드에서 동시에 사용할 수 있습니다.
+ */
+public class NoThrottleUserPointTable extends UserPointTable {
+    private final Map<Long, UserPoint> userPoints = new ConcurrentHashMap<>();
+
+    @Override
+    public UserPoint selectById(Long id) {
+        return userPoints.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        userPoints.put(id, userPoint);
+        return userPoint;
+    }
+}
@@ -0,0 +1,54 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.lang.ref.Reference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * 사용자 수에 따른 잔고 저장소의 heap 사용량 비교 - ./gradlew pointStoreFootprint [-Pusers=1000000,10000000]
+ *
+ * HASH_MAP 은 {@link UserPointTable} 과 같은 구조(HashMap&lt;Long, UserPoint&gt;)이며,
+ * 테이블은 지연(throttle) 때문에 수백만 명을 채울 수 없으므로 같은 구조의 맵을 직접 채웁니다.
+ * 저장소를 채우기 전과 후에 GC 를 수행하고 사용 중인 heap 의 차이를 사용자 수로 나눠 출력합니다.
+ */
+public class PointStoreFootprint {
+
+    public static void main(String[] args) {
+        String users = args.length > 0 ? args[0] : "1000000,10000000";
+        for (String count : users.split(",")) {
+            int userCount = Integer.parseInt(count.trim());
+            measure("HASH_MAP", userCount, PointStoreFootprint::hashMap);
+            measure("OPEN_ADDRESSING", userCount, PointStoreFootprint::openAddressing);
+        }
+    }
+
+    private static Object hashMap(int userCount) {
+        Map<Long, UserPoint> table = new HashMap<>();
+        for (long id = 1; id <= userCount; id++) table.put(id, new UserPoint(id, id, id));
+        return table;
+    }
+
+    private static Object openAddressing(int userCount) {
+        OpenAddressingPointStore pointStore = new OpenAddressingPointStore();
+        for (long id = 1; id <= userCount; id++) pointStore.put(id, id, id);
+        return pointStore;
+    }
+
+    private static void measure(String type, int userCount, IntFunction<Object> populate) {
+        long before = usedHeap();
+        Object store = populate.apply(userCount);
+        long bytes = usedHeap() - before;
+        System.out.printf("%-16s users=%,12d heap=%,8d MB bytes/user=%6.1f%n",
+                type, userCount, bytes >> 20, (double) bytes / userCount);
+        Reference.reachabilityFence(store);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
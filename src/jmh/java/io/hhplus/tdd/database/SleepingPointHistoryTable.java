@@ -0,0 +1,16 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 부하 테스트용 테이블 - 원본 테이블과 같은 지연(최대 300ms)을 Lock 밖에서 두어 여러 쓰레드에서 동시에 사용할 수 있습니다.
+ */
+public class SleepingPointHistoryTable extends NoThrottlePointHistoryTable {
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        SleepingUserPointTable.sleep(300);
+        return super.insert(userId, amount, type, updateMillis);
+    }
+}
@@ -0,0 +1,32 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 테스트용 테이블 - 원본 테이블과 같은 지연(최대 200/300ms)을 두되 여러 쓰레드에서 동시에 사용할 수 있습니다.
+ */
+public class SleepingUserPointTable extends NoThrottleUserPointTable {
+
+    @Override
+    public UserPoint selectById(Long id) {
+        sleep(200);
+        return super.selectById(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        sleep(300);
+        return super.insertOrUpdate(id, amount);
+    }
+
+    static void sleep(long maxMillis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(maxMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
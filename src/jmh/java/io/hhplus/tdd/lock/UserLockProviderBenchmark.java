@@ -0,0 +1,40 @@
+package io.hhplus.tdd.lock;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 Lock 획득/반납 비용 벤치마크 - 사용자 수가 많을수록 참조 횟수 방식은 맵 갱신 비용이 늘어납니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class UserLockProviderBenchmark {
+
+    @Param({"REF_COUNTED", "STRIPED"})
+    private String type;
+
+    @Param({"1", "1000", "1000000"})
+    private int userCount;
+
+    private UserLockProvider lockProvider;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        lockProvider = type.equals("STRIPED") ? new StripedUserLockProvider(1024) : new RefCountedUserLockProvider();
+    }
+
+    @Benchmark
+    public void acquireAndRelease() {
+        long userId = ThreadLocalRandom.current().nextLong(userCount) + 1;
+        try (UserLock ignored = lockProvider.acquire(userId)) {
+            // 임계영역 없이 Lock 비용만 측정
+        }
+    }
+}
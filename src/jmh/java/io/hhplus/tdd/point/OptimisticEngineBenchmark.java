@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.NoThrottlePointHistoryTable;
+import io.hhplus.tdd.database.NoThrottleUserPointTable;
+import io.hhplus.tdd.point.UserDistribution.UserSampler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 Lock(LOCKING)과 버전 비교 기록(OPTIMISTIC)의 충전/사용 처리량 비교
+ *
+ * 두 방식 모두 버전을 관리하는 MEMORY 저장 계층을 사용하므로 차이는 Lock 테이블과 충돌 처리 비용입니다.
+ * 충돌 정도는 사용자 분포와 사용자 수로 조절합니다.
+ * - HOT : 모든 요청이 한 사용자에게 몰려 매번 충돌 (OPTIMISTIC 은 곧 Lock 으로 전환)
+ * - ZIPF + 100 : 상위 몇 명에게 충돌이 집중
+ * - UNIFORM + 1000000 : 충돌이 거의 없는 대부분의 사용자
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=OptimisticEngineBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OptimisticEngineBenchmark {
+
+    @Param({"LOCKING", "OPTIMISTIC"})
+    private PointProperties.EngineType engine;
+
+    @Param({"HOT", "ZIPF", "UNIFORM"})
+    private UserDistribution distribution;
+
+    @Param({"100", "1000000"})
+    private int userCount;
+
+    private PointService pointService;
+    private UserSampler sampler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PointProperties properties = new PointProperties();
+        properties.setEngine(engine);
+        properties.getStorage().setType(PointProperties.StorageType.MEMORY);
+        properties.getStorage().setExpectedUsers(userCount);
+        properties.getHistory().setIndexed(true);
+
+        pointService = new PointService(new NoThrottleUserPointTable(), new NoThrottlePointHistoryTable(), properties);
+        sampler = distribution.sampler(userCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pointService.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void chargeAndUse_1(Blackhole blackhole) {
+        chargeOrUse(blackhole);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void chargeAndUse_max(Blackhole blackhole) {
+        chargeOrUse(blackhole);
+    }
+
+    /**
+     * 충전과 사용을 절반씩 요청하며, 정책 위반 예외도 정상적인 결과로 취급합니다.
+     */
+    private void chargeOrUse(Blackhole blackhole) {
+        long userId = sampler.next();
+        try {
+            if (ThreadLocalRandom.current().nextBoolean()) blackhole.consume(pointService.chargePoint(userId, 100));
+            else blackhole.consume(pointService.reducePoint(userId, 100));
+        } catch (RuntimeException e) {
+            blackhole.consume(e);
+        }
+    }
+}
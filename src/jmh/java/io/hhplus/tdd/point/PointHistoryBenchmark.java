@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.NoThrottlePointHistoryTable;
+import io.hhplus.tdd.database.NoThrottleUserPointTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+
+/**
+ * 전체 이력 수(historySize)가 늘어날 때 한 사용자의 이력 조회 비용 벤치마크
+ * 사용자마다 평균 10건의 이력을 가지며, indexed 여부에 따라 테이블 전체 탐색과 사용자별 인덱스를 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PointHistoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int historySize;
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    private PointService pointService;
+    private int userCount;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PointProperties properties = new PointProperties();
+        properties.getHistory().setIndexed(indexed);
+        properties.getLock().setType(PointProperties.LockType.STRIPED);
+
+        pointService = new PointService(new NoThrottleUserPointTable(), new NoThrottlePointHistoryTable(), properties);
+        userCount = Math.max(1, historySize / 10);
+
+        // 잔고 한도를 넘지 않도록 사용자를 돌아가며 충전한다.
+        for (int i = 0; i < historySize; i++) pointService.chargePoint(i % userCount + 1, 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pointService.close();
+    }
+
+    @Benchmark
+    public List<PointHistory> getPointHistory() {
+        return pointService.getPointHistory(ThreadLocalRandom.current().nextLong(userCount) + 1);
+    }
+
+    @Benchmark
+    public PointHistoryPage getPointHistoryPage() {
+        long userId = ThreadLocalRandom.current().nextLong(userCount) + 1;
+        return pointService.getPointHistoryPage(userId, new PointHistoryQuery(null, 5, CHARGE, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+}
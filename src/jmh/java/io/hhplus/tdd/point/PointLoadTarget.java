@@ -0,0 +1,154 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.database.NoThrottlePointHistoryTable;
+import io.hhplus.tdd.database.NoThrottleUserPointTable;
+import io.hhplus.tdd.database.SleepingPointHistoryTable;
+import io.hhplus.tdd.database.SleepingUserPointTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 부하 테스트가 요청을 보내는 대상
+ *
+ * - service : 같은 프로세스에 PointService 를 만들어 비동기 API 를 직접 호출합니다.
+ * - http : 실행 중인 서버(./gradlew bootRun)의 /point API 를 호출합니다. 주소가 여럿이면(클러스터) 충전/사용 요청을 돌아가며 보냅니다.
+ * 실패한 요청은 {@link Rejection} 으로 완료되며, reason 은 결과 집계의 키로 사용합니다.
+ */
+interface PointLoadTarget extends AutoCloseable {
+
+    CompletableFuture<UserPoint> execute(PointCommand command);
+
+    long balanceOf(long userId);
+
+    List<PointHistory> historiesOf(long userId);
+
+    @Override
+    default void close() {
+    }
+
+    /**
+     * 요청이 반영되지 않았음이 확실한 실패 - 예외 이름 또는 HTTP 상태 코드를 사유로 가집니다.
+     */
+    class Rejection extends RuntimeException {
+        private final String reason;
+
+        Rejection(String reason, String message) {
+            super(message, null, false, false);
+            this.reason = reason;
+        }
+
+        String reason() {
+            return reason;
+        }
+    }
+
+    class ServiceTarget implements PointLoadTarget {
+        private final PointService pointService;
+
+        /**
+         * sleeping 이면 원본 테이블과 같은 지연을 가진 테이블을, 아니면 지연 없는 테이블을 사용합니다.
+         */
+        ServiceTarget(PointProperties properties, boolean sleeping) {
+            this.pointService = sleeping
+                    ? new PointService(new SleepingUserPointTable(), new SleepingPointHistoryTable(), properties)
+                    : new PointService(new NoThrottleUserPointTable(), new NoThrottlePointHistoryTable(), properties);
+        }
+
+        @Override
+        public CompletableFuture<UserPoint> execute(PointCommand command) {
+            CompletableFuture<UserPoint> future = command.type() == TransactionType.CHARGE
+                    ? pointService.chargePointAsync(command.userId(), command.amount(), null)
+                    : pointService.reducePointAsync(command.userId(), command.amount(), null);
+            return future.exceptionallyCompose(error -> {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                return CompletableFuture.failedFuture(new Rejection(cause.getClass().getSimpleName(), cause.getMessage()));
+            });
+        }
+
+        @Override
+        public long balanceOf(long userId) {
+            return pointService.getUserPoint(userId).point();
+        }
+
+        @Override
+        public List<PointHistory> historiesOf(long userId) {
+            return pointService.getPointHistory(userId);
+        }
+
+        @Override
+        public void close() {
+            pointService.close();
+        }
+    }
+
+    class HttpTarget implements PointLoadTarget {
+        private final List<URI> baseUris;
+        private final AtomicInteger next = new AtomicInteger();
+        private final Duration timeout;
+        private final HttpClient client;
+        private final ObjectMapper objectMapper = new ObjectMapper();
+
+        HttpTarget(List<URI> baseUris, Duration timeout) {
+            this.baseUris = List.copyOf(baseUris);
+            this.timeout = timeout;
+            this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+        }
+
+        @Override
+        public CompletableFuture<UserPoint> execute(PointCommand command) {
+            String action = command.type() == TransactionType.CHARGE ? "charge" : "use";
+            URI baseUri = baseUris.get(Math.floorMod(next.getAndIncrement(), baseUris.size()));
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/point/" + command.userId() + "/" + action))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(Long.toString(command.amount())))
+                    .build();
+            return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .thenApply(response -> read(response, objectMapper.constructType(UserPoint.class)));
+        }
+
+        @Override
+        public long balanceOf(long userId) {
+            UserPoint userPoint = read(get("/point/" + userId), objectMapper.constructType(UserPoint.class));
+            return userPoint.point();
+        }
+
+        @Override
+        public List<PointHistory> historiesOf(long userId) {
+            return read(get("/point/" + userId + "/histories"),
+                    objectMapper.getTypeFactory().constructCollectionType(List.class, PointHistory.class));
+        }
+
+        private HttpResponse<String> get(String path) {
+            try {
+                return client.send(HttpRequest.newBuilder(baseUris.get(0).resolve(path)).timeout(timeout).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private <T> T read(HttpResponse<String> response, JavaType type) {
+            if (response.statusCode() != 200) throw new Rejection("http_" + response.statusCode(), response.body());
+            try {
+                return objectMapper.readValue(response.body(), type);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.NoThrottlePointHistoryTable;
+import io.hhplus.tdd.database.NoThrottleUserPointTable;
+import io.hhplus.tdd.point.UserDistribution.UserSampler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * PointService 충전/사용 처리량 벤치마크
+ *
+ * 지연이 없는 테이블을 사용하므로 측정값은 Lock, 엔진, 저장소 등 서비스 자체의 비용입니다.
+ * 쓰레드 수는 메서드별로 1, 4, 사용 가능한 코어 수를 측정하며 -t 옵션으로 바꿀 수 있습니다.
+ * SHARDED 는 샤드 수가 코어 수를 따르므로 쓰레드 수에 따른 처리량 증가로 코어 간 확장성을 확인합니다.
+ * JOURNAL 저장 계층은 임시 디렉토리에 기록하며 기본 fsync 방식(GROUP)의 비용을 포함합니다.
+ * OPTIMISTIC 은 버전을 관리하는 저장 계층(MEMORY, JOURNAL)이 필요하므로 TABLE 과의 조합은 시작 시 실패로 기록되며,
+ * 제외하려면 -p storage=MEMORY,JOURNAL 로 실행합니다.
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=PointServiceBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PointServiceBenchmark {
+
+    @Param({"LOCKING", "GROUP_COMMIT", "WRITE_BEHIND", "SHARDED", "OPTIMISTIC"})
+    private PointProperties.EngineType engine;
+
+    @Param({"TABLE", "MEMORY", "JOURNAL"})
+    private PointProperties.StorageType storage;
+
+    @Param({"HOT", "UNIFORM", "ZIPF"})
+    private UserDistribution distribution;
+
+    @Param({"10000"})
+    private int userCount;
+
+    private PointService pointService;
+    private UserSampler sampler;
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        PointProperties properties = new PointProperties();
+        properties.setEngine(engine);
+        properties.getStorage().setType(storage);
+        if (storage == PointProperties.StorageType.JOURNAL) {
+            directory = Files.createTempDirectory("point-benchmark-");
+            properties.getStorage().setDirectory(directory);
+        }
+        properties.getStorage().setExpectedUsers(userCount);
+        properties.getHistory().setIndexed(true);
+
+        pointService = new PointService(new NoThrottleUserPointTable(), new NoThrottlePointHistoryTable(), properties);
+        sampler = distribution.sampler(userCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pointService.close();
+        if (directory == null) return;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) Files.delete(path);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void chargeAndUse_1(Blackhole blackhole) {
+        chargeOrUse(blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void chargeAndUse_4(Blackhole blackhole) {
+        chargeOrUse(blackhole);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void chargeAndUse_max(Blackhole blackhole) {
+        chargeOrUse(blackhole);
+    }
+
+    /**
+     * 충전과 사용을 절반씩 요청하며, 정책 위반 예외도 정상적인 결과로 취급합니다.
+     */
+    private void chargeOrUse(Blackhole blackhole) {
+        long userId = sampler.next();
+        try {
+            if (ThreadLocalRandom.current().nextBoolean()) blackhole.consume(pointService.chargePoint(userId, 100));
+            else blackhole.consume(pointService.reducePoint(userId, 100));
+        } catch (RuntimeException e) {
+            blackhole.consume(e);
+        }
+    }
+}
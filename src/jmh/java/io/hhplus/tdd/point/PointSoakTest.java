@@ -0,0 +1,268 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.PointLoadTarget.Rejection;
+import io.hhplus.tdd.point.UserDistribution.UserSampler;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+/**
+ * 개방형(open-loop) 부하 생성기 겸 장시간(soak) 테스트 - ./gradlew pointSoakTest -Psoak="users=100000 rate=5000 duration=2h"
+ *
+ * 응답을 기다리지 않고 rate 에 맞춘 예정 시각마다 요청을 보내며, 지연 시간은 예정 시각부터 측정하므로
+ * 서버가 밀리는 동안의 대기 시간도 분위수에 그대로 드러납니다. (coordinated omission 보정)
+ * 처리 중인 요청이 maxInFlight 를 넘으면 보내지 않고 dropped 로 셉니다.
+ * reportInterval 마다 구간 분위수를 출력하고, 끝나면 요청을 받은 모든 사용자에 대해
+ * 잔고가 이력의 충전 합계 - 사용 합계와 같은지 검사합니다. service 대상은 성공 응답으로 계산한 잔고와도 비교합니다.
+ * 불일치가 있으면 종료 코드 1 로 끝납니다.
+ *
+ * 옵션 (key=value, 괄호는 기본값)
+ * - target (service) : service | http
+ * - url (http://localhost:8080), timeout (5s) : http 대상의 주소(클러스터는 쉼표로 구분한 여러 노드)와 요청 제한 시간
+ * - engine (locking), storage (table), sleeping (false) : service 대상의 엔진과 저장 계층, 원본과 같은 지연을 가진 테이블 사용 여부
+ * - users (10000), distribution (zipf), zipfExponent (1.0) : 사용자 수와 요청이 몰리는 정도
+ * - chargeRatio (0.6), maxAmount (1000) : 충전 요청의 비율, 요청 금액 상한 (1 ~ maxAmount 균등)
+ * - rate (1000), duration (1m), reportInterval (10s), maxInFlight (10000)
+ */
+public class PointSoakTest {
+
+    private final Options options;
+    private final PointLoadTarget target;
+    private final UserSampler sampler;
+
+    private final Recorder recorder = new Recorder(3);
+    private final Histogram total = new Histogram(3);
+    private final Semaphore inFlight;
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLongArray requested;
+    private final AtomicLongArray expectedPoints;
+
+    private PointSoakTest(Options options) {
+        this.options = options;
+        this.target = options.createTarget();
+        this.sampler = options.distribution.sampler(options.users, options.zipfExponent);
+        this.inFlight = new Semaphore(options.maxInFlight);
+        this.requested = new AtomicLongArray(options.users + 1);
+        this.expectedPoints = new AtomicLongArray(options.users + 1);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Options options = Options.parse(args);
+        System.out.println(options);
+
+        boolean consistent;
+        PointSoakTest soakTest = new PointSoakTest(options);
+        try (PointLoadTarget ignored = soakTest.target) {
+            soakTest.run();
+            consistent = soakTest.verify();
+        }
+        System.exit(consistent ? 0 : 1);
+    }
+
+    private void run() throws InterruptedException {
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "soak-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        long reportMillis = options.reportInterval.toMillis();
+        reporter.scheduleAtFixedRate(() -> report(start), reportMillis, reportMillis, TimeUnit.MILLISECONDS);
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long end = start + options.duration.toNanos();
+        for (long sequence = 0; ; sequence++) {
+            long scheduled = start + sequence * intervalNanos;
+            if (scheduled - end >= 0) break;
+
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            if (!inFlight.tryAcquire()) {
+                dropped.increment();
+                continue;
+            }
+            send(nextCommand(), scheduled);
+        }
+
+        if (inFlight.tryAcquire(options.maxInFlight, 1, TimeUnit.MINUTES)) inFlight.release(options.maxInFlight);
+        else System.out.printf("%d requests still in flight after 1 minute%n", options.maxInFlight - inFlight.availablePermits());
+        reporter.shutdownNow();
+        report(start);
+        summarize();
+    }
+
+    private PointCommand nextCommand() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        TransactionType type = random.nextDouble() < options.chargeRatio ? TransactionType.CHARGE : TransactionType.USE;
+        return new PointCommand(sampler.next(), type, random.nextLong(options.maxAmount) + 1);
+    }
+
+    private void send(PointCommand command, long scheduled) {
+        requested.incrementAndGet((int) command.userId());
+        CompletableFuture<UserPoint> future;
+        try {
+            future = target.execute(command);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((userPoint, error) -> {
+            recorder.recordValue(System.nanoTime() - scheduled);
+            if (error == null) {
+                long delta = command.type() == TransactionType.CHARGE ? command.amount() : -command.amount();
+                expectedPoints.addAndGet((int) command.userId(), delta);
+            }
+            outcomes.computeIfAbsent(outcomeOf(error), ignored -> new LongAdder()).increment();
+            inFlight.release();
+        });
+    }
+
+    private static String outcomeOf(Throwable error) {
+        if (error == null) return "ok";
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof Rejection rejection) return rejection.reason();
+        return "error_" + cause.getClass().getSimpleName();
+    }
+
+    private synchronized void report(long start) {
+        Histogram interval = recorder.getIntervalHistogram();
+        total.add(interval);
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("[%s] completed=%d p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms inFlight=%d dropped=%d heap=%dMB%n",
+                Duration.ofNanos(System.nanoTime() - start).truncatedTo(ChronoUnit.SECONDS),
+                interval.getTotalCount(), millis(interval, 50), millis(interval, 99), millis(interval, 99.9),
+                interval.getMaxValue() / 1e6, options.maxInFlight - inFlight.availablePermits(), dropped.sum(),
+                (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+    }
+
+    private void summarize() {
+        System.out.printf("total completed=%d p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms p99.99=%.2fms max=%.2fms dropped=%d%n",
+                total.getTotalCount(), millis(total, 50), millis(total, 90), millis(total, 99), millis(total, 99.9),
+                millis(total, 99.99), total.getMaxValue() / 1e6, dropped.sum());
+        new TreeMap<>(outcomes).forEach((outcome, count) -> System.out.printf("  %-32s %d%n", outcome, count.sum()));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    /**
+     * 요청을 받은 사용자마다 잔고와 이력을 비교합니다.
+     */
+    private boolean verify() {
+        boolean compareExpected = options.target.equals("service");
+        Queue<String> violations = new ConcurrentLinkedQueue<>();
+        LongAdder checked = new LongAdder();
+        IntStream.rangeClosed(1, options.users).parallel()
+                .filter(userId -> requested.get(userId) > 0)
+                .forEach(userId -> {
+                    checked.increment();
+                    long balance = target.balanceOf(userId);
+                    long historyNet = target.historiesOf(userId).stream()
+                            .mapToLong(history -> history.type() == TransactionType.CHARGE ? history.amount() : -history.amount())
+                            .sum();
+                    if (balance != historyNet)
+                        violations.add(String.format("user %d balance=%d history=%d", userId, balance, historyNet));
+                    else if (compareExpected && balance != expectedPoints.get(userId))
+                        violations.add(String.format("user %d balance=%d expected=%d", userId, balance, expectedPoints.get(userId)));
+                });
+
+        System.out.printf("verified %d users, %d violations%n", checked.sum(), violations.size());
+        violations.stream().limit(10).forEach(violation -> System.out.println("  " + violation));
+        return violations.isEmpty();
+    }
+
+    private record Options(
+            String target,
+            List<URI> urls,
+            Duration timeout,
+            PointProperties.EngineType engine,
+            PointProperties.StorageType storage,
+            boolean sleeping,
+            int users,
+            UserDistribution distribution,
+            double zipfExponent,
+            double chargeRatio,
+            long maxAmount,
+            long rate,
+            Duration duration,
+            Duration reportInterval,
+            int maxInFlight
+    ) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new TreeMap<>();
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (separator < 0) throw new IllegalArgumentException("option must be key=value : " + arg);
+                values.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+
+            Options options = new Options(
+                    values.getOrDefault("target", "service"),
+                    Arrays.stream(values.getOrDefault("url", "http://localhost:8080").split(",")).map(URI::create).toList(),
+                    duration(values.getOrDefault("timeout", "5s")),
+                    PointProperties.EngineType.valueOf(values.getOrDefault("engine", "locking").toUpperCase()),
+                    PointProperties.StorageType.valueOf(values.getOrDefault("storage", "table").toUpperCase()),
+                    Boolean.parseBoolean(values.getOrDefault("sleeping", "false")),
+                    Integer.parseInt(values.getOrDefault("users", "10000")),
+                    UserDistribution.valueOf(values.getOrDefault("distribution", "zipf").toUpperCase()),
+                    Double.parseDouble(values.getOrDefault("zipfExponent", "1.0")),
+                    Double.parseDouble(values.getOrDefault("chargeRatio", "0.6")),
+                    Long.parseLong(values.getOrDefault("maxAmount", "1000")),
+                    Long.parseLong(values.getOrDefault("rate", "1000")),
+                    duration(values.getOrDefault("duration", "1m")),
+                    duration(values.getOrDefault("reportInterval", "10s")),
+                    Integer.parseInt(values.getOrDefault("maxInFlight", "10000")));
+            if (!options.target.equals("service") && !options.target.equals("http"))
+                throw new IllegalArgumentException("target must be service or http : " + options.target);
+            if (options.rate <= 0 || options.users <= 0 || options.maxInFlight <= 0)
+                throw new IllegalArgumentException("rate, users and maxInFlight must be positive.");
+            return options;
+        }
+
+        /**
+         * 30s, 10m, 2h 또는 ISO-8601(PT2H) 형식의 기간
+         */
+        private static Duration duration(String value) {
+            if (value.startsWith("P") || value.startsWith("p")) return Duration.parse(value);
+            long amount = Long.parseLong(value.substring(0, value.length() - 1));
+            return switch (Character.toLowerCase(value.charAt(value.length() - 1))) {
+                case 's' -> Duration.ofSeconds(amount);
+                case 'm' -> Duration.ofMinutes(amount);
+                case 'h' -> Duration.ofHours(amount);
+                default -> throw new IllegalArgumentException("unknown duration : " + value);
+            };
+        }
+
+        PointLoadTarget createTarget() {
+            if (target.equals("http")) return new PointLoadTarget.HttpTarget(urls, timeout);
+
+            PointProperties properties = new PointProperties();
+            properties.setEngine(engine);
+            properties.getStorage().setType(storage);
+            properties.getHistory().setIndexed(true);
+            return new PointLoadTarget.ServiceTarget(properties, sleeping);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.SleepingPointHistoryTable;
+import io.hhplus.tdd.database.SleepingUserPointTable;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 플랫폼 쓰레드와 가상 쓰레드의 동시 처리량 비교 - ./gradlew threadModeLoadTest [-Prequests=5000 -Pusers=1000 -Pthreads=200]
+ *
+ * 원본과 같은 지연을 가진 테이블로 요청을 한꺼번에 보내고, 요청 쓰레드(Tomcat 의 worker 역할)가 서비스 안에서
+ * 동시에 처리 중인 최대 요청 수와 요청을 보낸 시점부터의 지연 시간 분포를 출력합니다.
+ * PLATFORM 은 threads 개(Tomcat 기본 max-threads)의 쓰레드를, VIRTUAL 은 요청마다 가상 쓰레드를 사용합니다.
+ */
+public class ThreadModeLoadTest {
+
+    public static void main(String[] args) throws InterruptedException {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int users = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        for (boolean virtual : new boolean[]{false, true}) run(virtual, requests, users, threads);
+    }
+
+    private static void run(boolean virtual, int requests, int users, int threads) throws InterruptedException {
+        PointProperties properties = new PointProperties();
+        properties.getIo().setVirtualThreads(virtual);
+        properties.getHistory().setIndexed(true);
+        PointService pointService = new PointService(new SleepingUserPointTable(), new SleepingPointHistoryTable(), properties);
+        ExecutorService requestExecutor = PointThreads.newExecutor("request-", threads, virtual);
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        long[] latencies = new long[requests];
+        CountDownLatch done = new CountDownLatch(requests);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            long submitted = System.nanoTime();
+            long userId = ThreadLocalRandom.current().nextLong(users) + 1;
+            requestExecutor.execute(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    pointService.chargePoint(userId, 1);
+                } catch (RuntimeException ignored) {
+                    // 지연 시간만 측정한다.
+                } finally {
+                    inFlight.decrementAndGet();
+                    latencies[index] = System.nanoTime() - submitted;
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-8s requests=%d maxInFlight=%d p50=%dms p99=%dms max=%dms elapsed=%dms%n",
+                virtual ? "VIRTUAL" : "PLATFORM", requests, maxInFlight.get(),
+                millis(latencies[requests / 2]), millis(latencies[(int) (requests * 0.99) - 1]),
+                millis(latencies[requests - 1]), millis(elapsed));
+
+        requestExecutor.shutdown();
+        pointService.close();
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
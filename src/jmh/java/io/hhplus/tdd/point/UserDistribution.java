@@ -0,0 +1,59 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벤치마크에서 요청할 사용자 Id 의 분포
+ * - HOT : 모든 요청이 한 사용자에게 집중
+ * - UNIFORM : 모든 사용자에게 고르게 분산
+ * - ZIPF : 소수의 사용자에게 요청이 몰리는 분포 (기본 지수 1.0, 클수록 상위 사용자에게 더 몰림)
+ */
+public enum UserDistribution {
+    HOT, UNIFORM, ZIPF;
+
+    public UserSampler sampler(int userCount) {
+        return sampler(userCount, 1.0);
+    }
+
+    public UserSampler sampler(int userCount, double zipfExponent) {
+        return switch (this) {
+            case HOT -> () -> 1L;
+            case UNIFORM -> () -> ThreadLocalRandom.current().nextLong(userCount) + 1;
+            case ZIPF -> new ZipfSampler(userCount, zipfExponent);
+        };
+    }
+
+    @FunctionalInterface
+    public interface UserSampler {
+        long next();
+    }
+
+    /**
+     * 누적 확률 분포를 미리 계산해두고 이진 탐색으로 순위(=사용자 Id)를 뽑습니다.
+     */
+    static class ZipfSampler implements UserSampler {
+        private final double[] cdf;
+
+        ZipfSampler(int userCount, double exponent) {
+            cdf = new double[userCount];
+            double sum = 0;
+            for (int rank = 1; rank <= userCount; rank++) {
+                sum += 1 / Math.pow(rank, exponent);
+                cdf[rank - 1] = sum;
+            }
+            for (int i = 0; i < userCount; i++) cdf[i] /= sum;
+        }
+
+        @Override
+        public long next() {
+            double random = ThreadLocalRandom.current().nextDouble();
+            int low = 0, high = cdf.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cdf[mid] < random) low = mid + 1;
+                else high = mid;
+            }
+            return low + 1;
+        }
+    }
+}
@@ -12,8 +12,11 @@ class ApiControllerAdvice extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
     }
 
+    /**
+     * 응답 코드는 ErrorResponse.statusOf 로 정합니다. (잘못된 요청/정책 위반 400, 대기 요청 초과 429, 처리 시한 초과 503)
+     */
     @ExceptionHandler(value = RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRunTimeException(RuntimeException e) {
-        return ResponseEntity.status(500).body(new ErrorResponse("500", e.getMessage()));
+        return ResponseEntity.status(ErrorResponse.statusOf(e)).body(ErrorResponse.of(e));
     }
 }
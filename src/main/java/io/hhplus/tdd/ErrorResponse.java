@@ -1,7 +1,28 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.exception.DeadlineExceededException;
+import io.hhplus.tdd.exception.InvalidRequestException;
+import io.hhplus.tdd.exception.MinusPointException;
+import io.hhplus.tdd.exception.OutOfMaximumPointException;
+import io.hhplus.tdd.exception.TooManyPendingRequestsException;
+
 public record ErrorResponse(
         String code,
         String message
 ) {
+
+    /**
+     * 예외에 해당하는 응답 코드 - API 응답과 일괄 처리의 항목별 오류가 같은 코드를 사용합니다.
+     * 잘못된 요청과 포인트 정책 위반은 400, 대기 요청 초과는 429, 처리 시한 초과는 503, 그 외는 500 입니다.
+     */
+    public static int statusOf(RuntimeException e) {
+        if (e instanceof InvalidRequestException || e instanceof MinusPointException || e instanceof OutOfMaximumPointException) return 400;
+        if (e instanceof TooManyPendingRequestsException) return 429;
+        if (e instanceof DeadlineExceededException) return 503;
+        return 500;
+    }
+
+    public static ErrorResponse of(RuntimeException e) {
+        return new ErrorResponse(String.valueOf(statusOf(e)), e.getMessage());
+    }
 }
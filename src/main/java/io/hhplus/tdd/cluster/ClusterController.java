@@ -0,0 +1,47 @@
+package io.hhplus.tdd.cluster;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 클러스터 구성 조회/노드 추가와 노드 사이의 사용자 이동에 사용하는 API
+ */
+@RestController
+@RequestMapping("/cluster")
+@RequiredArgsConstructor
+public class ClusterController {
+
+    private final PointCluster pointCluster;
+
+    /**
+     * 현재 링의 노드 목록을 조회합니다.
+     */
+    @GetMapping("nodes")
+    public List<ClusterNode> nodes() {
+        return pointCluster.nodes();
+    }
+
+    /**
+     * 실행 중인 클러스터에 노드를 추가하고 나머지 노드에 알립니다. 다른 노드가 알린 요청(hops 헤더)은 다시 알리지 않습니다.
+     */
+    @PostMapping("nodes")
+    public List<ClusterNode> addNode(
+            @RequestBody ClusterNode node,
+            @RequestHeader(value = PointClusterClient.HOPS, defaultValue = "0") int hops
+    ) {
+        return pointCluster.addNode(node, hops == 0);
+    }
+
+    /**
+     * 사용자를 요청한 노드로 넘기고 잔고와 이력을 돌려줍니다. 노드 사이에서만 호출합니다.
+     */
+    @PostMapping("users/{id}/export")
+    public PointUserExport export(
+            @PathVariable long id,
+            @RequestBody ClusterNode requester
+    ) {
+        return pointCluster.export(id, requester);
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.cluster;
+
+import java.net.URI;
+
+/**
+ * 클러스터를 구성하는 노드 - id 는 해시 링의 위치를 정하므로 노드마다 고유해야 합니다.
+ */
+public record ClusterNode(
+        String id,
+        URI url
+) {
+}
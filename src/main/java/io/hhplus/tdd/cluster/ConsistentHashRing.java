@@ -0,0 +1,82 @@
+package io.hhplus.tdd.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 사용자 Id 를 노드에 배정하는 consistent hash 링 (변경 불가능)
+ *
+ * 노드마다 virtualNodes 개의 위치를 링에 두고, 사용자 Id 의 해시 다음에 오는 위치의 노드가 사용자를 담당합니다.
+ * 노드를 추가하면 새 노드가 차지한 구간의 사용자만 새 노드로 옮겨지고 나머지 사용자의 담당 노드는 바뀌지 않습니다.
+ */
+public class ConsistentHashRing {
+
+    private final List<ClusterNode> nodes;
+    private final int virtualNodes;
+    private final long[] points;
+    private final ClusterNode[] owners;
+
+    public ConsistentHashRing(List<ClusterNode> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) throw new IllegalArgumentException("cluster needs at least one node.");
+        if (virtualNodes <= 0) throw new IllegalArgumentException("virtualNodes must be positive.");
+        this.nodes = List.copyOf(nodes);
+        this.virtualNodes = virtualNodes;
+
+        record Point(long hash, ClusterNode node) {
+        }
+        List<Point> ring = new ArrayList<>(nodes.size() * virtualNodes);
+        for (ClusterNode node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) ring.add(new Point(hash(node.id() + "#" + i), node));
+        }
+        ring.sort(Comparator.comparingLong(Point::hash).thenComparing(point -> point.node().id()));
+
+        this.points = new long[ring.size()];
+        this.owners = new ClusterNode[ring.size()];
+        for (int i = 0; i < ring.size(); i++) {
+            points[i] = ring.get(i).hash();
+            owners[i] = ring.get(i).node();
+        }
+    }
+
+    public ClusterNode ownerOf(long userId) {
+        int at = Arrays.binarySearch(points, mix(userId));
+        if (at < 0) at = -at - 1;
+        return owners[at == points.length ? 0 : at];
+    }
+
+    public List<ClusterNode> nodes() {
+        return nodes;
+    }
+
+    public ConsistentHashRing with(ClusterNode node) {
+        if (nodes.stream().anyMatch(existing -> existing.id().equals(node.id())))
+            throw new IllegalArgumentException("node already exists - " + node.id());
+        List<ClusterNode> added = new ArrayList<>(nodes);
+        added.add(node);
+        return new ConsistentHashRing(added, virtualNodes);
+    }
+
+    public ConsistentHashRing without(List<String> nodeIds) {
+        return new ConsistentHashRing(nodes.stream().filter(node -> !nodeIds.contains(node.id())).toList(), virtualNodes);
+    }
+
+    /** 노드 위치 - FNV-1a 로 문자열을 섞은 뒤 한 번 더 섞습니다. */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /** splitmix64 의 마무리 단계 - 연속된 사용자 Id 도 링 전체에 고르게 흩어집니다. */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
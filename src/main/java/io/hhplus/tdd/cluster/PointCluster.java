@@ -0,0 +1,365 @@
+package io.hhplus.tdd.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.PointBatchResponse;
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 사용자 Id 로 담당 노드를 정하고, 노드가 추가되면 사용자의 잔고와 이력을 새 담당 노드로 옮깁니다. (point.cluster.*)
+ *
+ * 사용자별 Lock 은 한 JVM 안에서만 동작하므로 한 사용자의 요청은 항상 담당 노드 한 곳에서만 처리합니다.
+ * 노드 구성은 설정의 nodes 로 정하며, 노드가 추가될 때마다 링을 하나씩 쌓아 두고(generations)
+ * 새 링에서 담당하게 된 사용자는 처음 요청을 받을 때 이전 링의 담당 노드에서 가져옵니다. (노드 제거는 지원하지 않습니다)
+ * 사용자를 내보낸 노드는 진행 중인 요청이 끝날 때까지 기다린 뒤 잔고를 넘기고, 이후의 요청은 새 노드로 전달합니다.
+ * 사용자는 내보내는 노드의 현재 링에서 그 사용자를 담당하는 노드에게만 넘기므로, 새 노드는 노드 추가가 알려진 뒤에 사용자를 가져올 수 있습니다.
+ */
+@Component
+public class PointCluster {
+
+    /** 요청이 노드 사이를 오갈 수 있는 최대 횟수 - 노드마다 링이 다른 동안 요청이 계속 도는 것을 막습니다. */
+    public static final int MAX_HOPS = 3;
+
+    private static final Logger log = LoggerFactory.getLogger(PointCluster.class);
+
+    private final boolean enabled;
+    private final ClusterNode self;
+    private final PointService pointService;
+    private final PointClusterClient client;
+    private final Duration timeout;
+
+    private volatile List<ConsistentHashRing> generations;
+    /** 다른 노드로 내보낸 사용자와 새 담당 노드 */
+    private final Map<Long, ClusterNode> moved = new ConcurrentHashMap<>();
+    /** 이전 담당 노드에서 가져오기를 마친 사용자 */
+    private final Set<Long> migrated = ConcurrentHashMap.newKeySet();
+    private final Map<Long, CompletableFuture<Void>> migrations = new ConcurrentHashMap<>();
+    /** 이 노드에서 처리 중인 사용자별 요청 수 */
+    private final Map<Long, Integer> active = new ConcurrentHashMap<>();
+    // 가상 쓰레드가 carrier 를 점유하지 않도록 synchronized/wait 대신 사용한다.
+    private final ReentrantLock idleLock = new ReentrantLock();
+    private final Condition idle = idleLock.newCondition();
+    private final ReentrantLock membershipLock = new ReentrantLock();
+
+    @Autowired
+    public PointCluster(PointProperties properties, PointService pointService, ObjectMapper objectMapper) {
+        this(properties.getCluster(), pointService, new PointClusterClient(properties.getCluster().getTimeout(), objectMapper));
+    }
+
+    public PointCluster(PointProperties.Cluster cluster, PointService pointService, PointClusterClient client) {
+        this.enabled = cluster.isEnabled();
+        this.pointService = pointService;
+        this.client = client;
+        this.timeout = cluster.getTimeout();
+        if (!enabled) {
+            this.self = null;
+            this.generations = List.of();
+            return;
+        }
+
+        this.self = cluster.getNodes().stream()
+                .filter(node -> node.id().equals(cluster.getSelf()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("point.cluster.self must be one of point.cluster.nodes - " + cluster.getSelf()));
+        ConsistentHashRing joined = new ConsistentHashRing(cluster.getNodes(), cluster.getVirtualNodes());
+        this.generations = cluster.getJoining().isEmpty()
+                ? List.of(joined)
+                : List.of(joined.without(cluster.getJoining()), joined);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<ClusterNode> nodes() {
+        return enabled ? current().nodes() : List.of();
+    }
+
+    private ConsistentHashRing current() {
+        List<ConsistentHashRing> rings = generations;
+        return rings.get(rings.size() - 1);
+    }
+
+    private boolean isSelf(ClusterNode node) {
+        return node.id().equals(self.id());
+    }
+
+    /**
+     * 사용자의 요청을 처리하기 전에 호출합니다.
+     * 다른 노드가 담당하면 그 노드를 돌려주고, 이 노드가 담당하면 필요한 경우 사용자를 가져온 뒤 빈 값을 돌려줍니다.
+     * 빈 값을 받은 경우 요청이 끝나면 반드시 {@link #exit(long)} 를 호출해야 합니다.
+     */
+    public Optional<ClusterNode> enter(long userId) {
+        // 잘못된 Id 는 이 노드에서 검증 오류로 응답한다.
+        if (!enabled || userId <= 0) return Optional.empty();
+        ClusterNode owner = current().ownerOf(userId);
+        if (!isSelf(owner)) return Optional.of(owner);
+
+        active.merge(userId, 1, Integer::sum);
+        ClusterNode movedTo = moved.get(userId);
+        if (movedTo != null) {
+            exit(userId);
+            return Optional.of(movedTo);
+        }
+        try {
+            ensureMigrated(userId);
+        } catch (RuntimeException e) {
+            exit(userId);
+            throw e;
+        }
+        return Optional.empty();
+    }
+
+    public void exit(long userId) {
+        if (!enabled) return;
+        if (active.computeIfPresent(userId, (id, count) -> count == 1 ? null : count - 1) == null) {
+            idleLock.lock();
+            try {
+                idle.signalAll();
+            } finally {
+                idleLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 요청 경로의 사용자 외에 다른 사용자도 함께 다루는 작업(이체)을 실행합니다.
+     * 그 사용자도 이 노드가 담당하면 작업이 끝날 때까지 처리 중으로 표시하고, 다른 노드가 담당하면 실행하지 않고 실패합니다.
+     * 두 노드에 걸친 작업은 한 단위로 반영할 수 없기 때문입니다.
+     */
+    public <T> CompletableFuture<T> withLocalUser(long userId, Supplier<CompletableFuture<T>> work) {
+        Optional<ClusterNode> owner;
+        try {
+            owner = enter(userId);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (owner.isPresent())
+            return CompletableFuture.failedFuture(new IllegalStateException(String.format(
+                    "user %d is owned by node %s; transfers between nodes are not supported.", userId, owner.get().id())));
+
+        try {
+            return work.get().whenComplete((result, error) -> exit(userId));
+        } catch (RuntimeException e) {
+            exit(userId);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 이 노드가 담당하게 된 링 직전의 담당 노드가 다른 노드라면 그 노드에서 사용자를 가져옵니다.
+     * 같은 사용자에 대한 동시 요청은 한 번만 가져오며, 이미 이 노드에 이력이 있으면 (재시작 등) 가져오지 않습니다.
+     */
+    private void ensureMigrated(long userId) {
+        if (migrated.contains(userId)) return;
+        ClusterNode source = previousOwnerOf(userId);
+        if (source == null) return;
+
+        CompletableFuture<Void> migration = new CompletableFuture<>();
+        CompletableFuture<Void> running = migrations.putIfAbsent(userId, migration);
+        if (running != null) {
+            running.join();
+            return;
+        }
+        try {
+            if (!migrated.contains(userId)) {
+                if (pointService.getPointHistory(userId).isEmpty()) {
+                    PointUserExport export = client.export(source, userId, self);
+                    pointService.importUser(userId, export.point(), export.histories());
+                    log.info("imported user {} from node {} ({} histories)", userId, source.id(), export.histories().size());
+                }
+                migrated.add(userId);
+            }
+            migration.complete(null);
+        } catch (RuntimeException e) {
+            migration.completeExceptionally(e);
+            throw e;
+        } finally {
+            migrations.remove(userId, migration);
+        }
+    }
+
+    /**
+     * 이 노드가 사용자를 담당하기 시작한 링의 바로 이전 링에서의 담당 노드 - 처음부터 담당했다면 null
+     */
+    private ClusterNode previousOwnerOf(long userId) {
+        List<ConsistentHashRing> rings = generations;
+        int generation = rings.size() - 1;
+        while (generation >= 0 && !isSelf(rings.get(generation).ownerOf(userId))) generation--;
+        if (generation < 0) throw new IllegalStateException(String.format("node %s does not own user %d", self.id(), userId));
+        while (generation > 0 && isSelf(rings.get(generation - 1).ownerOf(userId))) generation--;
+        return generation == 0 ? null : rings.get(generation - 1).ownerOf(userId);
+    }
+
+    /**
+     * 사용자를 requester 에게 넘깁니다. 이후 이 노드는 사용자의 요청을 requester 로 전달하며,
+     * 진행 중인 요청이 모두 끝난 뒤의 잔고와 이력을 돌려줍니다.
+     * requester 는 현재 링에서 그 사용자의 담당 노드여야 하며, 넘기지 못하면 이 노드가 계속 담당합니다.
+     */
+    public PointUserExport export(long userId, ClusterNode requester) {
+        if (!enabled) throw new IllegalStateException("cluster mode is disabled.");
+        ConsistentHashRing ring = current();
+        if (ring.nodes().stream().noneMatch(node -> node.id().equals(requester.id())))
+            throw new IllegalArgumentException(String.format("node %s is not a member of the cluster.", requester.id()));
+        ClusterNode owner = ring.ownerOf(userId);
+        if (!owner.id().equals(requester.id()))
+            throw new IllegalArgumentException(String.format("node %s does not own user %d.", requester.id(), userId));
+
+        ensureMigrated(userId);
+        moved.put(userId, owner);
+        try {
+            awaitIdle(userId);
+            List<PointHistory> histories = pointService.getPointHistory(userId);
+            return new PointUserExport(userId, pointService.getUserPoint(userId).point(), histories);
+        } catch (RuntimeException e) {
+            moved.remove(userId, owner);
+            throw e;
+        }
+    }
+
+    /** 내보낸 사용자의 새 담당 노드 - 내보내지 않았으면 null */
+    ClusterNode movedTo(long userId) {
+        return moved.get(userId);
+    }
+
+    private void awaitIdle(long userId) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        idleLock.lock();
+        try {
+            while (active.containsKey(userId)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) throw new IllegalStateException(String.format("user %d still has requests in progress", userId));
+                try {
+                    idle.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted while exporting user " + userId, e);
+                }
+            }
+        } finally {
+            idleLock.unlock();
+        }
+    }
+
+    /**
+     * 실행 중에 노드를 추가합니다. 새 노드는 nodes 에 자신을, joining 에 자신의 id 를 넣어 먼저 띄워 두어야 합니다.
+     * propagate 이면 나머지 노드에도 알리며, 이미 있는 노드면 아무것도 하지 않습니다.
+     */
+    public List<ClusterNode> addNode(ClusterNode node, boolean propagate) {
+        if (!enabled) throw new IllegalStateException("cluster mode is disabled.");
+        membershipLock.lock();
+        try {
+            ConsistentHashRing ring = current();
+            if (ring.nodes().stream().anyMatch(existing -> existing.id().equals(node.id()))) return ring.nodes();
+
+            List<ConsistentHashRing> appended = new ArrayList<>(generations);
+            appended.add(ring.with(node));
+            generations = List.copyOf(appended);
+            log.info("node {} joined the cluster ({})", node.id(), node.url());
+
+            if (propagate) {
+                for (ClusterNode member : current().nodes()) {
+                    if (isSelf(member)) continue;
+                    client.announce(member, node).whenComplete((ignored, error) -> {
+                        if (error != null) log.warn("failed to announce node {} to {}", node.id(), member.id(), error);
+                    });
+                }
+            }
+            return current().nodes();
+        } finally {
+            membershipLock.unlock();
+        }
+    }
+
+    /**
+     * 담당 노드로 요청을 전달합니다.
+     */
+    public CompletableFuture<HttpResponse<byte[]>> forward(ClusterNode owner, String method, String pathAndQuery,
+                                                           Map<String, String> headers, byte[] body, int hops) {
+        return client.forward(owner, method, pathAndQuery, headers, body, hops);
+    }
+
+    /**
+     * 일괄 충전/사용 요청을 담당 노드별로 나눠 이 노드의 몫은 local 로 처리하고 나머지는 각 노드로 전달합니다.
+     * 결과는 요청과 같은 순서이며, 전달에 실패한 항목은 502, 노드 사이를 너무 많이 오간 항목은 421 오류로 채웁니다.
+     */
+    public List<PointBatchResponse> executeBatch(List<PointCommand> commands, int hops,
+                                                 Function<List<PointCommand>, List<PointBatchResponse>> local) {
+        if (!enabled) return local.apply(commands);
+
+        Map<ClusterNode, List<Integer>> remote = new LinkedHashMap<>();
+        List<Integer> localIndexes = new ArrayList<>();
+        Set<Long> entered = new LinkedHashSet<>();
+        Map<Long, ClusterNode> routes = new LinkedHashMap<>();
+        Map<Long, RuntimeException> failed = new LinkedHashMap<>();
+        PointBatchResponse[] responses = new PointBatchResponse[commands.size()];
+        try {
+            for (int i = 0; i < commands.size(); i++) {
+                PointCommand command = commands.get(i);
+                long userId = command.userId();
+                if (!routes.containsKey(userId) && !entered.contains(userId) && !failed.containsKey(userId)) {
+                    try {
+                        Optional<ClusterNode> owner = enter(userId);
+                        if (owner.isPresent()) routes.put(userId, owner.get());
+                        else entered.add(userId);
+                    } catch (RuntimeException e) {
+                        failed.put(userId, e);
+                    }
+                }
+                ClusterNode owner = routes.get(userId);
+                if (failed.containsKey(userId)) responses[i] = failure(command, "502", failed.get(userId).getMessage());
+                else if (owner == null) localIndexes.add(i);
+                else remote.computeIfAbsent(owner, node -> new ArrayList<>()).add(i);
+            }
+
+            Map<ClusterNode, CompletableFuture<List<PointBatchResponse>>> forwarded = new LinkedHashMap<>();
+            remote.forEach((node, indexes) -> forwarded.put(node, hops >= MAX_HOPS
+                    ? CompletableFuture.failedFuture(new IllegalStateException("too many hops"))
+                    : client.executeBatch(node, indexes.stream().map(commands::get).toList(), hops + 1)));
+
+            List<PointBatchResponse> localResponses = local.apply(localIndexes.stream().map(commands::get).toList());
+            for (int i = 0; i < localIndexes.size(); i++) responses[localIndexes.get(i)] = localResponses.get(i);
+
+            forwarded.forEach((node, future) -> {
+                List<Integer> indexes = remote.get(node);
+                try {
+                    List<PointBatchResponse> nodeResponses = future.join();
+                    for (int i = 0; i < indexes.size(); i++) responses[indexes.get(i)] = nodeResponses.get(i);
+                } catch (RuntimeException e) {
+                    String code = hops >= MAX_HOPS ? "421" : "502";
+                    for (int index : indexes) responses[index] = failure(commands.get(index), code, "node " + node.id() + " is unavailable.");
+                }
+            });
+            return List.of(responses);
+        } finally {
+            entered.forEach(this::exit);
+        }
+    }
+
+    private static PointBatchResponse failure(PointCommand command, String code, String message) {
+        return new PointBatchResponse(command.userId(), command.type(), command.amount(), null, new ErrorResponse(code, message));
+    }
+}
@@ -0,0 +1,124 @@
+package io.hhplus.tdd.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.PointBatchResponse;
+import io.hhplus.tdd.point.PointCommand;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 다른 노드로 요청을 전달하는 HTTP 클라이언트
+ *
+ * 모든 요청이 하나의 {@link HttpClient} 를 공유하므로 노드마다 맺은 keep-alive 연결을 재사용합니다.
+ * 전달한 요청에는 거친 노드 수(hops)를 붙여 담당 노드에 대한 판단이 노드마다 다를 때 요청이 계속 돌지 않게 합니다.
+ */
+public class PointClusterClient {
+
+    /** 요청이 거쳐 온 노드 수 */
+    public static final String HOPS = "X-Point-Hops";
+
+    private final HttpClient client;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+
+    public PointClusterClient(Duration timeout, ObjectMapper objectMapper) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 받은 요청을 그대로 담당 노드에 전달하고 응답을 돌려줍니다.
+     */
+    public CompletableFuture<HttpResponse<byte[]>> forward(ClusterNode node, String method, String pathAndQuery,
+                                                           Map<String, String> headers, byte[] body, int hops) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(node.url().resolve(pathAndQuery))
+                .timeout(timeout)
+                .header(HOPS, Integer.toString(hops))
+                .method(method, body.length == 0 ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body));
+        headers.forEach(request::header);
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * 여러 사용자의 충전/사용 요청 중 node 가 담당하는 요청을 전달합니다.
+     */
+    public CompletableFuture<List<PointBatchResponse>> executeBatch(ClusterNode node, List<PointCommand> commands, int hops) {
+        HttpRequest request = HttpRequest.newBuilder(node.url().resolve("/point/batch"))
+                .timeout(timeout)
+                .header(HOPS, Integer.toString(hops))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(write(commands)))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> read(node, response, objectMapper.getTypeFactory().constructCollectionType(List.class, PointBatchResponse.class)));
+    }
+
+    /**
+     * 이전 담당 노드에서 사용자의 잔고와 이력을 가져옵니다. 이후 이전 노드는 사용자의 요청을 self 로 전달합니다.
+     */
+    public PointUserExport export(ClusterNode node, long userId, ClusterNode self) {
+        HttpRequest request = HttpRequest.newBuilder(node.url().resolve("/cluster/users/" + userId + "/export"))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(write(self)))
+                .build();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            return read(node, response, objectMapper.constructType(PointUserExport.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while exporting user " + userId, e);
+        }
+    }
+
+    /**
+     * 추가된 노드를 node 에게 알립니다. 알림을 받은 노드는 다시 전파하지 않습니다.
+     */
+    public CompletableFuture<Void> announce(ClusterNode node, ClusterNode added) {
+        HttpRequest request = HttpRequest.newBuilder(node.url().resolve("/cluster/nodes"))
+                .timeout(timeout)
+                .header(HOPS, "1")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(write(added)))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenAccept(response -> {
+                    if (response.statusCode() != 200)
+                        throw new IllegalStateException(String.format("node %s responded %d", node.id(), response.statusCode()));
+                });
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private <T> T read(ClusterNode node, HttpResponse<byte[]> response, JavaType type) {
+        if (response.statusCode() != 200)
+            throw new IllegalStateException(String.format("node %s responded %d", node.id(), response.statusCode()));
+        try {
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
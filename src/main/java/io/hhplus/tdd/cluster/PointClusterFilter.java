@@ -0,0 +1,167 @@
+package io.hhplus.tdd.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 클러스터 모드에서 /point/{id}/** 요청을 사용자의 담당 노드로 보냅니다.
+ *
+ * 이 노드가 담당하면 요청을 처리하는 동안 사용자를 처리 중으로 표시하고(비동기 응답이면 응답이 끝날 때까지),
+ * 다른 노드가 담당하면 요청 쓰레드를 반납한 채 담당 노드에 전달한 응답을 그대로 돌려줍니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointClusterFilter extends OncePerRequestFilter {
+
+    private static final Pattern USER_PATH = Pattern.compile("^/point/(\\d+)(/.*)?$");
+    /** 담당 노드로 함께 전달하는 요청 헤더 */
+    private static final List<String> FORWARDED_HEADERS = List.of("Content-Type", "Accept", "Idempotency-Key", "Request-Timeout");
+    private static final Logger log = LoggerFactory.getLogger(PointClusterFilter.class);
+
+    private final PointCluster pointCluster;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !pointCluster.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        Matcher matcher = USER_PATH.matcher(request.getRequestURI());
+        if (!matcher.matches()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long userId;
+        Optional<ClusterNode> owner;
+        try {
+            userId = Long.parseLong(matcher.group(1));
+            owner = pointCluster.enter(userId);
+        } catch (RuntimeException e) {
+            writeError(response, 502, e.getMessage());
+            return;
+        }
+
+        if (owner.isEmpty()) handle(userId, request, response, chain);
+        else forward(owner.get(), request, response);
+    }
+
+    private void handle(long userId, HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        AtomicBoolean exited = new AtomicBoolean();
+        Runnable exit = () -> {
+            if (exited.compareAndSet(false, true)) pointCluster.exit(userId);
+        };
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) request.getAsyncContext().addListener(new ExitListener(exit));
+            else exit.run();
+        }
+    }
+
+    private void forward(ClusterNode owner, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String hopsHeader = request.getHeader(PointClusterClient.HOPS);
+        int hops;
+        try {
+            hops = hopsHeader == null ? 0 : Integer.parseInt(hopsHeader);
+        } catch (NumberFormatException e) {
+            hops = -1;
+        }
+        if (hops < 0) {
+            writeError(response, 400, "invalid " + PointClusterClient.HOPS + " header - " + hopsHeader);
+            return;
+        }
+        if (hops >= PointCluster.MAX_HOPS) {
+            writeError(response, 421, "too many hops between cluster nodes.");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : FORWARDED_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) headers.put(name, value);
+        }
+        String pathAndQuery = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+
+        AsyncContext async = request.startAsync();
+        // 제한 시간은 전달 요청에 둔다.
+        async.setTimeout(0);
+        pointCluster.forward(owner, request.getMethod(), pathAndQuery, headers, body, hops + 1)
+                .whenComplete((forwarded, error) -> {
+                    try {
+                        if (error == null) write(response, forwarded);
+                        else writeError(response, 502, "node " + owner.id() + " is unavailable.");
+                    } catch (IOException e) {
+                        log.warn("failed to write forwarded response", e);
+                    } finally {
+                        async.complete();
+                    }
+                });
+    }
+
+    private static void write(HttpServletResponse response, HttpResponse<byte[]> forwarded) throws IOException {
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().firstValue("Content-Type").ifPresent(response::setContentType);
+        response.setContentLength(forwarded.body().length);
+        response.getOutputStream().write(forwarded.body());
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(new ErrorResponse(Integer.toString(status), message));
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private record ExitListener(Runnable exit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            exit.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            exit.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            exit.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.cluster;
+
+import io.hhplus.tdd.point.PointHistory;
+
+import java.util.List;
+
+/**
+ * 담당 노드가 바뀐 사용자를 새 노드로 옮길 때 전달하는 잔고와 전체 이력
+ */
+public record PointUserExport(
+        long userId,
+        long point,
+        List<PointHistory> histories
+) {
+}
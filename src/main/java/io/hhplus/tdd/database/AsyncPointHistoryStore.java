@@ -0,0 +1,300 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 이력 기록을 대기열에 넘기고 별도의 쓰레드가 배치 단위로 기록하는 저장소
+ *
+ * - FIRE_AND_FORGET : 대기열에 넣은 즉시 반환하며, 반환되는 이력의 id 는 아직 정해지지 않았으므로 0 입니다.
+ * - WAIT : 기록이 끝날 때까지 기다린 뒤 기록된 이력을 반환합니다.
+ *   사용자 Lock 을 쥔 채 기다리므로 그동안 같은 사용자의 다음 요청도 함께 기다립니다.
+ *   기록 쓰레드는 대기열 순서대로 기록하므로 느린 기록 하나가 뒤에 쌓인 다른 사용자의 기록도 늦춥니다.
+ * 대기열이 가득 차면 자리가 날 때까지 호출한 쓰레드가 대기합니다(backpressure).
+ * FIRE_AND_FORGET 모드에서 기록에 실패한 이력은 로그를 남기고 버린 수(dropped)를 셉니다.
+ * 기록 쓰레드가 인터럽트로 멈추면 더 이상 이력을 받지 않고, 대기 중인 이력은 모두 실패로 완료합니다.
+ * 조회 시에는 아직 기록되지 않은 이력도 함께 돌려주므로 자신이 요청한 거래는 항상 조회됩니다. (id 가 필요한 페이지 조회 제외)
+ * 이체의 이력 한 쌍은 한 단위로 대기하고 기록됩니다.
+ */
+public class AsyncPointHistoryStore implements PointHistoryStore {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncPointHistoryStore.class);
+
+    private final PointHistoryStore delegate;
+    private final Durability durability;
+    private final int batchSize;
+
+    private final BlockingQueue<PendingHistory> queue;
+    private final Map<Long, Queue<PendingHistory>> pendingByUser = new ConcurrentHashMap<>();
+    private final Thread writer;
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean closed;
+    /** 기록 쓰레드가 멈춰 더 이상 기록할 수 없는 상태 */
+    private volatile boolean stopped;
+
+    public AsyncPointHistoryStore(PointHistoryStore delegate, Durability durability, int queueCapacity, int batchSize) {
+        this.delegate = delegate;
+        this.durability = durability;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::drain, "point-history-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PendingHistory pending = new PendingHistory(new PointHistory(0, userId, amount, type, updateMillis), null);
+        enqueue(pending);
+
+        if (durability == Durability.FIRE_AND_FORGET) return pending.history;
+        return await(pending);
+    }
+
+    /**
+     * 이력 한 쌍을 대기열의 한 자리에 넣어 함께 기록하고, 기록은 저장소의 insertTransfer 로 한 단위로 넘깁니다.
+     * 둘 중 하나만 기록되거나 그 사이에 다른 이력이 끼어들지 않습니다.
+     */
+    @Override
+    public List<PointHistory> insertTransfer(long fromUserId, long toUserId, long amount, long updateMillis) {
+        PendingHistory deposit = new PendingHistory(new PointHistory(0, toUserId, amount, TransactionType.CHARGE, updateMillis), null);
+        PendingHistory withdrawal = new PendingHistory(new PointHistory(0, fromUserId, amount, TransactionType.USE, updateMillis), deposit);
+        enqueue(withdrawal);
+
+        if (durability == Durability.FIRE_AND_FORGET) return List.of(withdrawal.history, deposit.history);
+        return List.of(await(withdrawal), await(deposit));
+    }
+
+    private void enqueue(PendingHistory pending) {
+        if (closed) throw new IllegalStateException("history store is closed.");
+        if (stopped) throw new IllegalStateException("history writer has stopped.");
+
+        for (PendingHistory unit : pending.unit()) {
+            pendingByUser.compute(unit.history.userId(), (id, pendings) -> {
+                Queue<PendingHistory> retained = pendings == null ? new ArrayDeque<>() : pendings;
+                retained.add(unit);
+                return retained;
+            });
+        }
+
+        try {
+            // 기록 쓰레드가 멈추면 자리가 나지 않으므로 기다리는 동안에도 확인한다.
+            while (!queue.offer(pending, 100, TimeUnit.MILLISECONDS)) {
+                if (stopped) {
+                    release(pending);
+                    throw new IllegalStateException("history writer has stopped.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            release(pending);
+            throw new IllegalStateException("interrupted while waiting for history queue.", e);
+        }
+        // 넣는 사이 기록 쓰레드가 멈췄다면 대신 대기열을 비워 실패로 완료한다.
+        if (stopped) failQueued();
+    }
+
+    private static PointHistory await(PendingHistory pending) {
+        try {
+            return pending.written.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        List<PendingHistory> pendings = pendingOf(userId);
+        return merge(delegate.selectAllByUserId(userId), pendings, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserIdBetween(long userId, long fromMillis, long toMillis) {
+        List<PendingHistory> pendings = pendingOf(userId);
+        return merge(delegate.selectAllByUserIdBetween(userId, fromMillis, toMillis), pendings, fromMillis, toMillis);
+    }
+
+    /**
+     * 아직 기록되지 않아 id 가 정해지지 않은 이력은 포함하지 않습니다.
+     * id 0 으로 앞 페이지에 포함되면 기록된 뒤 cursor 이후의 id 를 받아 다음 페이지에 다시 나타나기 때문이며,
+     * 기록이 끝나면 id 순서의 자리에서 조회됩니다.
+     */
+    @Override
+    public List<PointHistory> selectPage(long userId, PointHistoryQuery query) {
+        List<PendingHistory> pendings = pendingOf(userId).stream().filter(PendingHistory::isWritten).toList();
+        List<PointHistory> stored = delegate.selectPage(userId, query);
+        if (pendings.isEmpty()) return stored;
+
+        return merge(stored, pendings, query.fromMillis(), query.toMillis()).stream()
+                .filter(query::matches)
+                .sorted(Comparator.comparingLong(PointHistory::id))
+                .limit(query.limit())
+                .toList();
+    }
+
+    /**
+     * 저장소의 조회 결과에 아직 포함되지 않은 대기 중인 이력을 덧붙입니다.
+     * 대기 목록을 먼저 복사한 뒤 저장소를 조회하므로, 그 사이 기록이 끝난 이력은 id 로 중복을 걸러냅니다.
+     */
+    private List<PointHistory> merge(List<PointHistory> stored, List<PendingHistory> pendings, long fromMillis, long toMillis) {
+        if (pendings.isEmpty()) return stored;
+
+        Set<Long> storedIds = new HashSet<>();
+        stored.forEach(history -> storedIds.add(history.id()));
+
+        List<PointHistory> result = new ArrayList<>(stored);
+        for (PendingHistory pending : pendings) {
+            if (pending.written.isCompletedExceptionally()) continue;
+            PointHistory written = pending.written.getNow(null);
+            if (written != null && storedIds.contains(written.id())) continue;
+
+            PointHistory history = written != null ? written : pending.history;
+            if (history.updateMillis() >= fromMillis && history.updateMillis() <= toMillis) result.add(history);
+        }
+        return result;
+    }
+
+    private List<PendingHistory> pendingOf(long userId) {
+        List<PendingHistory> snapshot = new ArrayList<>();
+        pendingByUser.computeIfPresent(userId, (id, pendings) -> {
+            snapshot.addAll(pendings);
+            return pendings;
+        });
+        return snapshot;
+    }
+
+    private void release(PendingHistory pending) {
+        for (PendingHistory unit : pending.unit()) {
+            pendingByUser.computeIfPresent(unit.history.userId(), (id, pendings) -> {
+                pendings.remove(unit);
+                return pendings.isEmpty() ? null : pendings;
+            });
+        }
+    }
+
+    private void drain() {
+        List<PendingHistory> batch = new ArrayList<>(batchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                PendingHistory first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+            } catch (InterruptedException e) {
+                if (closed) continue;
+                log.error("history writer was interrupted, rejecting further histories.");
+                stopped = true;
+                failQueued();
+                return;
+            }
+
+            for (PendingHistory pending : batch) write(pending);
+            batch.clear();
+        }
+    }
+
+    private void write(PendingHistory pending) {
+        PointHistory history = pending.history;
+        try {
+            if (pending.linked == null) {
+                pending.written.complete(delegate.insert(history.userId(), history.amount(), history.type(), history.updateMillis()));
+            } else {
+                List<PointHistory> pair = delegate.insertTransfer(history.userId(), pending.linked.history.userId(), history.amount(), history.updateMillis());
+                pending.written.complete(pair.get(0));
+                pending.linked.written.complete(pair.get(1));
+            }
+        } catch (RuntimeException e) {
+            fail(pending, e);
+        } finally {
+            release(pending);
+        }
+    }
+
+    /**
+     * 대기열에 남은 이력을 모두 실패로 완료합니다.
+     */
+    private void failQueued() {
+        IllegalStateException error = new IllegalStateException("history writer has stopped.");
+        for (PendingHistory pending; (pending = queue.poll()) != null; ) {
+            fail(pending, error);
+            release(pending);
+        }
+    }
+
+    private void fail(PendingHistory pending, RuntimeException error) {
+        for (PendingHistory unit : pending.unit()) {
+            if (durability == Durability.FIRE_AND_FORGET) {
+                dropped.increment();
+                log.warn("dropped history. - {}", unit.history, error);
+            }
+            unit.written.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * FIRE_AND_FORGET 모드에서 기록하지 못하고 버린 이력 수
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * 대기열에 남은 이력을 모두 기록한 뒤 종료합니다.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        delegate.close();
+    }
+
+    public enum Durability {
+        FIRE_AND_FORGET, WAIT
+    }
+
+    /**
+     * 대기 중인 이력 - 이체의 사용 이력은 함께 기록할 충전 이력(linked)을 가지며, 대기열에는 사용 이력만 들어갑니다.
+     */
+    private static class PendingHistory {
+        private final PointHistory history;
+        private final PendingHistory linked;
+        private final CompletableFuture<PointHistory> written = new CompletableFuture<>();
+
+        private PendingHistory(PointHistory history, PendingHistory linked) {
+            this.history = history;
+            this.linked = linked;
+        }
+
+        private List<PendingHistory> unit() {
+            return linked == null ? List.of(this) : List.of(this, linked);
+        }
+
+        private boolean isWritten() {
+            return written.isDone() && !written.isCompletedExceptionally();
+        }
+    }
+}
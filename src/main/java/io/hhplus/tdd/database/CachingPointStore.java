@@ -0,0 +1,199 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 잔고 조회 결과를 캐시하는 저장소 (read-through / write-through)
+ *
+ * 캐시는 사용자 Id 해시로 나눈 여러 개의 LRU 세그먼트로 구성되며, 세그먼트마다 최대 크기를 넘으면
+ * 가장 오래 사용되지 않은 항목부터 제거합니다. insertOrUpdate 는 저장소 기록 직후 캐시를 갱신하므로
+ * 사용자 Lock 안에서 호출되면 같은 임계영역에서 캐시가 함께 갱신됩니다.
+ */
+public class CachingPointStore implements PointStore {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final PointStore delegate;
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maximumSize 캐시할 최대 사용자 수
+     * @param ttl 항목의 유효 시간 (0 이면 만료되지 않음)
+     */
+    public CachingPointStore(PointStore delegate, int maximumSize, Duration ttl) {
+        this.delegate = delegate;
+        this.ttlNanos = ttl.toNanos();
+
+        int segmentSize = Math.max(1, maximumSize / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) segments[i] = new Segment(segmentSize);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        Segment segment = segmentOf(id);
+        UserPoint cached = segment.get(id);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        Object fill = segment.startFill(id);
+        UserPoint loaded;
+        try {
+            loaded = delegate.selectById(id);
+        } catch (RuntimeException e) {
+            segment.cancelFill(id, fill);
+            throw e;
+        }
+        // 조회하는 동안 이 사용자의 잔고가 기록되었다면, 그 항목이 이미 제거되었더라도 조회한 잔고로 채우지 않는다.
+        return segment.putIfUnchanged(id, loaded, fill);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = delegate.insertOrUpdate(id, amount);
+        segmentOf(id).put(id, userPoint);
+        return userPoint;
+    }
+
+    public CacheStats stats() {
+        int size = 0;
+        for (Segment segment : segments) size += segment.size();
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private Segment segmentOf(long id) {
+        int hash = Long.hashCode(id);
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * 캐시 통계
+     */
+    public record CacheStats(long hits, long misses, long evictions, int size) {
+
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+
+    private record Entry(UserPoint userPoint, long expireAt) {
+    }
+
+    /**
+     * 접근 순서를 유지하는 LinkedHashMap 기반 LRU 세그먼트 - 가상 쓰레드가 carrier 를 점유하지 않도록 synchronized 대신 lock 으로 보호합니다.
+     * fills 는 저장소에서 조회 중인 사용자별 표식으로, 그 사용자의 잔고가 기록되면 지워져 조회한 잔고로 채우지 않도록 합니다.
+     * 다른 사용자의 기록은 표식을 지우지 않으므로 조회 중인 채움에 영향을 주지 않습니다.
+     */
+    private class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, Entry> entries;
+        private final Map<Long, Object> fills = new HashMap<>();
+
+        private Segment(int maximumSize) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    if (size() <= maximumSize) return false;
+                    evictions.increment();
+                    return true;
+                }
+            };
+        }
+
+        private UserPoint get(long id) {
+            lock.lock();
+            try {
+                Entry entry = entries.get(id);
+                if (entry == null) return null;
+                if (isExpired(entry)) {
+                    entries.remove(id);
+                    return null;
+                }
+                return entry.userPoint();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 조회를 시작하며 표식을 남깁니다. 같은 사용자를 동시에 조회하면 마지막에 시작한 조회만 채울 수 있습니다.
+         */
+        private Object startFill(long id) {
+            lock.lock();
+            try {
+                Object fill = new Object();
+                fills.put(id, fill);
+                return fill;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void cancelFill(long id, Object fill) {
+            lock.lock();
+            try {
+                fills.remove(id, fill);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 조회를 시작한 뒤 이 사용자의 잔고가 기록되지 않았을 때만 채웁니다. 유효한 항목이 있으면 그 잔고를 돌려줍니다.
+         */
+        private UserPoint putIfUnchanged(long id, UserPoint userPoint, Object fill) {
+            lock.lock();
+            try {
+                boolean unchanged = fills.remove(id, fill);
+                Entry entry = entries.get(id);
+                if (entry != null && !isExpired(entry)) return entry.userPoint();
+                if (unchanged) entries.put(id, newEntry(userPoint));
+                return userPoint;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(long id, UserPoint userPoint) {
+            lock.lock();
+            try {
+                fills.remove(id);
+                entries.put(id, newEntry(userPoint));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Entry newEntry(UserPoint userPoint) {
+            return new Entry(userPoint, ttlNanos > 0 ? System.nanoTime() + ttlNanos : Long.MAX_VALUE);
+        }
+
+        private boolean isExpired(Entry entry) {
+            return entry.expireAt() != Long.MAX_VALUE && entry.expireAt() - System.nanoTime() < 0;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.List;
+
+/**
+ * 사용자별 인덱스를 유지하는 이력 저장소
+ *
+ * 이력은 {@link PointHistoryTable} 에 기록한 뒤 {@link PointHistoryIndex} 에 추가하며,
+ * 조회는 테이블을 거치지 않고 인덱스에서 처리합니다.
+ */
+public class IndexedPointHistoryStore implements PointHistoryStore {
+
+    private final PointHistoryTable pointHistoryTable;
+    private final PointHistoryIndex index = new PointHistoryIndex();
+
+    public IndexedPointHistoryStore(PointHistoryTable pointHistoryTable) {
+        this.pointHistoryTable = pointHistoryTable;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = pointHistoryTable.insert(userId, amount, type, updateMillis);
+        index.add(pointHistory);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return selectAllByUserIdBetween(userId, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserIdBetween(long userId, long fromMillis, long toMillis) {
+        return index.selectBetween(userId, fromMillis, toMillis);
+    }
+
+    @Override
+    public List<PointHistory> selectPage(long userId, PointHistoryQuery query) {
+        return index.selectPage(userId, query);
+    }
+}
@@ -0,0 +1,116 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.exception.PointRollbackException;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 이력을 journal 에 기록한 뒤 메모리 인덱스에 추가하는 저장소 - 이력 id 는 journal 의 레코드 순번입니다.
+ *
+ * 스냅샷으로 시작한 경우 스냅샷 이전의 이력(sealed)은 별도의 쓰레드가 journal 을 읽어 채우며,
+ * 이력 조회는 그 작업이 끝날 때까지 기다립니다. 이후 기록되는 이력은 live 인덱스에 추가됩니다.
+ * sealed 의 모든 id 는 live 의 id 보다 작습니다.
+ * 잔고는 이력보다 먼저 메모리에 반영되므로, journal 에 기록하지 못한 거래는 메모리의 잔고에서 되돌린 뒤
+ * {@link PointRollbackException} 을 던집니다.
+ */
+class JournalPointHistoryStore implements PointHistoryStore {
+
+    private final PointJournal journal;
+    private final CompletableFuture<PointHistoryIndex> sealed;
+    private final PointHistoryIndex live;
+    private final OpenAddressingPointStore points;
+
+    JournalPointHistoryStore(PointJournal journal, CompletableFuture<PointHistoryIndex> sealed, PointHistoryIndex live, OpenAddressingPointStore points) {
+        this.journal = journal;
+        this.points = points;
+        this.sealed = sealed;
+        this.live = live;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        long id;
+        try {
+            id = journal.append(userId, amount, type, updateMillis);
+        } catch (RuntimeException e) {
+            rollback(userId, type == TransactionType.CHARGE ? -amount : amount);
+            throw new PointRollbackException(String.format("failed to append journal, rolled back the balance. - userId: %d", userId), e);
+        }
+        PointHistory pointHistory = new PointHistory(id, userId, amount, type, updateMillis);
+        live.add(pointHistory);
+        return pointHistory;
+    }
+
+    /**
+     * 거래가 반영한 만큼을 잔고에서 되돌립니다. 그 사이 반영된 다른 거래를 덮어쓰지 않도록 버전을 비교해 기록합니다.
+     */
+    private void rollback(long userId, long delta) {
+        while (true) {
+            UserPoint current = points.selectById(userId);
+            if (points.compareAndSet(userId, current.version(), current.point() + delta).isPresent()) return;
+        }
+    }
+
+    /**
+     * 두 이력을 journal 에 한 단위로 기록하므로 복구 시 한쪽만 남지 않습니다.
+     * 기록하지 못하면 이미 반영된 두 잔고를 모두 되돌린 뒤 {@link PointRollbackException} 을 던집니다.
+     */
+    @Override
+    public List<PointHistory> insertTransfer(long fromUserId, long toUserId, long amount, long updateMillis) {
+        long id;
+        try {
+            id = journal.appendPair(fromUserId, TransactionType.USE, toUserId, TransactionType.CHARGE, amount, updateMillis);
+        } catch (RuntimeException e) {
+            rollback(fromUserId, amount);
+            rollback(toUserId, -amount);
+            throw new PointRollbackException(String.format(
+                    "failed to append journal, rolled back the transfer. - fromUserId: %d, toUserId: %d", fromUserId, toUserId), e);
+        }
+        PointHistory withdrawal = new PointHistory(id, fromUserId, amount, TransactionType.USE, updateMillis);
+        PointHistory deposit = new PointHistory(id + 1, toUserId, amount, TransactionType.CHARGE, updateMillis);
+        live.add(withdrawal);
+        live.add(deposit);
+        return List.of(withdrawal, deposit);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return selectAllByUserIdBetween(userId, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserIdBetween(long userId, long fromMillis, long toMillis) {
+        List<PointHistory> older = sealed.join().selectBetween(userId, fromMillis, toMillis);
+        List<PointHistory> newer = live.selectBetween(userId, fromMillis, toMillis);
+        if (older.isEmpty()) return newer;
+        if (newer.isEmpty()) return older;
+
+        // 두 목록 모두 updateMillis 순이므로 병합한다.
+        List<PointHistory> result = new ArrayList<>(older.size() + newer.size());
+        int i = 0, j = 0;
+        while (i < older.size() && j < newer.size()) {
+            result.add(older.get(i).updateMillis() <= newer.get(j).updateMillis() ? older.get(i++) : newer.get(j++));
+        }
+        result.addAll(older.subList(i, older.size()));
+        result.addAll(newer.subList(j, newer.size()));
+        return result;
+    }
+
+    @Override
+    public List<PointHistory> selectPage(long userId, PointHistoryQuery query) {
+        List<PointHistory> older = sealed.join().selectPage(userId, query);
+        if (older.size() >= query.limit()) return older;
+
+        List<PointHistory> newer = live.selectPage(userId, query.withLimit(query.limit() - older.size()));
+        if (older.isEmpty()) return newer;
+        List<PointHistory> result = new ArrayList<>(older);
+        result.addAll(newer);
+        return result;
+    }
+}
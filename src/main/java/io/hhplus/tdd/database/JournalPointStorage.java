@@ -0,0 +1,126 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.database.PointJournal.FsyncPolicy;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 모든 거래를 {@link PointJournal} 에 기록하는 저장 계층
+ *
+ * journal 이 유일한 원본이며 잔고({@link OpenAddressingPointStore})와 이력 인덱스는 메모리에만 보관합니다.
+ * 시작 시 가장 최근 스냅샷으로 잔고를 채우고 그 이후의 journal 레코드만 다시 반영하며,
+ * 스냅샷 이전의 이력 인덱스는 요청을 받기 시작한 뒤 별도의 쓰레드가 채웁니다.
+ * 이력 기록이 곧 거래의 확정이므로, journal 에 기록하지 못한 거래는 메모리의 잔고에서도 되돌려 재시작 전후의 잔고가 같도록 합니다.
+ */
+public class JournalPointStorage implements PointStorage {
+
+    static final String JOURNAL_FILE = "point.journal";
+
+    private final PointJournal journal;
+    private final PointStore pointStore;
+    private final PointHistoryStore pointHistoryStore;
+    private final PointSnapshotter snapshotter;
+
+    public JournalPointStorage(Path directory, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis) {
+        this(directory, fsyncPolicy, fsyncIntervalMillis, Duration.ZERO, 2);
+    }
+
+    /**
+     * @param snapshotInterval 스냅샷 주기 (0 이면 만들지 않음)
+     * @param retainedSnapshots 남겨둘 스냅샷 수
+     */
+    public JournalPointStorage(Path directory, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis, Duration snapshotInterval, int retainedSnapshots) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Optional<PointSnapshot> snapshot = PointSnapshot.readLatest(directory);
+        OpenAddressingPointStore points = new OpenAddressingPointStore(snapshot.map(PointSnapshot::size).orElse(0));
+        snapshot.ifPresent(s -> s.copyTo(points));
+        long snapshotId = snapshot.map(PointSnapshot::lastId).orElse(0L);
+
+        PointHistoryIndex live = new PointHistoryIndex();
+        this.journal = PointJournal.open(directory.resolve(JOURNAL_FILE), snapshotId, fsyncPolicy, fsyncIntervalMillis,
+                (id, userId, amount, type, updateMillis) -> {
+                    live.add(new PointHistory(id, userId, amount, type, updateMillis));
+                    apply(points, userId, amount, type, updateMillis);
+                });
+
+        this.pointStore = points;
+        this.pointHistoryStore = new JournalPointHistoryStore(journal, loadSealed(journal, snapshotId), live, points);
+        this.snapshotter = snapshotInterval.isZero() ? null : new PointSnapshotter(directory, journal, snapshotInterval, retainedSnapshots);
+    }
+
+    private static CompletableFuture<PointHistoryIndex> loadSealed(PointJournal journal, long snapshotId) {
+        if (snapshotId == 0) return CompletableFuture.completedFuture(new PointHistoryIndex());
+
+        CompletableFuture<PointHistoryIndex> sealed = new CompletableFuture<>();
+        Thread loader = new Thread(() -> {
+            try {
+                PointHistoryIndex index = new PointHistoryIndex();
+                journal.read(0, snapshotId, (id, userId, amount, type, updateMillis) ->
+                        index.add(new PointHistory(id, userId, amount, type, updateMillis)));
+                sealed.complete(index);
+            } catch (RuntimeException e) {
+                sealed.completeExceptionally(e);
+            }
+        }, "point-history-loader");
+        loader.setDaemon(true);
+        loader.start();
+        return sealed;
+    }
+
+    /**
+     * journal 레코드 하나를 잔고에 반영합니다.
+     */
+    static void apply(OpenAddressingPointStore points, long userId, long amount, TransactionType type, long updateMillis) {
+        long point = points.pointOf(userId);
+        points.put(userId, type == TransactionType.CHARGE ? point + amount : point - amount, updateMillis);
+    }
+
+    @Override
+    public PointStore pointStore() {
+        return pointStore;
+    }
+
+    @Override
+    public PointHistoryStore pointHistoryStore() {
+        return pointHistoryStore;
+    }
+
+    @Override
+    public boolean preloaded() {
+        return true;
+    }
+
+    /**
+     * 현재까지 디스크에 반영된 journal 로 스냅샷을 만듭니다. 새로 반영된 레코드가 없으면 만들지 않습니다.
+     */
+    public Optional<PointSnapshot> snapshot() {
+        if (snapshotter == null) throw new IllegalStateException("snapshot is disabled.");
+        return snapshotter.snapshot();
+    }
+
+    /**
+     * 주기적인 스냅샷에 실패한 횟수 (스냅샷을 만들지 않으면 0)
+     */
+    public long snapshotFailures() {
+        return snapshotter == null ? 0 : snapshotter.failures();
+    }
+
+    @Override
+    public void close() {
+        if (snapshotter != null) snapshotter.close();
+        journal.close();
+    }
+}
@@ -0,0 +1,35 @@
+package io.hhplus.tdd.database;
+
+/**
+ * 잔고는 {@link OpenAddressingPointStore} 에, 이력은 {@link PointHistoryTable} 에 보관하는 저장 계층 - 재시작하면 모든 데이터가 사라집니다.
+ */
+public class MemoryPointStorage implements PointStorage {
+
+    private final PointStore pointStore;
+    private final PointHistoryStore pointHistoryStore;
+
+    /**
+     * @param expectedUsers 예상 사용자 수
+     * @param indexed 이력을 사용자별 인덱스로 조회할지 여부
+     */
+    public MemoryPointStorage(PointHistoryTable pointHistoryTable, int expectedUsers, boolean indexed) {
+        this(indexed
+                ? new IndexedPointHistoryStore(pointHistoryTable)
+                : new TablePointHistoryStore(pointHistoryTable), expectedUsers);
+    }
+
+    public MemoryPointStorage(PointHistoryStore pointHistoryStore, int expectedUsers) {
+        this.pointStore = new OpenAddressingPointStore(expectedUsers);
+        this.pointHistoryStore = pointHistoryStore;
+    }
+
+    @Override
+    public PointStore pointStore() {
+        return pointStore;
+    }
+
+    @Override
+    public PointHistoryStore pointHistoryStore() {
+        return pointHistoryStore;
+    }
+}
@@ -0,0 +1,240 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 잔고를 객체 없이 long 배열에 보관하는 저장소 (open addressing, linear probing)
+ *
+ * 사용자 Id, 잔고, 수정 시각, 버전을 같은 위치의 네 long 배열(keys, points, updateMillis, versions)에 보관하므로
+ * 사용자 한 명당 Long/UserPoint/Map.Entry 객체 없이 약 32 / loadFactor byte 만 사용합니다.
+ * {@link UserPoint} 는 selectById, insertOrUpdate 가 반환할 때만 만들어집니다.
+ * 사용자 Id 해시로 나눈 세그먼트마다 StampedLock 을 두며, 조회는 Lock 없이 낙관적으로 읽은 뒤 검증합니다.
+ * 버전은 기록할 때마다 1 씩 증가하며 메모리에만 있으므로 재시작하면 다시 1 부터 시작합니다.
+ * 사용자 Id 0 은 빈 자리를 나타내므로 저장할 수 없습니다.
+ */
+public class OpenAddressingPointStore implements VersionedPointStore {
+
+    private static final int SEGMENT_COUNT = 64;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    public OpenAddressingPointStore() {
+        this(0);
+    }
+
+    /**
+     * @param expectedSize 예상 사용자 수 - 미리 공간을 확보해 재배치를 줄입니다.
+     */
+    public OpenAddressingPointStore(int expectedSize) {
+        int segmentCapacity = tableSizeFor((int) (expectedSize / SEGMENT_COUNT / LOAD_FACTOR) + 1);
+        for (int i = 0; i < SEGMENT_COUNT; i++) segments[i] = new Segment(segmentCapacity);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        long hash = hash(id);
+        Segment segment = segmentOf(hash);
+        long stamp = segment.lock.tryOptimisticRead();
+        Table table = segment.table;
+        int slot = table.find(id, hash);
+        long point = slot < 0 ? 0 : table.points[slot];
+        long updateMillis = slot < 0 ? 0 : table.updateMillis[slot];
+        long version = slot < 0 ? 0 : table.versions[slot];
+        if (!segment.lock.validate(stamp)) {
+            stamp = segment.lock.readLock();
+            try {
+                table = segment.table;
+                slot = table.find(id, hash);
+                point = slot < 0 ? 0 : table.points[slot];
+                updateMillis = slot < 0 ? 0 : table.updateMillis[slot];
+                version = slot < 0 ? 0 : table.versions[slot];
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return slot < 0 ? UserPoint.empty(id) : new UserPoint(id, point, updateMillis, version);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        long updateMillis = System.currentTimeMillis();
+        return new UserPoint(id, amount, updateMillis, put(id, amount, updateMillis));
+    }
+
+    /**
+     * 세그먼트 Lock 안에서 버전을 비교하고 기록하므로, 같은 세그먼트의 다른 기록과 잠시 겹칠 뿐 사용자별 Lock 은 필요 없습니다.
+     */
+    @Override
+    public Optional<UserPoint> compareAndSet(long id, long expectedVersion, long amount) {
+        if (id == 0) throw new IllegalArgumentException("user id 0 can not be stored.");
+        long updateMillis = System.currentTimeMillis();
+        long hash = hash(id);
+        Segment segment = segmentOf(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            int slot = segment.table.find(id, hash);
+            long version = slot < 0 ? 0 : segment.table.versions[slot];
+            if (version != expectedVersion) return Optional.empty();
+            return Optional.of(new UserPoint(id, amount, updateMillis, segment.put(id, hash, amount, updateMillis)));
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 사용자의 잔고를 반환하며 없으면 0 을 반환합니다.
+     */
+    public long pointOf(long id) {
+        long hash = hash(id);
+        Segment segment = segmentOf(hash);
+        long stamp = segment.lock.tryOptimisticRead();
+        Table table = segment.table;
+        int slot = table.find(id, hash);
+        long point = slot < 0 ? 0 : table.points[slot];
+        if (segment.lock.validate(stamp)) return point;
+
+        stamp = segment.lock.readLock();
+        try {
+            table = segment.table;
+            slot = table.find(id, hash);
+            return slot < 0 ? 0 : table.points[slot];
+        } finally {
+            segment.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 잔고를 기록하고 기록 후의 버전을 반환합니다.
+     */
+    public long put(long id, long point, long updateMillis) {
+        if (id == 0) throw new IllegalArgumentException("user id 0 can not be stored.");
+        long hash = hash(id);
+        Segment segment = segmentOf(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            return segment.put(id, hash, point, updateMillis);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                size += segment.size;
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 저장된 모든 잔고를 순서 없이 전달합니다. 세그먼트 단위로 읽으므로 전체가 한 시점의 상태는 아닙니다.
+     */
+    public void forEach(EntryVisitor visitor) {
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                Table table = segment.table;
+                for (int i = 0; i < table.keys.length; i++) {
+                    if (table.keys[i] != 0) visitor.visit(table.keys[i], table.points[i], table.updateMillis[i]);
+                }
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    private Segment segmentOf(long hash) {
+        return segments[(int) (hash >>> 58)];
+    }
+
+    private static long hash(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Math.max(16, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+    }
+
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void visit(long id, long point, long updateMillis);
+    }
+
+    private static class Segment {
+        private final StampedLock lock = new StampedLock();
+        // 낙관적 읽기가 서로 다른 크기의 배열을 섞어 읽지 않도록 배열 묶음을 한 번에 교체한다.
+        private Table table;
+        private int size;
+
+        private Segment(int capacity) {
+            this.table = new Table(capacity);
+        }
+
+        /** 기록 후의 버전 */
+        private long put(long id, long hash, long point, long updateMillis) {
+            int slot = table.slotOf(id, hash);
+            boolean added = table.keys[slot] == 0;
+            long version = added ? 1 : table.versions[slot] + 1;
+            table.set(slot, id, point, updateMillis, version);
+            if (added && ++size > table.keys.length * LOAD_FACTOR) table = table.resize();
+            return version;
+        }
+    }
+
+    private static class Table {
+        private final long[] keys;
+        private final long[] points;
+        private final long[] updateMillis;
+        private final long[] versions;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.points = new long[capacity];
+            this.updateMillis = new long[capacity];
+            this.versions = new long[capacity];
+        }
+
+        /** id 가 저장된 위치, 없으면 -1 */
+        private int find(long id, long hash) {
+            int mask = keys.length - 1;
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                long key = keys[slot];
+                if (key == id) return slot;
+                if (key == 0) return -1;
+            }
+        }
+
+        /** id 가 저장된 위치, 없으면 저장할 빈 위치 */
+        private int slotOf(long id, long hash) {
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            while (keys[slot] != 0 && keys[slot] != id) slot = (slot + 1) & mask;
+            return slot;
+        }
+
+        private void set(int slot, long id, long point, long millis, long version) {
+            keys[slot] = id;
+            points[slot] = point;
+            updateMillis[slot] = millis;
+            versions[slot] = version;
+        }
+
+        private Table resize() {
+            Table resized = new Table(keys.length * 2);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) resized.set(resized.slotOf(keys[i], hash(keys[i])), keys[i], points[i], updateMillis[i], versions[i]);
+            }
+            return resized;
+        }
+    }
+}
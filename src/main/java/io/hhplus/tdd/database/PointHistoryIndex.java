@@ -0,0 +1,146 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 메모리에 보관하는 사용자별 이력 인덱스
+ *
+ * 이력의 위치를 사용자별 int 배열에 updateMillis 순과 id 순으로 보관합니다.
+ * 조회 시 전체 이력을 훑지 않고 해당 사용자의 이력 수만큼만 접근하며,
+ * 기간 조회와 cursor(id) 기반 페이지 조회는 이진 탐색으로 시작 위치를 찾습니다.
+ */
+class PointHistoryIndex {
+
+    private final List<PointHistory> rows = new ArrayList<>();
+    private final Map<Long, UserIndex> indexes = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    void add(PointHistory pointHistory) {
+        lock.writeLock().lock();
+        try {
+            int position = rows.size();
+            rows.add(pointHistory);
+            UserIndex index = indexes.computeIfAbsent(pointHistory.userId(), k -> new UserIndex());
+            index.byMillis.add(pointHistory.updateMillis(), position);
+            index.byId.add(pointHistory.id(), position);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 추가된 순서대로의 전체 이력 */
+    List<PointHistory> rows() {
+        lock.readLock().lock();
+        try {
+            return List.copyOf(rows);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<PointHistory> selectBetween(long userId, long fromMillis, long toMillis) {
+        lock.readLock().lock();
+        try {
+            UserIndex index = indexes.get(userId);
+            if (index == null) return List.of();
+
+            SortedPositions byMillis = index.byMillis;
+            int from = byMillis.lowerBound(fromMillis);
+            int to = byMillis.upperBound(toMillis);
+            List<PointHistory> result = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) result.add(rows.get(byMillis.positions[i]));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<PointHistory> selectPage(long userId, PointHistoryQuery query) {
+        lock.readLock().lock();
+        try {
+            UserIndex index = indexes.get(userId);
+            if (index == null) return List.of();
+
+            SortedPositions byId = index.byId;
+            List<PointHistory> result = new ArrayList<>(Math.min(query.limit(), byId.size));
+            int from = query.cursor() == null ? 0 : byId.upperBound(query.cursor());
+            for (int i = from; i < byId.size && result.size() < query.limit(); i++) {
+                PointHistory history = rows.get(byId.positions[i]);
+                if (query.matches(history) && history.updateMillis() >= query.fromMillis() && history.updateMillis() <= query.toMillis())
+                    result.add(history);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static class UserIndex {
+        private final SortedPositions byMillis = new SortedPositions();
+        private final SortedPositions byId = new SortedPositions();
+    }
+
+    /**
+     * 이력의 위치(positions)를 정렬 기준값(keys) 순으로 보관합니다.
+     */
+    private static class SortedPositions {
+        private long[] keys = new long[4];
+        private int[] positions = new int[4];
+        private int size;
+
+        private void add(long key, int position) {
+            if (size == positions.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+
+            // 대부분 마지막에 추가되며, 순서가 역전된 경우에만 뒤의 항목을 민다.
+            int at = upperBound(key);
+            System.arraycopy(keys, at, keys, at + 1, size - at);
+            System.arraycopy(positions, at, positions, at + 1, size - at);
+            keys[at] = key;
+            positions[at] = position;
+            size++;
+        }
+
+        /** key 가 target 이상인 첫 위치 */
+        private int lowerBound(long target) {
+            int low = 0, high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] < target) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        /** key 가 target 보다 큰 첫 위치 */
+        private int upperBound(long target) {
+            int low = 0, high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] <= target) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+}
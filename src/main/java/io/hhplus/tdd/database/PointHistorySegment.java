@@ -0,0 +1,520 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 기록이 끝난 이력을 압축해 보관하는 변경 불가능한 파일 (history-{minId}-{maxId}.seg)
+ *
+ * magic(4) version(4)
+ * block : rawLength(4) compressedLength(4) checksum(4) deflate(raw)
+ *   raw 는 사용자별 이력 묶음(run)을 이어 붙인 것이며, run 의 이력은 id 순으로
+ *   id 차이(varint), amount(varint), type(1), updateMillis 차이(zigzag varint) 를 기록합니다.
+ * index : userId 순으로 정렬한 사용자마다 userId(8) blockOffset(8) runOffset(4) count(4) minMillis(8) maxMillis(8)
+ * footer : indexOffset(8) userCount(4) size(4) minId(8) maxId(8) minMillis(8) maxMillis(8) magic(4)
+ *
+ * index 는 힙이 아닌 메모리에 매핑해 이진 탐색하므로 세그먼트가 늘어도 힙 사용량은 세그먼트당 일정합니다.
+ * 힙에는 footer 의 값만 두고, 파일과 index 매핑은 조회할 때 {@link OpenSegments} 를 통해 열며 열어 둘 수 있는 수에는 제한이 있습니다.
+ * 조회는 해당 사용자의 run 이 담긴 block 하나만 읽어 압축을 풉니다.
+ */
+class PointHistorySegment {
+
+    private static final int MAGIC = 0x50485347;
+    private static final int VERSION = 1;
+    private static final int BLOCK_SIZE = 1 << 14;
+    private static final int ENTRY_SIZE = 40;
+    private static final int FOOTER_SIZE = 52;
+    static final String PREFIX = "history-";
+    static final String SUFFIX = ".seg";
+
+    private final Path file;
+    private final OpenSegments openSegments;
+    private final long indexOffset;
+    private final int userCount;
+    private final int size;
+    private final long minId;
+    private final long maxId;
+    private final long minMillis;
+    private final long maxMillis;
+
+    // 아래 값은 OpenSegments 의 lock 안에서만 읽고 쓴다.
+    private Opened opened;
+    private int readers;
+    private boolean retired;
+
+    private PointHistorySegment(Path file, OpenSegments openSegments, long indexOffset, int userCount, int size,
+                                long minId, long maxId, long minMillis, long maxMillis) {
+        this.file = file;
+        this.openSegments = openSegments;
+        this.indexOffset = indexOffset;
+        this.userCount = userCount;
+        this.size = size;
+        this.minId = minId;
+        this.maxId = maxId;
+        this.minMillis = minMillis;
+        this.maxMillis = maxMillis;
+    }
+
+    /**
+     * id 순으로 정렬된 이력을 세그먼트 파일로 기록합니다. 임시 파일에 기록한 뒤 이름을 바꿉니다.
+     */
+    static Path write(Path directory, List<PointHistory> rows) {
+        if (rows.isEmpty()) throw new IllegalArgumentException("segment can not be empty.");
+        long minId = rows.get(0).id();
+        long maxId = rows.get(rows.size() - 1).id();
+        Path target = directory.resolve(String.format("%s%020d-%020d%s", PREFIX, minId, maxId, SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+
+        List<PointHistory> byUser = new ArrayList<>(rows);
+        byUser.sort(Comparator.comparingLong(PointHistory::userId).thenComparingLong(PointHistory::id));
+
+        try {
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+
+                ByteArrayOutputStream entries = new ByteArrayOutputStream();
+                DataOutputStream entryOut = new DataOutputStream(entries);
+                Block block = new Block();
+                long segmentMinMillis = Long.MAX_VALUE, segmentMaxMillis = Long.MIN_VALUE;
+                int userCount = 0;
+
+                for (int from = 0; from < byUser.size(); ) {
+                    long userId = byUser.get(from).userId();
+                    int to = from;
+                    while (to < byUser.size() && byUser.get(to).userId() == userId) to++;
+
+                    if (block.raw.size() >= BLOCK_SIZE) block.flush(out);
+                    int runOffset = block.raw.size();
+                    long runMinMillis = Long.MAX_VALUE, runMaxMillis = Long.MIN_VALUE;
+                    long previousId = 0, previousMillis = 0;
+                    for (int i = from; i < to; i++) {
+                        PointHistory history = byUser.get(i);
+                        block.writeVarLong(history.id() - previousId);
+                        block.writeVarLong(history.amount());
+                        block.raw.write(history.type().ordinal());
+                        long delta = history.updateMillis() - previousMillis;
+                        block.writeVarLong((delta << 1) ^ (delta >> 63));
+                        previousId = history.id();
+                        previousMillis = history.updateMillis();
+                        runMinMillis = Math.min(runMinMillis, history.updateMillis());
+                        runMaxMillis = Math.max(runMaxMillis, history.updateMillis());
+                    }
+
+                    entryOut.writeLong(userId);
+                    entryOut.writeLong(out.size());
+                    entryOut.writeInt(runOffset);
+                    entryOut.writeInt(to - from);
+                    entryOut.writeLong(runMinMillis);
+                    entryOut.writeLong(runMaxMillis);
+                    segmentMinMillis = Math.min(segmentMinMillis, runMinMillis);
+                    segmentMaxMillis = Math.max(segmentMaxMillis, runMaxMillis);
+                    userCount++;
+                    from = to;
+                }
+                block.flush(out);
+
+                long indexOffset = out.size();
+                entries.writeTo(out);
+                out.writeLong(indexOffset);
+                out.writeInt(userCount);
+                out.writeInt(rows.size());
+                out.writeLong(minId);
+                out.writeLong(maxId);
+                out.writeLong(segmentMinMillis);
+                out.writeLong(segmentMaxMillis);
+                out.writeInt(MAGIC);
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 세그먼트 파일의 footer 만 읽습니다. 파일은 조회할 때 openSegments 를 통해 엽니다.
+     */
+    static PointHistorySegment read(Path file, OpenSegments openSegments) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE);
+            readFully(channel, footer, channel.size() - FOOTER_SIZE);
+            footer.flip();
+            long indexOffset = footer.getLong();
+            int userCount = footer.getInt();
+            int size = footer.getInt();
+            long minId = footer.getLong();
+            long maxId = footer.getLong();
+            long minMillis = footer.getLong();
+            long maxMillis = footer.getLong();
+            if (footer.getInt() != MAGIC) throw new IllegalStateException("not a history segment - " + file);
+            return new PointHistorySegment(file, openSegments, indexOffset, userCount, size, minId, maxId, minMillis, maxMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    long maxId() {
+        return maxId;
+    }
+
+    /**
+     * 사용자의 이력 중 updateMillis 가 [fromMillis, toMillis] 범위에 속하는 이력을 id 순으로 조회합니다.
+     */
+    List<PointHistory> selectBetween(long userId, long fromMillis, long toMillis) {
+        if (toMillis < minMillis || fromMillis > maxMillis) return List.of();
+        Opened opened = openSegments.acquire(this);
+        try {
+            int entry = find(opened.index, userId);
+            if (entry < 0) return List.of();
+
+            int at = entry * ENTRY_SIZE;
+            if (toMillis < opened.index.getLong(at + 24) || fromMillis > opened.index.getLong(at + 32)) return List.of();
+            return readRun(opened, userId, entry).stream()
+                    .filter(history -> history.updateMillis() >= fromMillis && history.updateMillis() <= toMillis)
+                    .toList();
+        } finally {
+            openSegments.release(this);
+        }
+    }
+
+    /**
+     * 조회 조건에 맞는 이력을 id 순으로 최대 limit 개 조회합니다.
+     */
+    List<PointHistory> selectPage(long userId, PointHistoryQuery query) {
+        if (query.cursor() != null && query.cursor() >= maxId) return List.of();
+        return selectBetween(userId, query.fromMillis(), query.toMillis()).stream()
+                .filter(history -> query.cursor() == null || history.id() > query.cursor())
+                .filter(query::matches)
+                .limit(query.limit())
+                .toList();
+    }
+
+    /**
+     * 세그먼트의 모든 이력을 id 순으로 읽습니다. 세그먼트를 합칠 때 사용합니다.
+     */
+    List<PointHistory> rows() {
+        Opened opened = openSegments.acquire(this);
+        try {
+            List<PointHistory> rows = new ArrayList<>(size);
+            long blockOffset = -1;
+            byte[] block = null;
+            for (int entry = 0; entry < userCount; entry++) {
+                int at = entry * ENTRY_SIZE;
+                if (opened.index.getLong(at + 8) != blockOffset) {
+                    blockOffset = opened.index.getLong(at + 8);
+                    block = readBlock(opened.channel, blockOffset);
+                }
+                decodeRun(block, opened.index.getLong(at), opened.index.getInt(at + 16), opened.index.getInt(at + 20), rows);
+            }
+            rows.sort(Comparator.comparingLong(PointHistory::id));
+            return rows;
+        } finally {
+            openSegments.release(this);
+        }
+    }
+
+    /** userId 의 index 위치, 없으면 -1 */
+    private int find(MappedByteBuffer index, long userId) {
+        int low = 0, high = userCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long key = index.getLong(mid * ENTRY_SIZE);
+            if (key < userId) low = mid + 1;
+            else if (key > userId) high = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    private List<PointHistory> readRun(Opened opened, long userId, int entry) {
+        int at = entry * ENTRY_SIZE;
+        long blockOffset = opened.index.getLong(at + 8);
+        int runOffset = opened.index.getInt(at + 16);
+        int count = opened.index.getInt(at + 20);
+
+        List<PointHistory> run = new ArrayList<>(count);
+        decodeRun(readBlock(opened.channel, blockOffset), userId, runOffset, count, run);
+        return run;
+    }
+
+    private static void decodeRun(byte[] block, long userId, int runOffset, int count, List<PointHistory> into) {
+        Cursor cursor = new Cursor(block, runOffset);
+        long id = 0, millis = 0;
+        for (int i = 0; i < count; i++) {
+            id += cursor.readVarLong();
+            long amount = cursor.readVarLong();
+            TransactionType type = TransactionType.values()[cursor.raw[cursor.position++]];
+            long encoded = cursor.readVarLong();
+            millis += (encoded >>> 1) ^ -(encoded & 1);
+            into.add(new PointHistory(id, userId, amount, type, millis));
+        }
+    }
+
+    private byte[] readBlock(FileChannel channel, long blockOffset) {
+        try {
+            ByteBuffer header = ByteBuffer.allocate(12);
+            readFully(channel, header, blockOffset);
+            header.flip();
+            int rawLength = header.getInt();
+            int compressedLength = header.getInt();
+            int checksum = header.getInt();
+
+            ByteBuffer compressed = ByteBuffer.allocate(compressedLength);
+            readFully(channel, compressed, blockOffset + 12);
+            CRC32C crc = new CRC32C();
+            crc.update(compressed.array(), 0, compressedLength);
+            if ((int) crc.getValue() != checksum) throw new IllegalStateException("segment checksum mismatch - " + file);
+
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed.array(), 0, compressedLength);
+                byte[] raw = new byte[rawLength];
+                int inflated = 0;
+                while (inflated < rawLength && !inflater.finished()) inflated += inflater.inflate(raw, inflated, rawLength - inflated);
+                return raw;
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("corrupted segment - " + file, e);
+            } finally {
+                inflater.end();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) throw new IOException("unexpected end of segment");
+        }
+    }
+
+    /**
+     * 조회할 때 여는 파일과 index 매핑
+     */
+    private record Opened(FileChannel channel, MappedByteBuffer index) {
+
+        private static Opened open(PointHistorySegment segment) {
+            try {
+                FileChannel channel = FileChannel.open(segment.file, StandardOpenOption.READ);
+                try {
+                    return new Opened(channel, channel.map(FileChannel.MapMode.READ_ONLY, segment.indexOffset, (long) segment.userCount * ENTRY_SIZE));
+                } catch (IOException | RuntimeException e) {
+                    channel.close();
+                    throw e;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void close() {
+            // 매핑은 닫을 수 없으며 더 이상 참조되지 않으면 GC 가 해제한다.
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 다른 세그먼트로 합쳐져 더 이상 조회할 수 없는 세그먼트 - 새 세그먼트 목록으로 다시 조회해야 합니다.
+     */
+    static final class RetiredException extends RuntimeException {
+        private RetiredException(Path file) {
+            super("history segment was merged - " + file, null, false, false);
+        }
+    }
+
+    /**
+     * 열려 있는 세그먼트 - 최대 maxOpen 개까지 열어 두고, 넘으면 읽는 중이 아닌 세그먼트를 오래 사용되지 않은 것부터 닫습니다.
+     * 닫힌 세그먼트는 다시 조회할 때 엽니다. 합쳐진 세그먼트(retire)는 마지막으로 읽던 조회가 끝나면 닫고 파일을 삭제합니다.
+     */
+    static final class OpenSegments {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int maxOpen;
+        private final Map<PointHistorySegment, Boolean> open = new LinkedHashMap<>(16, 0.75f, true);
+
+        OpenSegments(int maxOpen) {
+            this.maxOpen = Math.max(1, maxOpen);
+        }
+
+        private Opened acquire(PointHistorySegment segment) {
+            lock.lock();
+            try {
+                if (segment.retired) throw new RetiredException(segment.file);
+                if (segment.opened == null) segment.opened = Opened.open(segment);
+                segment.readers++;
+                open.put(segment, Boolean.TRUE);
+                evict();
+                return segment.opened;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void release(PointHistorySegment segment) {
+            lock.lock();
+            try {
+                segment.readers--;
+                if (segment.retired) delete(segment);
+                else evict();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 세그먼트를 더 이상 조회하지 않도록 표시합니다. 세그먼트 목록에서 뺀 뒤에 호출해야 합니다.
+         */
+        void retire(PointHistorySegment segment) {
+            lock.lock();
+            try {
+                segment.retired = true;
+                delete(segment);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return open.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void closeAll() {
+            lock.lock();
+            try {
+                open.keySet().forEach(OpenSegments::closeChannel);
+                open.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void evict() {
+            for (Iterator<PointHistorySegment> it = open.keySet().iterator(); open.size() > maxOpen && it.hasNext(); ) {
+                PointHistorySegment segment = it.next();
+                if (segment.readers > 0) continue;
+                it.remove();
+                closeChannel(segment);
+            }
+        }
+
+        private void delete(PointHistorySegment segment) {
+            if (segment.readers > 0) return;
+            open.remove(segment);
+            closeChannel(segment);
+            try {
+                Files.deleteIfExists(segment.file);
+            } catch (IOException e) {
+                // 목록에서 빠진 세그먼트는 다시 읽지 않으며, 남은 파일은 다음 시작 시 삭제된다.
+            }
+        }
+
+        private static void closeChannel(PointHistorySegment segment) {
+            if (segment.opened == null) return;
+            segment.opened.close();
+            segment.opened = null;
+        }
+    }
+
+    /**
+     * 기록 중인 block - raw 가 BLOCK_SIZE 를 넘으면 run 단위로 끊어 압축합니다.
+     */
+    private static class Block {
+        private final ByteArrayOutputStream raw = new ByteArrayOutputStream(BLOCK_SIZE * 2);
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                raw.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            raw.write((int) value);
+        }
+
+        private void flush(DataOutputStream out) throws IOException {
+            if (raw.size() == 0) return;
+            byte[] bytes = raw.toByteArray();
+            Deflater deflater = new Deflater();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 2);
+            try {
+                deflater.setInput(bytes);
+                deflater.finish();
+                byte[] buffer = new byte[BLOCK_SIZE];
+                while (!deflater.finished()) compressed.write(buffer, 0, deflater.deflate(buffer));
+            } finally {
+                deflater.end();
+            }
+
+            CRC32C checksum = new CRC32C();
+            byte[] compressedBytes = compressed.toByteArray();
+            checksum.update(compressedBytes);
+            out.writeInt(bytes.length);
+            out.writeInt(compressedBytes.length);
+            out.writeInt((int) checksum.getValue());
+            out.write(compressedBytes);
+            raw.reset();
+        }
+    }
+
+    private static class Cursor {
+        private final byte[] raw;
+        private int position;
+
+        private Cursor(byte[] raw, int position) {
+            this.raw = raw;
+            this.position = position;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = raw[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IllegalStateException("malformed varint");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 포인트 충전/사용 이력 저장소
+ */
+public interface PointHistoryStore extends AutoCloseable {
+
+    PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
+
+    /**
+     * 이체 한 건을 보내는 사용자의 사용(USE)과 받는 사용자의 충전(CHARGE) 이력 한 쌍으로 기록하고 그 순서대로 돌려줍니다.
+     * 기본 구현은 두 이력을 차례로 기록하며, 한 단위로 기록할 수 있는 저장소는 재정의합니다.
+     */
+    default List<PointHistory> insertTransfer(long fromUserId, long toUserId, long amount, long updateMillis) {
+        PointHistory withdrawal = insert(fromUserId, amount, TransactionType.USE, updateMillis);
+        PointHistory deposit = insert(toUserId, amount, TransactionType.CHARGE, updateMillis);
+        return List.of(withdrawal, deposit);
+    }
+
+    List<PointHistory> selectAllByUserId(long userId);
+
+    /**
+     * 사용자의 이력 중 updateMillis 가 [fromMillis, toMillis] 범위에 속하는 이력을 updateMillis 순으로 조회합니다.
+     */
+    List<PointHistory> selectAllByUserIdBetween(long userId, long fromMillis, long toMillis);
+
+    /**
+     * 조회 조건에 맞는 이력을 id 순으로 최대 limit 개 조회합니다.
+     */
+    default List<PointHistory> selectPage(long userId, PointHistoryQuery query) {
+        return selectAllByUserIdBetween(userId, query.fromMillis(), query.toMillis()).stream()
+                .filter(query::matches)
+                .sorted(Comparator.comparingLong(PointHistory::id))
+                .limit(query.limit())
+                .toList();
+    }
+
+    @Override
+    default void close() {
+    }
+}
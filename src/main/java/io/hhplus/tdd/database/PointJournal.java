@@ -0,0 +1,355 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 거래를 고정 크기 레코드로 파일 끝에 덧붙이는 memory-mapped write-ahead journal
+ *
+ * 레코드(32 byte) : userId(8) amount(8) updateMillis(8) type(4) checksum(4)
+ * 레코드의 순번(1 부터)이 곧 이력 id 이며, 파일은 REGION_SIZE 단위로 매핑하며 늘려갑니다.
+ * fsync 는 별도의 쓰레드가 그동안 쌓인 레코드를 한 번에 디스크에 반영합니다(group fsync).
+ * - GROUP : 기록한 레코드가 디스크에 반영될 때까지 기다린 뒤 반환합니다.
+ * - INTERVAL : 기록 즉시 반환하고 fsyncIntervalMillis 마다 반영합니다. 장애 시 마지막 주기의 기록은 유실될 수 있습니다.
+ * 열 때 checksum 이 맞지 않는 레코드를 기록의 끝으로 보고, 그 뒤에 남은 내용은 지웁니다.
+ * 한 단위로 기록한 두 레코드(appendPair)는 둘 다 온전할 때만 복구합니다.
+ */
+public class PointJournal implements AutoCloseable {
+
+    static final int RECORD_SIZE = 32;
+    private static final int RECORDS_PER_REGION = 2 * 1024 * 1024;
+    private static final long REGION_SIZE = (long) RECORD_SIZE * RECORDS_PER_REGION;
+    // type 은 ordinal 로 기록하므로 TransactionType 은 뒤에만 추가해야 한다.
+    private static final TransactionType[] TYPES = TransactionType.values();
+    /** 다음 레코드와 한 단위로 기록된 레코드의 type 에 더하는 표시 */
+    private static final int LINKED = 1 << 16;
+
+    private final FileChannel channel;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalNanos;
+    private final List<MappedByteBuffer> regions = new ArrayList<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition dirty = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+    private long written;
+    private long syncedCount;
+    private boolean closed;
+    private RuntimeException failure;
+    private final Thread syncer;
+
+    private PointJournal(FileChannel channel, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis) {
+        this.channel = channel;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis);
+        this.syncer = new Thread(this::syncLoop, "point-journal-sync");
+        syncer.setDaemon(true);
+    }
+
+    /**
+     * journal 을 열고 id 가 afterId 보다 큰 레코드를 순서대로 visitor 에 전달한 뒤, 마지막 레코드 다음부터 기록합니다.
+     */
+    public static PointJournal open(Path path, long afterId, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis, RecordVisitor visitor) {
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            PointJournal journal = new PointJournal(channel, fsyncPolicy, fsyncIntervalMillis);
+            journal.recover(afterId, visitor);
+            journal.syncer.start();
+            return journal;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void recover(long afterId, RecordVisitor visitor) throws IOException {
+        long index = afterId;
+        while (isComplete(index) && visit(region(regionOf(index)), offsetOf(index), index + 1, visitor)) index++;
+        written = syncedCount = index;
+
+        // 디스크에 반영되지 못한 채 남은 레코드가 이후 기록과 이어져 되살아나지 않도록 지운다.
+        int current = regionOf(index);
+        MappedByteBuffer region = region(current);
+        for (int offset = offsetOf(index); offset < REGION_SIZE; offset += Long.BYTES) {
+            if (region.getLong(offset) != 0) region.putLong(offset, 0);
+        }
+        region.force();
+        long end = (current + 1) * REGION_SIZE;
+        if (channel.size() > end) channel.truncate(end);
+    }
+
+    /**
+     * 레코드를 기록하고 id 를 돌려줍니다.
+     */
+    public long append(long userId, long amount, TransactionType type, long updateMillis) {
+        lock.lock();
+        try {
+            ensureWritable();
+            long index = written;
+            write(index, userId, amount, type.ordinal(), updateMillis);
+            written = index + 1;
+
+            awaitSynced(index);
+            return index + 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 두 레코드를 이어서 기록하고 첫 레코드의 id 를 돌려줍니다(두 번째 레코드는 id + 1).
+     * 첫 레코드에 LINKED 표시를 남기므로, 열 때 두 번째 레코드가 온전하지 않으면 첫 레코드도 기록의 끝으로 봅니다.
+     */
+    public long appendPair(long userId, TransactionType type, long otherUserId, TransactionType otherType, long amount, long updateMillis) {
+        lock.lock();
+        try {
+            ensureWritable();
+            long index = written;
+            write(index, userId, amount, type.ordinal() | LINKED, updateMillis);
+            write(index + 1, otherUserId, amount, otherType.ordinal(), updateMillis);
+            written = index + 2;
+
+            awaitSynced(index + 1);
+            return index + 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void ensureWritable() {
+        if (closed) throw new IllegalStateException("journal is closed.");
+        if (failure != null) throw new IllegalStateException("journal fsync failed.", failure);
+    }
+
+    private void write(long index, long userId, long amount, int type, long updateMillis) {
+        MappedByteBuffer region = region(regionOf(index));
+        int offset = offsetOf(index);
+        region.putLong(offset, userId);
+        region.putLong(offset + 8, amount);
+        region.putLong(offset + 16, updateMillis);
+        region.putInt(offset + 24, type);
+        region.putInt(offset + 28, checksum(userId, amount, updateMillis, type));
+    }
+
+    private void awaitSynced(long index) {
+        if (fsyncPolicy != FsyncPolicy.GROUP) return;
+
+        dirty.signal();
+        while (syncedCount <= index && failure == null) synced.awaitUninterruptibly();
+        if (failure != null) throw new IllegalStateException("journal fsync failed.", failure);
+    }
+
+    /**
+     * 마지막으로 기록된 레코드의 id
+     */
+    public long lastId() {
+        lock.lock();
+        try {
+            return written;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 디스크에 반영된 마지막 레코드의 id
+     */
+    public long syncedId() {
+        lock.lock();
+        try {
+            return syncedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * id 가 (afterId, toId] 범위인 레코드를 순서대로 visitor 에 전달합니다.
+     * 매핑된 영역을 거치지 않고 파일을 직접 읽으므로 기록과 동시에 호출할 수 있습니다.
+     */
+    public void read(long afterId, long toId, RecordVisitor visitor) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 2048);
+        long index = afterId;
+        try {
+            while (index < toId) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), (toId - index) * RECORD_SIZE));
+                long position = index * RECORD_SIZE;
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) throw new IllegalStateException("journal ends before id " + toId);
+                }
+                for (int offset = 0; offset < buffer.limit(); offset += RECORD_SIZE, index++) {
+                    if (!visit(buffer, offset, index + 1, visitor)) throw new IllegalStateException("journal record " + (index + 1) + " is corrupted.");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean visit(ByteBuffer buffer, int offset, long id, RecordVisitor visitor) {
+        if (!isValid(buffer, offset)) return false;
+
+        int type = buffer.getInt(offset + 24) & ~LINKED;
+        visitor.visit(id, buffer.getLong(offset), buffer.getLong(offset + 8), TYPES[type], buffer.getLong(offset + 16));
+        return true;
+    }
+
+    private static boolean isValid(ByteBuffer buffer, int offset) {
+        long userId = buffer.getLong(offset);
+        long amount = buffer.getLong(offset + 8);
+        long updateMillis = buffer.getLong(offset + 16);
+        int flaggedType = buffer.getInt(offset + 24);
+        int type = flaggedType & ~LINKED;
+        return type >= 0 && type < TYPES.length && buffer.getInt(offset + 28) == checksum(userId, amount, updateMillis, flaggedType);
+    }
+
+    /**
+     * 레코드가 LINKED 로 표시되어 있으면 이어지는 레코드까지 온전한지 확인합니다.
+     */
+    private boolean isComplete(long index) {
+        MappedByteBuffer region = region(regionOf(index));
+        int offset = offsetOf(index);
+        if ((region.getInt(offset + 24) & LINKED) == 0) return true;
+        return isValid(region(regionOf(index + 1)), offsetOf(index + 1));
+    }
+
+    private void syncLoop() {
+        while (true) {
+            long from, to;
+            MappedByteBuffer[] targets;
+            lock.lock();
+            try {
+                if (fsyncPolicy == FsyncPolicy.GROUP) {
+                    while (written == syncedCount && !closed) dirty.awaitUninterruptibly();
+                } else if (!closed) {
+                    awaitInterval();
+                }
+                if (written == syncedCount) {
+                    if (closed) return;
+                    continue;
+                }
+
+                from = syncedCount;
+                to = written;
+                targets = regions.subList(regionOf(from), regionOf(to - 1) + 1).toArray(new MappedByteBuffer[0]);
+            } finally {
+                lock.unlock();
+            }
+
+            RuntimeException error = null;
+            try {
+                force(targets, from, to);
+            } catch (RuntimeException e) {
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                if (error != null) failure = error;
+                else syncedCount = to;
+                // 모두 반영된 영역은 더 이상 참조하지 않는다.
+                for (int r = 0; r < regionOf(syncedCount); r++) regions.set(r, null);
+                synced.signalAll();
+                if (error != null) return;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void awaitInterval() {
+        try {
+            dirty.awaitNanos(fsyncIntervalNanos);
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+    private static void force(MappedByteBuffer[] targets, long from, long to) {
+        int first = regionOf(from);
+        for (int i = 0; i < targets.length; i++) {
+            int start = i == 0 ? offsetOf(from) : 0;
+            int end = first + i == regionOf(to - 1) ? offsetOf(to - 1) + RECORD_SIZE : (int) REGION_SIZE;
+            targets[i].force(start, end - start);
+        }
+    }
+
+    private MappedByteBuffer region(int index) {
+        while (regions.size() <= index) regions.add(null);
+        MappedByteBuffer region = regions.get(index);
+        if (region != null) return region;
+
+        try {
+            region = channel.map(FileChannel.MapMode.READ_WRITE, index * REGION_SIZE, REGION_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        regions.set(index, region);
+        return region;
+    }
+
+    private static int regionOf(long index) {
+        return (int) (index / RECORDS_PER_REGION);
+    }
+
+    private static int offsetOf(long index) {
+        return (int) (index % RECORDS_PER_REGION) * RECORD_SIZE;
+    }
+
+    private static int checksum(long userId, long amount, long updateMillis, int type) {
+        long hash = 0x9E3779B97F4A7C15L;
+        hash = mix(hash ^ userId);
+        hash = mix(hash ^ amount);
+        hash = mix(hash ^ updateMillis);
+        hash = mix(hash ^ type);
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static long mix(long hash) {
+        hash *= 0xBF58476D1CE4E5B9L;
+        return hash ^ (hash >>> 31);
+    }
+
+    /**
+     * 남은 레코드를 모두 디스크에 반영한 뒤 닫습니다.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            dirty.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            syncer.join();
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public enum FsyncPolicy {
+        GROUP, INTERVAL
+    }
+
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void visit(long id, long userId, long amount, TransactionType type, long updateMillis);
+    }
+}
@@ -0,0 +1,187 @@
+package io.hhplus.tdd.database;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 특정 이력 id 시점의 전체 잔고를 담은 열(column) 단위 바이너리 스냅샷
+ *
+ * magic(4) version(4) lastId(8) count(4)
+ * userId 열 : 오름차순으로 정렬한 뒤 이전 값과의 차이를 varint 로 기록
+ * point, updateMillis 열 : 이전 값과의 차이를 zigzag varint 로 기록
+ * checksum(4) : 앞의 모든 내용에 대한 CRC32C
+ * lastId 는 스냅샷에 반영된 마지막 이력 id 이며, 파일 이름(snapshot-{lastId}.bin)에도 기록합니다.
+ */
+public record PointSnapshot(long lastId, long[] userIds, long[] points, long[] updateMillis) {
+
+    private static final int MAGIC = 0x50534E50;
+    private static final int VERSION = 1;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+
+    public int size() {
+        return userIds.length;
+    }
+
+    public static PointSnapshot of(long lastId, OpenAddressingPointStore points) {
+        long[] userIds = new long[points.size()];
+        int[] count = new int[1];
+        points.forEach((id, point, updateMillis) -> userIds[count[0]++] = id);
+        Arrays.sort(userIds);
+
+        long[] balances = new long[userIds.length];
+        long[] updateMillis = new long[userIds.length];
+        points.forEach((id, point, millis) -> {
+            int i = Arrays.binarySearch(userIds, id);
+            balances[i] = point;
+            updateMillis[i] = millis;
+        });
+        return new PointSnapshot(lastId, userIds, balances, updateMillis);
+    }
+
+    public void copyTo(OpenAddressingPointStore points) {
+        for (int i = 0; i < userIds.length; i++) points.put(userIds[i], this.points[i], updateMillis[i]);
+    }
+
+    /**
+     * 임시 파일에 기록한 뒤 이름을 바꾸므로 기록 중 장애가 나도 이전 스냅샷은 그대로 남습니다.
+     */
+    public Path write(Path directory) {
+        Path target = directory.resolve(String.format("%s%020d%s", PREFIX, lastId, SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            CRC32C checksum = new CRC32C();
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), checksum))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(lastId);
+                out.writeInt(userIds.length);
+                writeDeltas(out, userIds, false);
+                writeDeltas(out, points, true);
+                writeDeltas(out, updateMillis, true);
+                out.writeInt((int) checksum.getValue());
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static PointSnapshot read(Path file) {
+        CRC32C checksum = new CRC32C();
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new CheckedInputStream(new BufferedInputStream(stream, 1 << 16), checksum))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) throw new IllegalStateException("not a point snapshot - " + file);
+            long lastId = in.readLong();
+            int count = in.readInt();
+            long[] userIds = readDeltas(in, count, false);
+            long[] points = readDeltas(in, count, true);
+            long[] updateMillis = readDeltas(in, count, true);
+            int expected = (int) checksum.getValue();
+            if (in.readInt() != expected) throw new IllegalStateException("snapshot checksum mismatch - " + file);
+            return new PointSnapshot(lastId, userIds, points, updateMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 디렉토리에서 읽을 수 있는 가장 최근 스냅샷을 찾습니다. 손상된 스냅샷은 건너뜁니다.
+     */
+    public static Optional<PointSnapshot> readLatest(Path directory) {
+        for (Path file : list(directory)) {
+            try {
+                return Optional.of(read(file));
+            } catch (RuntimeException ignored) {
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 최근 retained 개의 스냅샷만 남기고 삭제합니다.
+     */
+    public static void retain(Path directory, int retained) {
+        List<Path> files = list(directory);
+        try {
+            for (int i = retained; i < files.size(); i++) Files.deleteIfExists(files.get(i));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** 최근 스냅샷부터 정렬한 파일 목록 */
+    private static List<Path> list(Path directory) {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        files.sort(Comparator.comparing(Path::toString).reversed());
+        return files;
+    }
+
+    private static void writeDeltas(DataOutputStream out, long[] column, boolean signed) throws IOException {
+        long previous = 0;
+        for (long value : column) {
+            long delta = value - previous;
+            writeVarLong(out, signed ? (delta << 1) ^ (delta >> 63) : delta);
+            previous = value;
+        }
+    }
+
+    private static long[] readDeltas(DataInputStream in, int count, boolean signed) throws IOException {
+        long[] column = new long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            long encoded = readVarLong(in);
+            previous += signed ? (encoded >>> 1) ^ -(encoded & 1) : encoded;
+            column[i] = previous;
+        }
+        return column;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IllegalStateException("malformed varint");
+    }
+}
@@ -0,0 +1,101 @@
+package io.hhplus.tdd.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 주기적으로 잔고 스냅샷을 만드는 작업
+ *
+ * 직전 스냅샷에 그 이후 디스크에 반영된 journal 레코드를 더해 새 스냅샷을 만듭니다.
+ * 메모리의 잔고나 사용자 Lock 을 건드리지 않고 파일만 읽으므로 충전/사용 요청을 멈추지 않습니다.
+ * 주기적인 스냅샷에 실패하면 로그를 남기고 실패 수(failures)를 센 뒤 다음 주기에 다시 시도합니다.
+ */
+class PointSnapshotter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PointSnapshotter.class);
+
+    private final Path directory;
+    private final PointJournal journal;
+    private final int retained;
+    private final ScheduledExecutorService scheduler;
+    // 파일을 읽고 쓰는 동안 가상 쓰레드가 carrier 를 점유하지 않도록 synchronized 대신 사용한다.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder failures = new LongAdder();
+
+    PointSnapshotter(Path directory, PointJournal journal, Duration interval, int retained) {
+        this.directory = directory;
+        this.journal = journal;
+        this.retained = retained;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 직전 스냅샷 이후 반영된 레코드가 있으면 새 스냅샷을 만듭니다.
+     */
+    Optional<PointSnapshot> snapshot() {
+        lock.lock();
+        try {
+            return takeSnapshot();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Optional<PointSnapshot> takeSnapshot() {
+        long lastId = journal.syncedId();
+        PointSnapshot base = PointSnapshot.readLatest(directory).orElse(null);
+        long baseId = base == null ? 0 : base.lastId();
+        if (lastId <= baseId) return Optional.empty();
+
+        OpenAddressingPointStore points = new OpenAddressingPointStore(base == null ? 0 : base.size());
+        if (base != null) base.copyTo(points);
+        journal.read(baseId, lastId, (id, userId, amount, type, updateMillis) ->
+                JournalPointStorage.apply(points, userId, amount, type, updateMillis));
+
+        PointSnapshot snapshot = PointSnapshot.of(lastId, points);
+        snapshot.write(directory);
+        PointSnapshot.retain(directory, retained);
+        return Optional.of(snapshot);
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            // 스냅샷은 복구를 빠르게 할 뿐이므로 실패해도 다음 주기에 다시 시도한다.
+            failures.increment();
+            log.warn("failed to take a point snapshot, retrying on the next interval. - directory: {}", directory, e);
+        }
+    }
+
+    /**
+     * 주기적인 스냅샷에 실패한 횟수
+     */
+    long failures() {
+        return failures.sum();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
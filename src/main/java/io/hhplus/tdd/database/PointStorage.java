@@ -0,0 +1,22 @@
+package io.hhplus.tdd.database;
+
+/**
+ * 잔고 저장소와 이력 저장소를 함께 제공하는 저장 계층
+ */
+public interface PointStorage extends AutoCloseable {
+
+    PointStore pointStore();
+
+    PointHistoryStore pointHistoryStore();
+
+    /**
+     * 시작 시 이전에 기록된 이력을 복구했는지 여부
+     */
+    default boolean preloaded() {
+        return false;
+    }
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 사용자 포인트 잔고 저장소
+ */
+public interface PointStore {
+
+    UserPoint selectById(long id);
+
+    UserPoint insertOrUpdate(long id, long amount);
+}
@@ -0,0 +1,197 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.DailyPointSummary;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 이력을 기록할 때마다 사용자별 요약(합계, 건수, 일별 요약)을 함께 갱신하는 저장소
+ *
+ * 요약 조회는 이력을 다시 읽지 않으므로 합계는 O(1), 일별 요약은 조회한 일수만큼의 비용이 듭니다.
+ * 시작 전에 기록된 이력이 있는 저장소(preloaded)는 사용자를 처음 만날 때 그 사용자의 이력으로 한 번 요약을 만들고,
+ * 그 시점에 이미 반영된 id 이하의 이력은 다시 더하지 않습니다. 이력을 읽는 동안 맵을 잡고 있지 않으며,
+ * 이력이 없는 사용자를 조회하는 것만으로는 요약을 만들어 두지 않습니다.
+ * 같은 사용자의 이력은 엔진이 순서대로 하나씩 기록한다는 전제로 동작합니다.
+ */
+public class SummarizingPointHistoryStore implements PointHistoryStore {
+
+    private final PointHistoryStore delegate;
+    private final ZoneId zone;
+    private final boolean preloaded;
+    private final Map<Long, Rollup> rollups = new ConcurrentHashMap<>();
+
+    public SummarizingPointHistoryStore(PointHistoryStore delegate, ZoneId zone, boolean preloaded) {
+        this.delegate = delegate;
+        this.zone = zone;
+        this.preloaded = preloaded;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = delegate.insert(userId, amount, type, updateMillis);
+        rollupOf(userId).add(pointHistory);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> insertTransfer(long fromUserId, long toUserId, long amount, long updateMillis) {
+        List<PointHistory> pair = delegate.insertTransfer(fromUserId, toUserId, amount, updateMillis);
+        for (PointHistory pointHistory : pair) rollupOf(pointHistory.userId()).add(pointHistory);
+        return pair;
+    }
+
+    /**
+     * 사용자의 전체 합계와 [from, to] 기간의 일별 요약을 조회합니다.
+     */
+    public PointSummary summaryOf(long userId, LocalDate from, LocalDate to) {
+        Rollup rollup = rollups.get(userId);
+        if (rollup == null) {
+            Rollup loaded = load(userId);
+            if (loaded.isEmpty()) return loaded.summary(userId, from, to);
+            rollup = keep(userId, loaded);
+        }
+        return rollup.summary(userId, from, to);
+    }
+
+    private Rollup rollupOf(long userId) {
+        Rollup rollup = rollups.get(userId);
+        return rollup != null ? rollup : keep(userId, load(userId));
+    }
+
+    /**
+     * 먼저 보관된 요약이 있으면 그 요약을 사용합니다. 두 요약 모두 읽은 시점까지의 이력을 담고 있고
+     * 이후의 이력은 id 로 걸러 더하므로 어느 쪽을 사용해도 같습니다.
+     */
+    private Rollup keep(long userId, Rollup loaded) {
+        Rollup current = rollups.putIfAbsent(userId, loaded);
+        return current != null ? current : loaded;
+    }
+
+    int size() {
+        return rollups.size();
+    }
+
+    private Rollup load(long userId) {
+        Rollup rollup = new Rollup(zone);
+        if (!preloaded) return rollup;
+
+        for (PointHistory pointHistory : delegate.selectAllByUserId(userId)) {
+            rollup.add(pointHistory);
+        }
+        rollup.loadedId = rollup.lastId;
+        return rollup;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return delegate.selectAllByUserId(userId);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserIdBetween(long userId, long fromMillis, long toMillis) {
+        return delegate.selectAllByUserIdBetween(userId, fromMillis, toMillis);
+    }
+
+    @Override
+    public List<PointHistory> selectPage(long userId, PointHistoryQuery query) {
+        return delegate.selectPage(userId, query);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    /**
+     * 사용자 한 명의 요약 - 갱신과 조회는 이 객체의 lock 안에서만 이루어집니다.
+     */
+    private static final class Rollup {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ZoneId zone;
+        private final NavigableMap<LocalDate, Daily> days = new TreeMap<>();
+        private long loadedId;
+        private long lastId;
+        private final Daily total = new Daily();
+
+        private Rollup(ZoneId zone) {
+            this.zone = zone;
+        }
+
+        void add(PointHistory pointHistory) {
+            lock.lock();
+            try {
+                if (pointHistory.id() != 0 && pointHistory.id() <= loadedId) return;
+                lastId = Math.max(lastId, pointHistory.id());
+
+                LocalDate date = Instant.ofEpochMilli(pointHistory.updateMillis()).atZone(zone).toLocalDate();
+                total.add(pointHistory);
+                days.computeIfAbsent(date, ignored -> new Daily()).add(pointHistory);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean isEmpty() {
+            lock.lock();
+            try {
+                return total.chargeCount == 0 && total.useCount == 0 && total.expireCount == 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        PointSummary summary(long userId, LocalDate from, LocalDate to) {
+            lock.lock();
+            try {
+                List<DailyPointSummary> daily = days.subMap(from, true, to, true).entrySet().stream()
+                        .map(entry -> entry.getValue().toSummary(entry.getKey()))
+                        .toList();
+                return new PointSummary(userId, total.charged, total.used, total.chargeCount, total.useCount, total.expired, total.expireCount, daily);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class Daily {
+        private long charged;
+        private long used;
+        private long chargeCount;
+        private long useCount;
+        private long expired;
+        private long expireCount;
+
+        void add(PointHistory pointHistory) {
+            switch (pointHistory.type()) {
+                case CHARGE -> {
+                    charged += pointHistory.amount();
+                    chargeCount++;
+                }
+                case USE -> {
+                    used += pointHistory.amount();
+                    useCount++;
+                }
+                case EXPIRE -> {
+                    expired += pointHistory.amount();
+                    expireCount++;
+                }
+            }
+        }
+
+        DailyPointSummary toSummary(LocalDate date) {
+            return new DailyPointSummary(date, charged, used, chargeCount, useCount, expired, expireCount);
+        }
+    }
+}
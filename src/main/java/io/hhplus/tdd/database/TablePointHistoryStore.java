@@ -0,0 +1,37 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@link PointHistoryTable} 을 그대로 사용하는 저장소 - 범위 조회는 사용자 이력 전체를 걸러냅니다.
+ */
+public class TablePointHistoryStore implements PointHistoryStore {
+
+    private final PointHistoryTable pointHistoryTable;
+
+    public TablePointHistoryStore(PointHistoryTable pointHistoryTable) {
+        this.pointHistoryTable = pointHistoryTable;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return pointHistoryTable.insert(userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return pointHistoryTable.selectAllByUserId(userId);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserIdBetween(long userId, long fromMillis, long toMillis) {
+        return pointHistoryTable.selectAllByUserId(userId).stream()
+                .filter(history -> history.updateMillis() >= fromMillis && history.updateMillis() <= toMillis)
+                .sorted(Comparator.comparingLong(PointHistory::updateMillis))
+                .toList();
+    }
+}
@@ -0,0 +1,34 @@
+package io.hhplus.tdd.database;
+
+/**
+ * {@link UserPointTable}, {@link PointHistoryTable} 을 사용하는 저장 계층 - 재시작하면 모든 데이터가 사라집니다.
+ */
+public class TablePointStorage implements PointStorage {
+
+    private final PointStore pointStore;
+    private final PointHistoryStore pointHistoryStore;
+
+    /**
+     * @param indexed 이력을 사용자별 인덱스로 조회할지 여부
+     */
+    public TablePointStorage(UserPointTable userPointTable, PointHistoryTable pointHistoryTable, boolean indexed) {
+        this(userPointTable, indexed
+                ? new IndexedPointHistoryStore(pointHistoryTable)
+                : new TablePointHistoryStore(pointHistoryTable));
+    }
+
+    public TablePointStorage(UserPointTable userPointTable, PointHistoryStore pointHistoryStore) {
+        this.pointStore = new TablePointStore(userPointTable);
+        this.pointHistoryStore = pointHistoryStore;
+    }
+
+    @Override
+    public PointStore pointStore() {
+        return pointStore;
+    }
+
+    @Override
+    public PointHistoryStore pointHistoryStore() {
+        return pointHistoryStore;
+    }
+}
@@ -0,0 +1,317 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 최근 이력은 메모리(hot)에, 오래된 이력은 압축한 세그먼트 파일(cold)에 보관하는 이력 저장소
+ *
+ * 이력은 segmentSize 개 단위의 메모리 인덱스(chunk)에 차례로 기록하며, 가득 찬 chunk 는 더 이상 바뀌지 않습니다.
+ * 메모리에 남은 이력이 hotSize 를 넘으면 별도의 쓰레드가 가장 오래된 chunk 를 {@link PointHistorySegment} 로 기록하고
+ * 메모리에서 내립니다. 세그먼트 기록이 밀려 메모리의 이력이 hotSize + 2 * segmentSize 에 이르면 기록이 따라잡을 때까지
+ * 이력 추가가 대기하므로, 힙 사용량은 전체 이력이 아니라 hotSize 에 비례합니다.
+ * 크기가 같은 세그먼트가 {@value #COMPACTION_FAN_IN} 개 이어지면 합쳐진 크기가 compactedSize 를 넘지 않는 한 하나로 합치므로,
+ * 세그먼트 수는 이력 수에 비례해 늘지 않고 compactedSize 단위로 늘어납니다. 합치는 동안 그 세그먼트들의 이력을 힙에 올립니다.
+ * 세그먼트 파일은 조회할 때 열며 동시에 열어 두는 수는 maxOpenSegments 로 제한합니다.
+ * 조회는 세그먼트와 chunk 목록을 한 번에 읽어 오래된 것부터 합치므로 기록 중에도 빠지거나 겹치는 이력이 없고,
+ * 조회 도중 세그먼트가 합쳐지면 새 목록으로 다시 조회합니다.
+ * 메모리의 이력은 재시작하면 사라지므로 시작할 때 directory 에 남아 있던 세그먼트는 삭제합니다.
+ */
+public class TieredPointHistoryStore implements PointHistoryStore {
+
+    static final int COMPACTION_FAN_IN = 4;
+
+    private static final Logger log = LoggerFactory.getLogger(TieredPointHistoryStore.class);
+
+    private final Path directory;
+    private final int hotSize;
+    private final int segmentSize;
+    private final long compactedSize;
+    private final PointHistorySegment.OpenSegments openSegments;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition sealable = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Thread sealer;
+
+    // 조회는 lock 없이 이 값만 읽으며, chunk 나 세그먼트가 바뀔 때마다 lock 안에서 새 목록으로 교체한다.
+    private volatile Tiers tiers = new Tiers(List.of(), List.of(new PointHistoryIndex()));
+    private long lastId;
+    private int hotCount;
+    private volatile boolean closed;
+
+    public TieredPointHistoryStore(Path directory, int hotSize, int segmentSize) {
+        this(directory, hotSize, segmentSize, 64, 64L * segmentSize);
+    }
+
+    /**
+     * @param maxOpenSegments 동시에 열어 두는 최대 세그먼트 파일 수
+     * @param compactedSize 세그먼트를 합쳐 만들 수 있는 최대 이력 수
+     */
+    public TieredPointHistoryStore(Path directory, int hotSize, int segmentSize, int maxOpenSegments, long compactedSize) {
+        if (segmentSize <= 0) throw new IllegalArgumentException("segmentSize must be positive.");
+        this.directory = directory;
+        this.hotSize = hotSize;
+        this.segmentSize = segmentSize;
+        this.compactedSize = compactedSize;
+        this.openSegments = new PointHistorySegment.OpenSegments(maxOpenSegments);
+        clear(directory);
+        this.sealer = new Thread(this::seal, "point-history-sealer");
+        sealer.setDaemon(true);
+        sealer.start();
+    }
+
+    private static void clear(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PointHistorySegment.PREFIX + "*")) {
+                for (Path file : stream) Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        lock.lock();
+        try {
+            while (hotCount >= hotSize + 2L * segmentSize && !closed) notFull.await();
+            if (closed) throw new IllegalStateException("history store is closed.");
+
+            PointHistory pointHistory = new PointHistory(++lastId, userId, amount, type, updateMillis);
+            Tiers current = tiers;
+            PointHistoryIndex active = current.active();
+            active.add(pointHistory);
+            hotCount++;
+            if (active.size() >= segmentSize) {
+                tiers = new Tiers(current.cold, append(current.hot, new PointHistoryIndex()));
+                sealable.signal();
+            }
+            return pointHistory;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for history segments.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return selectAllByUserIdBetween(userId, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * 각 계층의 결과를 오래된 것부터 이어 붙인 뒤 updateMillis 순으로 정렬합니다.
+     * 계층 사이의 순서는 대부분 이미 맞으므로 정렬은 이어 붙인 구간을 병합하는 비용만 듭니다.
+     */
+    @Override
+    public List<PointHistory> selectAllByUserIdBetween(long userId, long fromMillis, long toMillis) {
+        return read(current -> {
+            List<PointHistory> result = new ArrayList<>();
+            for (PointHistorySegment segment : current.cold) result.addAll(segment.selectBetween(userId, fromMillis, toMillis));
+            for (PointHistoryIndex chunk : current.hot) result.addAll(chunk.selectBetween(userId, fromMillis, toMillis));
+            result.sort(Comparator.comparingLong(PointHistory::updateMillis));
+            return result;
+        });
+    }
+
+    /**
+     * 계층은 id 순으로 나뉘어 있으므로 오래된 계층부터 limit 개가 찰 때까지 조회합니다.
+     */
+    @Override
+    public List<PointHistory> selectPage(long userId, PointHistoryQuery query) {
+        return read(current -> {
+            List<PointHistory> result = new ArrayList<>();
+            for (PointHistorySegment segment : current.cold) {
+                if (result.size() >= query.limit()) return result;
+                result.addAll(segment.selectPage(userId, query.withLimit(query.limit() - result.size())));
+            }
+            for (PointHistoryIndex chunk : current.hot) {
+                if (result.size() >= query.limit()) return result;
+                result.addAll(chunk.selectPage(userId, query.withLimit(query.limit() - result.size())));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * 합쳐진 세그먼트는 목록에서 뺀 뒤에 조회할 수 없게 되므로, 다시 읽은 목록에는 합친 세그먼트가 들어 있습니다.
+     */
+    private <T> T read(Function<Tiers, T> query) {
+        while (true) {
+            try {
+                return query.apply(tiers);
+            } catch (PointHistorySegment.RetiredException e) {
+                // 조회 도중 합쳐진 세그먼트가 있으면 새 목록으로 다시 조회한다.
+            }
+        }
+    }
+
+    /** 메모리에 보관 중인 이력 수 */
+    int hotCount() {
+        lock.lock();
+        try {
+            return hotCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 세그먼트 파일로 내린 이력 수 */
+    long coldCount() {
+        return tiers.cold.stream().mapToLong(PointHistorySegment::size).sum();
+    }
+
+    /** 세그먼트 파일 수 */
+    int segmentCount() {
+        return tiers.cold.size();
+    }
+
+    /** 열려 있는 세그먼트 파일 수 */
+    int openSegmentCount() {
+        return openSegments.size();
+    }
+
+    private boolean shouldSeal() {
+        List<PointHistoryIndex> hot = tiers.hot;
+        return hot.size() > 1 && hotCount - hot.get(0).size() >= hotSize;
+    }
+
+    private void seal() {
+        while (true) {
+            PointHistoryIndex oldest;
+            lock.lock();
+            try {
+                while (!closed && !shouldSeal()) sealable.await();
+                if (closed) return;
+                oldest = tiers.hot.get(0);
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            PointHistorySegment segment;
+            try {
+                segment = PointHistorySegment.read(PointHistorySegment.write(directory, oldest.rows()), openSegments);
+            } catch (RuntimeException e) {
+                // 디스크 오류 등으로 실패하면 chunk 를 메모리에 둔 채 잠시 뒤 다시 시도한다.
+                lock.lock();
+                try {
+                    sealable.await(1, TimeUnit.SECONDS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                } finally {
+                    lock.unlock();
+                }
+                continue;
+            }
+
+            lock.lock();
+            try {
+                Tiers current = tiers;
+                tiers = new Tiers(append(current.cold, segment), List.copyOf(current.hot.subList(1, current.hot.size())));
+                hotCount -= oldest.size();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            compact();
+        }
+    }
+
+    /**
+     * 크기가 같은 세그먼트 {@value #COMPACTION_FAN_IN} 개를 하나로 합칩니다. 세그먼트 목록은 seal 쓰레드만 바꾸므로 합치는 동안 그대로입니다.
+     * 실패하면 다음에 세그먼트를 내릴 때 다시 시도합니다.
+     */
+    private void compact() {
+        for (List<PointHistorySegment> run; (run = nextCompaction(tiers.cold)) != null; ) {
+            PointHistorySegment merged;
+            try {
+                List<PointHistory> rows = new ArrayList<>();
+                for (PointHistorySegment segment : run) rows.addAll(segment.rows());
+                merged = PointHistorySegment.read(PointHistorySegment.write(directory, rows), openSegments);
+            } catch (RuntimeException e) {
+                log.warn("failed to compact {} history segments, retrying after the next seal.", run.size(), e);
+                return;
+            }
+
+            lock.lock();
+            try {
+                Tiers current = tiers;
+                List<PointHistorySegment> cold = new ArrayList<>(current.cold);
+                int from = cold.indexOf(run.get(0));
+                cold.subList(from, from + run.size()).clear();
+                cold.add(from, merged);
+                tiers = new Tiers(List.copyOf(cold), current.hot);
+            } finally {
+                lock.unlock();
+            }
+            run.forEach(openSegments::retire);
+        }
+    }
+
+    private List<PointHistorySegment> nextCompaction(List<PointHistorySegment> cold) {
+        for (int from = 0; from + COMPACTION_FAN_IN <= cold.size(); from++) {
+            int size = cold.get(from).size();
+            if ((long) size * COMPACTION_FAN_IN > compactedSize) continue;
+
+            int to = from + 1;
+            while (to < from + COMPACTION_FAN_IN && cold.get(to).size() == size) to++;
+            if (to == from + COMPACTION_FAN_IN) return cold.subList(from, to);
+        }
+        return null;
+    }
+
+    private static <T> List<T> append(List<T> list, T element) {
+        List<T> appended = new ArrayList<>(list.size() + 1);
+        appended.addAll(list);
+        appended.add(element);
+        return List.copyOf(appended);
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            sealable.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            sealer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        openSegments.closeAll();
+    }
+
+    /**
+     * cold 는 기록된 세그먼트, hot 은 메모리의 chunk 이며 둘 다 오래된 것부터 정렬되어 있습니다. hot 의 마지막이 기록 중인 chunk 입니다.
+     */
+    private record Tiers(List<PointHistorySegment> cold, List<PointHistoryIndex> hot) {
+
+        PointHistoryIndex active() {
+            return hot.get(hot.size() - 1);
+        }
+    }
+}
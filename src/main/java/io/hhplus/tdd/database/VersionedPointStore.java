@@ -0,0 +1,17 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.Optional;
+
+/**
+ * 잔고마다 버전을 관리해 Lock 없이 조건부로 기록할 수 있는 잔고 저장소
+ */
+public interface VersionedPointStore extends PointStore {
+
+    /**
+     * 저장된 버전이 expectedVersion 과 같을 때만 잔고를 기록하고 버전을 1 올립니다.
+     * 기록한 적 없는 사용자의 버전은 0 이며, 다른 요청이 먼저 기록해 버전이 다르면 빈 값을 돌려줍니다.
+     */
+    Optional<UserPoint> compareAndSet(long id, long expectedVersion, long amount);
+}
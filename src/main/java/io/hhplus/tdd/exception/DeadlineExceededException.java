@@ -0,0 +1,10 @@
+package io.hhplus.tdd.exception;
+
+/**
+ * 요청의 시한 안에 사용자 Lock 을 획득하지 못하거나 처리 차례가 오지 않은 경우
+ */
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.exception;
+
+/**
+ * 요청 값(사용자 id, 포인트, 거래 종류 등)이 올바르지 않은 경우 - 저장소를 읽거나 쓰기 전에 거절합니다.
+ */
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
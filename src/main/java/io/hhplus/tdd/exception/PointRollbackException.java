@@ -0,0 +1,10 @@
+package io.hhplus.tdd.exception;
+
+/**
+ * 이력을 기록하지 못해 이미 반영한 잔고까지 되돌린 경우 - 요청은 반영되지 않았습니다.
+ */
+public class PointRollbackException extends RuntimeException {
+    public PointRollbackException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
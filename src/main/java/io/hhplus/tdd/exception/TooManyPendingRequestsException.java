@@ -0,0 +1,10 @@
+package io.hhplus.tdd.exception;
+
+/**
+ * 한 사용자(혹은 한 샤드)에 대해 대기 중인 요청이 허용된 수를 넘은 경우 - 더 기다리지 않고 거절합니다.
+ */
+public class TooManyPendingRequestsException extends RuntimeException {
+    public TooManyPendingRequestsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,56 @@
+package io.hhplus.tdd.expiration;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.List;
+
+/**
+ * 기록한 이력을 {@link PointExpirations} 에 알려 사용자의 grant 목록을 갱신합니다.
+ */
+class ExpiringPointHistoryStore implements PointHistoryStore {
+
+    private final PointHistoryStore delegate;
+    private final PointExpirations expirations;
+
+    ExpiringPointHistoryStore(PointHistoryStore delegate, PointExpirations expirations) {
+        this.delegate = delegate;
+        this.expirations = expirations;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = delegate.insert(userId, amount, type, updateMillis);
+        expirations.recorded(pointHistory);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> insertTransfer(long fromUserId, long toUserId, long amount, long updateMillis) {
+        List<PointHistory> pair = delegate.insertTransfer(fromUserId, toUserId, amount, updateMillis);
+        pair.forEach(expirations::recorded);
+        return pair;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return delegate.selectAllByUserId(userId);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserIdBetween(long userId, long fromMillis, long toMillis) {
+        return delegate.selectAllByUserIdBetween(userId, fromMillis, toMillis);
+    }
+
+    @Override
+    public List<PointHistory> selectPage(long userId, PointHistoryQuery query) {
+        return delegate.selectPage(userId, query);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,258 @@
+package io.hhplus.tdd.expiration;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.point.PointHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 충전한 포인트 중 쓰지 않은 만큼을 충전 시각으로부터 period 가 지나면 만료시킵니다.
+ *
+ * 충전 이력이 기록되면 그 충전(grant)을 사용자의 grant 목록 끝과 타이밍 휠에 넣고, 사용/만료 이력이 기록되면 가장 오래된 grant 부터 차감합니다.
+ * 별도의 쓰레드가 tick 마다 휠을 진행해 만료된 grant 를 차감 대상(claimed)으로 표시한 뒤, 사용자마다 한 번씩 expirer 로 차감을 요청합니다.
+ * 차감할 포인트는 tick 이 아니라 그 사용자의 다른 요청과 같은 순서로 차감할 때 차감 대상 grant 의 남은 포인트(expirable)로 정하므로,
+ * 그 사이 반영된 사용이 쓴 포인트는 다시 차감하지 않습니다.
+ * 차감은 다른 요청과 같은 경로로 반영되어 만료 이력으로 기록되며, 그때 grant 목록에서도 빠집니다.
+ * grant 는 휠과 사용자 목록 모두에서 직접 이어지므로 대기 중인 만료 하나는 객체 하나이며, 등록과 만료는 grant 하나당 O(1) 입니다.
+ * 목록은 메모리에만 있으므로 재시작 이전에 충전된 포인트는 만료되지 않습니다.
+ */
+public class PointExpirations implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PointExpirations.class);
+
+    private final long periodMillis;
+    private final long tickMillis;
+    private final Expirer expirer;
+    private final Map<Long, Grants> grants = new ConcurrentHashMap<>();
+    /** 기록한 쓰레드에서 휠 쓰레드로 넘길 grant */
+    private final Queue<Grant> registered = new ConcurrentLinkedQueue<>();
+    /** 차감하지 못해 다음 tick 에 다시 요청할 사용자 */
+    private final Set<Long> retries = ConcurrentHashMap.newKeySet();
+    private final TimingWheel<Grant> wheel;
+    private final AtomicLong pending = new AtomicLong();
+    private ScheduledExecutorService ticker;
+
+    public PointExpirations(Duration period, Duration tick, Expirer expirer) {
+        this.periodMillis = period.toMillis();
+        this.tickMillis = tick.toMillis();
+        this.expirer = expirer;
+        this.wheel = new TimingWheel<>(tickMillis, System.currentTimeMillis());
+    }
+
+    /**
+     * tick 마다 휠을 진행하는 쓰레드를 시작합니다.
+     */
+    public void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-expiration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(() -> {
+            try {
+                advance(System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                log.warn("failed to expire points", e);
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 이력 저장소에 기록되는 거래로 grant 목록을 유지하도록 감쌉니다.
+     * 같은 사용자의 거래가 잔고에 반영되는 순서대로 기록되는 위치(엔진 바로 아래)에 두어야 합니다.
+     */
+    public PointHistoryStore track(PointHistoryStore pointHistoryStore) {
+        return new ExpiringPointHistoryStore(pointHistoryStore, this);
+    }
+
+    void recorded(PointHistory pointHistory) {
+        switch (pointHistory.type()) {
+            case CHARGE -> grant(pointHistory.userId(), pointHistory.amount(), pointHistory.updateMillis());
+            case USE, EXPIRE -> consume(pointHistory.userId(), pointHistory.amount());
+        }
+    }
+
+    private void grant(long userId, long amount, long updateMillis) {
+        if (amount <= 0) return;
+        Grant grant = new Grant(userId, amount, updateMillis + periodMillis);
+        grants.compute(userId, (id, list) -> {
+            Grants retained = list == null ? new Grants() : list;
+            retained.add(grant);
+            return retained;
+        });
+        pending.incrementAndGet();
+        registered.offer(grant);
+    }
+
+    private void consume(long userId, long amount) {
+        grants.computeIfPresent(userId, (id, list) -> {
+            list.consume(amount);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    /**
+     * nowMillis 까지 휠을 진행하고 만료된 포인트의 차감을 요청합니다. 휠 쓰레드에서만 호출합니다.
+     */
+    void advance(long nowMillis) {
+        for (Grant grant; (grant = registered.poll()) != null; ) wheel.add(grant);
+
+        Set<Long> due = new LinkedHashSet<>();
+        retries.forEach(userId -> {
+            if (retries.remove(userId)) due.add(userId);
+        });
+        wheel.advance(nowMillis, grant -> {
+            pending.decrementAndGet();
+            if (claim(grant) > 0) due.add(grant.userId);
+        });
+
+        due.forEach(this::expire);
+    }
+
+    /**
+     * grant 와 그보다 먼저 만료되는 grant 중 아직 차감을 요청하지 않은 grant 의 남은 포인트 합을 돌려줍니다.
+     * 이미 다 사용했거나 앞서 함께 요청한 grant 는 0 입니다.
+     */
+    private long claim(Grant grant) {
+        long[] claimed = new long[1];
+        grants.computeIfPresent(grant.userId, (id, list) -> {
+            claimed[0] = list.claimUntil(grant.deadlineMillis);
+            return list;
+        });
+        return claimed[0];
+    }
+
+    private void expire(long userId) {
+        CompletableFuture<?> expired;
+        try {
+            expired = expirer.expire(userId, () -> expirable(userId));
+        } catch (RuntimeException e) {
+            expired = CompletableFuture.failedFuture(e);
+        }
+        expired.whenComplete((result, error) -> {
+            if (error == null) return;
+            log.warn("failed to expire points, retrying on the next tick. - userId: {}", userId, error);
+            retries.add(userId);
+        });
+    }
+
+    /**
+     * 차감 대상으로 표시한 grant 의 남은 포인트 합 - 그 사이 사용으로 줄어든 만큼은 빠져 있습니다.
+     */
+    long expirable(long userId) {
+        long[] remaining = new long[1];
+        grants.computeIfPresent(userId, (id, list) -> {
+            remaining[0] = list.claimedRemaining();
+            return list;
+        });
+        return remaining[0];
+    }
+
+    /**
+     * 휠에 남아 있는 grant 수 (이미 다 사용한 grant 포함)
+     */
+    public long pending() {
+        return pending.get();
+    }
+
+    /**
+     * 만료 예정 포인트가 남아 있는 사용자 수
+     */
+    public int size() {
+        return grants.size();
+    }
+
+    @Override
+    public void close() {
+        if (ticker != null) ticker.shutdownNow();
+    }
+
+    /**
+     * 만료된 포인트를 사용자의 잔고에서 차감합니다.
+     * expirable 은 그 사용자의 다른 요청과 같은 순서 안에서, 차감하기 직전에 읽어야 합니다.
+     */
+    @FunctionalInterface
+    public interface Expirer {
+        CompletableFuture<?> expire(long userId, LongSupplier expirable);
+    }
+
+    /**
+     * 충전 한 건 - remaining 은 사용자의 grant 목록을 갱신하는 맵의 compute 안에서만 읽고 씁니다.
+     */
+    static final class Grant extends TimingWheel.Timeout {
+        private final long userId;
+        private long remaining;
+        private boolean claimed;
+        private Grant newer;
+
+        private Grant(long userId, long amount, long deadlineMillis) {
+            super(deadlineMillis);
+            this.userId = userId;
+            this.remaining = amount;
+        }
+    }
+
+    /**
+     * 사용자의 grant 목록 - 충전 순서(오래된 것이 head)로 이어집니다.
+     */
+    private static final class Grants {
+        private Grant head;
+        private Grant tail;
+
+        void add(Grant grant) {
+            if (tail == null) head = grant;
+            else tail.newer = grant;
+            tail = grant;
+        }
+
+        void consume(long amount) {
+            while (amount > 0 && head != null) {
+                long used = Math.min(head.remaining, amount);
+                head.remaining -= used;
+                amount -= used;
+                if (head.remaining == 0) pop();
+            }
+        }
+
+        long claimUntil(long deadlineMillis) {
+            long claimed = 0;
+            for (Grant grant = head; grant != null && grant.deadlineMillis <= deadlineMillis; grant = grant.newer) {
+                if (grant.claimed) continue;
+                grant.claimed = true;
+                claimed += grant.remaining;
+            }
+            return claimed;
+        }
+
+        long claimedRemaining() {
+            long remaining = 0;
+            for (Grant grant = head; grant != null && grant.claimed; grant = grant.newer) remaining += grant.remaining;
+            return remaining;
+        }
+
+        private void pop() {
+            Grant next = head.newer;
+            head.newer = null;
+            head = next;
+            if (head == null) tail = null;
+        }
+
+        boolean isEmpty() {
+            return head == null;
+        }
+    }
+}
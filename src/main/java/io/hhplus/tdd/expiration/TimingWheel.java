@@ -0,0 +1,108 @@
+package io.hhplus.tdd.expiration;
+
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이밍 휠 - 시각이 정해진 항목을 칸에 넣어 두고, 시간을 진행하면 그 시각이 지난 항목을 꺼냅니다.
+ *
+ * 단계마다 SLOTS 개의 칸이 있으며 0 단계의 한 칸은 tick 하나, n 단계의 한 칸은 n-1 단계의 한 바퀴입니다.
+ * 먼 시각의 항목은 높은 단계에 두었다가 그 칸의 차례가 오면 낮은 단계로 내려 보내므로(cascade)
+ * 등록과 만료는 항목 하나당 O(1) 이며, 항목끼리 직접 이어지므로 칸 배열 외에는 항목 수만큼의 메모리만 사용합니다.
+ * 가장 높은 단계보다 먼 항목은 그 단계의 마지막 칸에 두었다가 내려올 때 다시 넣습니다.
+ * 한 쓰레드에서만 사용해야 합니다.
+ */
+class TimingWheel<T extends TimingWheel.Timeout> {
+
+    private static final int SLOT_BITS = 8;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    /** 휠 전체가 담을 수 있는 tick 수 */
+    private static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final Timeout[][] slots = new Timeout[LEVELS][SLOTS];
+    /** 다음에 처리할 tick */
+    private long currentTick;
+
+    TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("tickMillis must be positive.");
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * 항목을 넣습니다. 이미 지난 시각의 항목은 다음 진행 때 꺼냅니다.
+     */
+    void add(T timeout) {
+        // 시각이 속한 tick 이 끝나야 꺼내므로 시각보다 먼저 꺼내지 않는다.
+        timeout.tick = Math.floorDiv(timeout.deadlineMillis + tickMillis - 1, tickMillis);
+        place(timeout);
+    }
+
+    private void place(Timeout timeout) {
+        long tick = Math.max(timeout.tick, currentTick);
+        long delta = tick - currentTick;
+        if (delta >= SPAN) {
+            tick = currentTick + SPAN - 1;
+            delta = SPAN - 1;
+        }
+
+        int level = 0;
+        while (delta >= 1L << (SLOT_BITS * (level + 1))) level++;
+        int slot = (int) (tick >>> (SLOT_BITS * level)) & MASK;
+        timeout.next = slots[level][slot];
+        slots[level][slot] = timeout;
+    }
+
+    /**
+     * nowMillis 까지 tick 을 하나씩 진행하며 시각이 지난 항목을 expired 에 넘깁니다.
+     */
+    @SuppressWarnings("unchecked")
+    void advance(long nowMillis, Consumer<? super T> expired) {
+        long target = nowMillis / tickMillis;
+        while (currentTick <= target) {
+            int slot = (int) currentTick & MASK;
+            if (slot == 0) cascade(1);
+
+            Timeout timeout = slots[0][slot];
+            slots[0][slot] = null;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                timeout.next = null;
+                expired.accept((T) timeout);
+                timeout = next;
+            }
+            currentTick++;
+        }
+    }
+
+    /**
+     * level 단계에서 현재 tick 이 속한 칸의 항목을 낮은 단계로 내려 보냅니다. 위 단계도 한 바퀴를 돌았으면 먼저 내려 보냅니다.
+     */
+    private void cascade(int level) {
+        int slot = (int) (currentTick >>> (SLOT_BITS * level)) & MASK;
+        if (slot == 0 && level + 1 < LEVELS) cascade(level + 1);
+
+        Timeout timeout = slots[level][slot];
+        slots[level][slot] = null;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    /**
+     * 휠에 넣는 항목 - 같은 칸의 다음 항목을 직접 가리킵니다.
+     */
+    abstract static class Timeout {
+        final long deadlineMillis;
+        long tick;
+        Timeout next;
+
+        Timeout(long deadlineMillis) {
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package io.hhplus.tdd.lock;
+
+import java.time.Duration;
+
+/**
+ * 요청이 처리되어야 하는 시한 - {@link #NONE} 은 시한 없이 기다립니다.
+ */
+public record Deadline(long expireAtNanos) {
+
+    public static final Deadline NONE = new Deadline(Long.MAX_VALUE);
+
+    /**
+     * 지금부터 timeout 이후가 시한입니다. timeout 이 0 이하이면 {@link #NONE}
+     */
+    public static Deadline after(Duration timeout) {
+        if (timeout.isZero() || timeout.isNegative()) return NONE;
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    public boolean isNone() {
+        return expireAtNanos == Long.MAX_VALUE;
+    }
+
+    public long remainingNanos() {
+        return isNone() ? Long.MAX_VALUE : Math.max(0, expireAtNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return !isNone() && expireAtNanos - System.nanoTime() <= 0;
+    }
+}
@@ -0,0 +1,88 @@
+package io.hhplus.tdd.lock;
+
+import io.hhplus.tdd.exception.DeadlineExceededException;
+import io.hhplus.tdd.exception.TooManyPendingRequestsException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자별 Lock 을 참조 횟수로 관리합니다.
+ * Lock 을 기다리거나 보유한 요청이 모두 반납하면 맵에서 제거되므로 활성 사용자 수만큼만 메모리를 사용합니다.
+ * 참조 횟수가 곧 사용자별 대기열의 길이이므로 maxWaiters 를 넘는 요청은 기다리지 않고 거절합니다.
+ */
+public class RefCountedUserLockProvider implements UserLockProvider {
+
+    private final Map<Long, Entry> locks = new ConcurrentHashMap<>();
+    private final int maxWaiters;
+
+    public RefCountedUserLockProvider() {
+        this(0);
+    }
+
+    /**
+     * @param maxWaiters 사용자별로 Lock 을 보유하거나 기다릴 수 있는 최대 요청 수 (0 이면 제한 없음)
+     */
+    public RefCountedUserLockProvider(int maxWaiters) {
+        this.maxWaiters = maxWaiters;
+    }
+
+    @Override
+    public UserLock acquire(long userId, Deadline deadline) {
+        Entry entry = locks.compute(userId, (id, current) -> {
+            Entry retained = current == null ? new Entry() : current;
+            if (maxWaiters > 0 && retained.holders >= maxWaiters)
+                throw new TooManyPendingRequestsException(String.format("too many pending requests for user. - userId: %d", userId));
+            retained.holders++;
+            return retained;
+        });
+
+        try {
+            if (!tryLock(entry.lock, deadline))
+                throw new DeadlineExceededException(String.format("could not acquire user lock before the deadline. - userId: %d", userId));
+        } catch (RuntimeException e) {
+            release(userId);
+            throw e;
+        }
+
+        return () -> {
+            entry.lock.unlock();
+            release(userId);
+        };
+    }
+
+    private void release(long userId) {
+        locks.computeIfPresent(userId, (id, current) -> --current.holders == 0 ? null : current);
+    }
+
+    /**
+     * 시한이 없으면 획득할 때까지 기다리고, 있으면 남은 시간만큼만 기다립니다.
+     */
+    static boolean tryLock(ReentrantLock lock, Deadline deadline) {
+        if (deadline.isNone()) {
+            lock.lock();
+            return true;
+        }
+        try {
+            return lock.tryLock(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public int size() {
+        return locks.size();
+    }
+
+    /**
+     * holders 는 맵의 compute 내부에서만 변경됩니다.
+     */
+    private static class Entry {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int holders;
+    }
+}
@@ -0,0 +1,66 @@
+package io.hhplus.tdd.lock;
+
+import io.hhplus.tdd.exception.DeadlineExceededException;
+import io.hhplus.tdd.exception.TooManyPendingRequestsException;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 고정 크기의 Lock 테이블 - 사용자 Id 의 해시로 Lock 을 선택합니다.
+ * 사용자 수와 관계없이 메모리 사용량이 일정하지만, 같은 stripe 에 속한 서로 다른 사용자는 함께 대기합니다.
+ * 대기열의 길이는 stripe 단위로만 알 수 있으므로 maxWaiters 는 같은 stripe 의 사용자 모두에게 함께 적용됩니다.
+ */
+public class StripedUserLockProvider implements UserLockProvider {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final int maxWaiters;
+
+    public StripedUserLockProvider(int stripeCount) {
+        this(stripeCount, 0);
+    }
+
+    /**
+     * @param stripeCount stripe 개수 (2의 거듭제곱으로 올림)
+     * @param maxWaiters stripe 마다 Lock 을 기다릴 수 있는 최대 요청 수 (0 이면 제한 없음)
+     */
+    public StripedUserLockProvider(int stripeCount, int maxWaiters) {
+        if (stripeCount <= 0) throw new IllegalArgumentException("stripeCount must be positive.");
+
+        int size = Integer.highestOneBit(stripeCount);
+        if (size < stripeCount) size <<= 1;
+
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+        this.maxWaiters = maxWaiters;
+        for (int i = 0; i < size; i++) stripes[i] = new ReentrantLock();
+    }
+
+    @Override
+    public UserLock acquire(long userId, Deadline deadline) {
+        ReentrantLock lock = stripes[indexOf(userId)];
+        if (maxWaiters > 0 && lock.getQueueLength() >= maxWaiters)
+            throw new TooManyPendingRequestsException(String.format("too many pending requests for user. - userId: %d", userId));
+        if (!RefCountedUserLockProvider.tryLock(lock, deadline))
+            throw new DeadlineExceededException(String.format("could not acquire user lock before the deadline. - userId: %d", userId));
+        return lock::unlock;
+    }
+
+    /**
+     * 같은 stripe 의 사용자는 같은 Lock 이므로 stripe 순번으로 순서를 정합니다.
+     */
+    @Override
+    public long lockKeyOf(long userId) {
+        return indexOf(userId);
+    }
+
+    @Override
+    public int size() {
+        return stripes.length;
+    }
+
+    int indexOf(long userId) {
+        int hash = Long.hashCode(userId);
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
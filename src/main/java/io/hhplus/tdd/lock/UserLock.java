@@ -0,0 +1,16 @@
+package io.hhplus.tdd.lock;
+
+/**
+ * 획득한 사용자 Lock - close() 호출 시 Lock 을 반납합니다.
+ * <pre>
+ * try (UserLock ignored = lockProvider.acquire(userId)) {
+ *     // access to the user's point
+ * }
+ * </pre>
+ */
+@FunctionalInterface
+public interface UserLock extends AutoCloseable {
+
+    @Override
+    void close();
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.lock;
+
+/**
+ * 사용자별 Lock 을 제공합니다.
+ * 동일 사용자에 대한 요청은 반드시 같은 Lock 으로 직렬화되어야 합니다.
+ */
+public interface UserLockProvider {
+
+    /**
+     * 사용자 Lock 을 획득할 때까지 대기합니다.
+     */
+    default UserLock acquire(long userId) {
+        return acquire(userId, Deadline.NONE);
+    }
+
+    /**
+     * 시한까지 사용자 Lock 획득을 기다립니다.
+     *
+     * @throws io.hhplus.tdd.exception.DeadlineExceededException 시한 안에 획득하지 못한 경우
+     * @throws io.hhplus.tdd.exception.TooManyPendingRequestsException 대기 중인 요청이 너무 많은 경우
+     */
+    UserLock acquire(long userId, Deadline deadline);
+
+    /**
+     * 두 사용자의 Lock 을 모두 획득합니다. 항상 {@link #lockKeyOf} 가 작은 쪽부터 획득하므로
+     * 서로 반대 방향으로 두 Lock 을 요청하는 쓰레드끼리 교착 상태에 빠지지 않습니다.
+     * 두 사용자가 같은 Lock 을 쓰면 한 번만 획득하며, 두 번째 Lock 을 획득하지 못하면 먼저 획득한 Lock 을 반납하고 예외를 던집니다.
+     */
+    default UserLock acquireBoth(long userId, long otherUserId, Deadline deadline) {
+        long key = lockKeyOf(userId);
+        long otherKey = lockKeyOf(otherUserId);
+        if (key == otherKey) return acquire(userId, deadline);
+
+        UserLock first = acquire(key < otherKey ? userId : otherUserId, deadline);
+        UserLock second;
+        try {
+            second = acquire(key < otherKey ? otherUserId : userId, deadline);
+        } catch (RuntimeException e) {
+            first.close();
+            throw e;
+        }
+        return () -> {
+            second.close();
+            first.close();
+        };
+    }
+
+    /**
+     * Lock 을 획득하는 순서를 정하는 값 - 같은 Lock 을 쓰는 사용자는 같은 값을 가져야 합니다.
+     */
+    default long lockKeyOf(long userId) {
+        return userId;
+    }
+
+    /**
+     * 현재 관리 중인 Lock 의 개수
+     */
+    int size();
+}
@@ -0,0 +1,114 @@
+package io.hhplus.tdd.lock;
+
+import io.hhplus.tdd.exception.DeadlineExceededException;
+import io.hhplus.tdd.exception.TooManyPendingRequestsException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별로 작업을 하나씩 순서대로 실행하는 비동기 대기열
+ *
+ * 같은 사용자의 작업은 앞선 작업이 끝난 뒤에야 executor 에 제출되므로, 대기 중인 작업은 쓰레드를 점유하지 않고
+ * 앞선 작업의 완료 콜백(continuation)으로만 남아있습니다. 사용자마다 실행 중인 작업은 최대 하나입니다.
+ * 마지막 작업이 끝나면 맵에서 제거되므로 대기 중인 사용자 수만큼만 메모리를 사용합니다.
+ * 사용자별 대기 작업이 maxPending 을 넘으면 즉시 거절하고, 차례가 왔을 때 시한이 지난 작업은 실행하지 않습니다.
+ */
+public class UserTaskQueue {
+
+    private final Map<Long, Chain> chains = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final int maxPending;
+
+    public UserTaskQueue(Executor executor) {
+        this(executor, 0);
+    }
+
+    /**
+     * @param maxPending 사용자별로 실행 중이거나 대기할 수 있는 최대 작업 수 (0 이면 제한 없음)
+     */
+    public UserTaskQueue(Executor executor, int maxPending) {
+        this.executor = executor;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * 해당 사용자의 앞선 작업이 모두 끝난 뒤 task 를 실행하고 그 결과로 완료되는 Future 를 돌려줍니다.
+     */
+    public <T> CompletableFuture<T> submit(long userId, Supplier<T> task) {
+        return submit(userId, Deadline.NONE, task);
+    }
+
+    /**
+     * 시한이 지나도록 차례가 오지 않으면 {@link DeadlineExceededException}, 대기 작업이 너무 많으면
+     * {@link TooManyPendingRequestsException} 으로 완료됩니다.
+     */
+    public <T> CompletableFuture<T> submit(long userId, Deadline deadline, Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture<?>[] previous = new CompletableFuture<?>[1];
+        try {
+            chains.compute(userId, (id, chain) -> {
+                Chain retained = chain == null ? new Chain() : chain;
+                if (maxPending > 0 && retained.pending >= maxPending)
+                    throw new TooManyPendingRequestsException(String.format("too many pending requests for user. - userId: %d", userId));
+                previous[0] = retained.tail;
+                retained.tail = done;
+                retained.pending++;
+                return retained;
+            });
+        } catch (TooManyPendingRequestsException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        Runnable release = () -> {
+            chains.computeIfPresent(userId, (id, chain) -> --chain.pending == 0 ? null : chain);
+            done.complete(null);
+        };
+        Runnable run = () -> {
+            try {
+                if (deadline.isExpired())
+                    throw new DeadlineExceededException(String.format("request expired while waiting for its turn. - userId: %d", userId));
+                result.complete(task.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                release.run();
+            }
+        };
+
+        if (previous[0] == null) execute(run, release, result);
+        else previous[0].whenComplete((ignored, error) -> execute(run, release, result));
+        return result;
+    }
+
+    /**
+     * executor 가 작업을 받지 않으면 해당 작업을 실패시키고 다음 작업이 진행될 수 있도록 합니다.
+     */
+    private void execute(Runnable run, Runnable release, CompletableFuture<?> result) {
+        try {
+            executor.execute(run);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            release.run();
+        }
+    }
+
+    /**
+     * 작업이 실행 중이거나 대기 중인 사용자 수
+     */
+    public int size() {
+        return chains.size();
+    }
+
+    /**
+     * tail, pending 은 맵의 compute 내부에서만 변경됩니다.
+     */
+    private static class Chain {
+        private CompletableFuture<Void> tail;
+        private int pending;
+    }
+}
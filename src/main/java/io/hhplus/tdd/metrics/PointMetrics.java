@@ -0,0 +1,176 @@
+package io.hhplus.tdd.metrics;
+
+import io.hhplus.tdd.database.AsyncPointHistoryStore;
+import io.hhplus.tdd.database.CachingPointStore;
+import io.hhplus.tdd.database.JournalPointStorage;
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.PointStore;
+import io.hhplus.tdd.database.VersionedPointStore;
+import io.hhplus.tdd.exception.DeadlineExceededException;
+import io.hhplus.tdd.exception.MinusPointException;
+import io.hhplus.tdd.exception.OutOfMaximumPointException;
+import io.hhplus.tdd.exception.TooManyPendingRequestsException;
+import io.hhplus.tdd.expiration.PointExpirations;
+import io.hhplus.tdd.lock.UserLockProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 포인트 처리 지표
+ *
+ * - point.operation : 요청 단위 처리 시간 (operation, outcome 태그)
+ * - point.store / point.history.store : 잔고/이력 저장소 단계별 처리 시간 (phase 태그)
+ * - point.history.dropped : 비동기 이력 기록(FIRE_AND_FORGET)에서 기록하지 못하고 버린 이력 수
+ * - point.snapshot.failures : journal 저장소의 주기적인 잔고 스냅샷에 실패한 횟수
+ * - point.store.conflicts : 버전 비교 기록(OPTIMISTIC)이 다른 요청과 충돌한 횟수
+ * - point.lock.wait : 사용자 Lock 획득까지 대기한 시간
+ * - point.lock.waiting / point.lock.registry.size : Lock 대기 중인 요청 수 / 관리 중인 Lock 수
+ * - point.rejections : 정책 위반이나 과부하로 거절된 요청 수 (reason 태그)
+ * - point.expiration.pending / point.expiration.users : 만료를 기다리는 충전 수 / 만료 예정 포인트가 남은 사용자 수
+ * 모든 Meter 는 생성 시 한 번만 등록하므로 요청마다 조회 비용이 없습니다.
+ */
+public class PointMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<Operation, Map<Outcome, Timer>> operationTimers = new EnumMap<>(Operation.class);
+    private final Counter minusPointRejections;
+    private final Counter maximumPointRejections;
+    private final Counter deadlineRejections;
+    private final Counter tooManyPendingRejections;
+
+    public PointMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Operation operation : Operation.values()) {
+            Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                timers.put(outcome, Timer.builder("point.operation")
+                        .tag("operation", operation.tag)
+                        .tag("outcome", outcome.tag)
+                        .register(registry));
+            }
+            operationTimers.put(operation, timers);
+        }
+        this.minusPointRejections = Counter.builder("point.rejections").tag("reason", "minus_point").register(registry);
+        this.maximumPointRejections = Counter.builder("point.rejections").tag("reason", "out_of_maximum").register(registry);
+        this.deadlineRejections = Counter.builder("point.rejections").tag("reason", "deadline_exceeded").register(registry);
+        this.tooManyPendingRejections = Counter.builder("point.rejections").tag("reason", "too_many_pending").register(registry);
+    }
+
+    /**
+     * 요청 처리 시간을 결과(성공/거절/오류)별로 기록합니다.
+     */
+    public <T> T record(Operation operation, Supplier<T> supplier) {
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            T result = supplier.get();
+            outcome = Outcome.SUCCESS;
+            return result;
+        } catch (RuntimeException e) {
+            outcome = reject(e);
+            throw e;
+        } finally {
+            operationTimers.get(operation).get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 비동기 요청의 처리 시간을 Future 가 완료될 때까지 결과별로 기록합니다.
+     */
+    public <T> CompletableFuture<T> recordAsync(Operation operation, Supplier<CompletableFuture<T>> supplier) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = supplier.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            Outcome outcome = cause == null ? Outcome.SUCCESS : reject(cause);
+            operationTimers.get(operation).get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    /**
+     * 정책 위반이나 과부하로 거절된 요청은 사유별로 세고 REJECTED, 그 외의 오류는 ERROR 로 분류합니다.
+     */
+    private Outcome reject(Throwable error) {
+        Counter rejections;
+        if (error instanceof MinusPointException) rejections = minusPointRejections;
+        else if (error instanceof OutOfMaximumPointException) rejections = maximumPointRejections;
+        else if (error instanceof DeadlineExceededException) rejections = deadlineRejections;
+        else if (error instanceof TooManyPendingRequestsException) rejections = tooManyPendingRejections;
+        else return Outcome.ERROR;
+
+        rejections.increment();
+        return Outcome.REJECTED;
+    }
+
+    public PointStore instrument(PointStore pointStore) {
+        if (pointStore instanceof CachingPointStore cachingPointStore) bindCache(cachingPointStore);
+        if (pointStore instanceof VersionedPointStore versionedPointStore) return new TimedVersionedPointStore(versionedPointStore, registry);
+        return new TimedPointStore(pointStore, registry);
+    }
+
+    public PointHistoryStore instrument(PointHistoryStore pointHistoryStore) {
+        return new TimedPointHistoryStore(pointHistoryStore, registry);
+    }
+
+    public UserLockProvider instrument(UserLockProvider lockProvider) {
+        TimedUserLockProvider timedLockProvider = new TimedUserLockProvider(lockProvider, registry);
+        Gauge.builder("point.lock.waiting", timedLockProvider, TimedUserLockProvider::waiting).register(registry);
+        Gauge.builder("point.lock.registry.size", lockProvider, UserLockProvider::size).register(registry);
+        return timedLockProvider;
+    }
+
+    public void bind(AsyncPointHistoryStore asyncPointHistoryStore) {
+        FunctionCounter.builder("point.history.dropped", asyncPointHistoryStore, AsyncPointHistoryStore::dropped).register(registry);
+    }
+
+    public void bind(JournalPointStorage journalPointStorage) {
+        FunctionCounter.builder("point.snapshot.failures", journalPointStorage, JournalPointStorage::snapshotFailures).register(registry);
+    }
+
+    public void bind(PointExpirations expirations) {
+        Gauge.builder("point.expiration.pending", expirations, PointExpirations::pending).register(registry);
+        Gauge.builder("point.expiration.users", expirations, PointExpirations::size).register(registry);
+    }
+
+    private void bindCache(CachingPointStore cachingPointStore) {
+        FunctionCounter.builder("point.cache.requests", cachingPointStore, store -> store.stats().hits()).tag("result", "hit").register(registry);
+        FunctionCounter.builder("point.cache.requests", cachingPointStore, store -> store.stats().misses()).tag("result", "miss").register(registry);
+        FunctionCounter.builder("point.cache.evictions", cachingPointStore, store -> store.stats().evictions()).register(registry);
+        Gauge.builder("point.cache.size", cachingPointStore, store -> store.stats().size()).register(registry);
+    }
+
+    public enum Operation {
+        CHARGE("charge"), USE("use"), GET_POINT("get_point"), GET_HISTORY("get_history"), GET_SUMMARY("get_summary"), TRANSFER("transfer"), EXPIRE("expire");
+
+        private final String tag;
+
+        Operation(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private enum Outcome {
+        SUCCESS("success"), REJECTED("rejected"), ERROR("error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+}
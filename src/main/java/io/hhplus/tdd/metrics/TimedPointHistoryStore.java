@@ -0,0 +1,56 @@
+package io.hhplus.tdd.metrics;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+
+/**
+ * 이력 저장소의 기록/조회 시간을 기록합니다.
+ */
+class TimedPointHistoryStore implements PointHistoryStore {
+
+    private final PointHistoryStore delegate;
+    private final Timer insertTimer;
+    private final Timer selectTimer;
+
+    TimedPointHistoryStore(PointHistoryStore delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.insertTimer = Timer.builder("point.history.store").tag("phase", "insert").register(registry);
+        this.selectTimer = Timer.builder("point.history.store").tag("phase", "select").register(registry);
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return insertTimer.record(() -> delegate.insert(userId, amount, type, updateMillis));
+    }
+
+    @Override
+    public List<PointHistory> insertTransfer(long fromUserId, long toUserId, long amount, long updateMillis) {
+        return insertTimer.record(() -> delegate.insertTransfer(fromUserId, toUserId, amount, updateMillis));
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return selectTimer.record(() -> delegate.selectAllByUserId(userId));
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserIdBetween(long userId, long fromMillis, long toMillis) {
+        return selectTimer.record(() -> delegate.selectAllByUserIdBetween(userId, fromMillis, toMillis));
+    }
+
+    @Override
+    public List<PointHistory> selectPage(long userId, PointHistoryQuery query) {
+        return selectTimer.record(() -> delegate.selectPage(userId, query));
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
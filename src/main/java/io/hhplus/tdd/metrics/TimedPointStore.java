@@ -0,0 +1,32 @@
+package io.hhplus.tdd.metrics;
+
+import io.hhplus.tdd.database.PointStore;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 잔고 저장소의 조회/기록 시간을 기록합니다.
+ */
+class TimedPointStore implements PointStore {
+
+    private final PointStore delegate;
+    private final Timer selectTimer;
+    private final Timer insertOrUpdateTimer;
+
+    TimedPointStore(PointStore delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.selectTimer = Timer.builder("point.store").tag("phase", "select").register(registry);
+        this.insertOrUpdateTimer = Timer.builder("point.store").tag("phase", "insert_or_update").register(registry);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        return selectTimer.record(() -> delegate.selectById(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return insertOrUpdateTimer.record(() -> delegate.insertOrUpdate(id, amount));
+    }
+}
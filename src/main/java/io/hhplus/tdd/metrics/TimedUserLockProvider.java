@@ -0,0 +1,51 @@
+package io.hhplus.tdd.metrics;
+
+import io.hhplus.tdd.lock.Deadline;
+import io.hhplus.tdd.lock.UserLock;
+import io.hhplus.tdd.lock.UserLockProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 사용자 Lock 획득까지 대기한 시간과 현재 대기 중인 요청 수를 기록합니다.
+ */
+class TimedUserLockProvider implements UserLockProvider {
+
+    private final UserLockProvider delegate;
+    private final Timer waitTimer;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    TimedUserLockProvider(UserLockProvider delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.waitTimer = Timer.builder("point.lock.wait").register(registry);
+    }
+
+    @Override
+    public UserLock acquire(long userId, Deadline deadline) {
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        try {
+            return delegate.acquire(userId, deadline);
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public long lockKeyOf(long userId) {
+        return delegate.lockKeyOf(userId);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    int waiting() {
+        return waiting.get();
+    }
+}
@@ -0,0 +1,33 @@
+package io.hhplus.tdd.metrics;
+
+import io.hhplus.tdd.database.VersionedPointStore;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Optional;
+
+/**
+ * 버전 비교 기록의 처리 시간과 충돌 횟수를 함께 기록합니다.
+ */
+class TimedVersionedPointStore extends TimedPointStore implements VersionedPointStore {
+
+    private final VersionedPointStore delegate;
+    private final Timer compareAndSetTimer;
+    private final Counter conflicts;
+
+    TimedVersionedPointStore(VersionedPointStore delegate, MeterRegistry registry) {
+        super(delegate, registry);
+        this.delegate = delegate;
+        this.compareAndSetTimer = Timer.builder("point.store").tag("phase", "compare_and_set").register(registry);
+        this.conflicts = Counter.builder("point.store.conflicts").register(registry);
+    }
+
+    @Override
+    public Optional<UserPoint> compareAndSet(long id, long expectedVersion, long amount) {
+        Optional<UserPoint> saved = compareAndSetTimer.record(() -> delegate.compareAndSet(id, expectedVersion, amount));
+        if (saved.isEmpty()) conflicts.increment();
+        return saved;
+    }
+}
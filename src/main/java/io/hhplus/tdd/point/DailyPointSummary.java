@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point;
+
+import java.time.LocalDate;
+
+/**
+ * 하루 동안의 포인트 충전/사용/만료 합계와 건수
+ */
+public record DailyPointSummary(
+        LocalDate date,
+        long charged,
+        long used,
+        long chargeCount,
+        long useCount,
+        long expired,
+        long expireCount
+) {
+}
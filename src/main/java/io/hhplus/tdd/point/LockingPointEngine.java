@@ -0,0 +1,86 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.PointStore;
+import io.hhplus.tdd.lock.Deadline;
+import io.hhplus.tdd.lock.UserLock;
+import io.hhplus.tdd.lock.UserLockProvider;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static java.lang.System.currentTimeMillis;
+
+/**
+ * 기본 처리 방식 - 사용자 Lock 을 획득한 상태에서 잔고 조회, 갱신, 이력 기록을 순서대로 수행합니다.
+ */
+public class LockingPointEngine implements PointEngine {
+
+    private final UserLockProvider userLocks;
+    private final PointStore pointStore;
+    private final PointHistoryStore pointHistoryStore;
+
+    public LockingPointEngine(UserLockProvider userLocks, PointStore pointStore, PointHistoryStore pointHistoryStore) {
+        this.userLocks = userLocks;
+        this.pointStore = pointStore;
+        this.pointHistoryStore = pointHistoryStore;
+    }
+
+    @Override
+    public UserPoint execute(PointCommand command) {
+        return execute(command, Deadline.NONE);
+    }
+
+    @Override
+    public UserPoint execute(PointCommand command, Deadline deadline) {
+        long id = command.userId();
+
+        try (UserLock ignored = userLocks.acquire(id, deadline)) {
+            long balance = PointPolicy.apply(pointStore.selectById(id).point(), command.type(), command.amount());
+
+            UserPoint userPoint = pointStore.insertOrUpdate(id, balance);
+            pointHistoryStore.insert(id, command.amount(), command.type(), currentTimeMillis());
+
+            return userPoint;
+        }
+    }
+
+    /**
+     * Lock 을 한 번만 획득하고 잔고도 한 번만 조회/기록합니다.
+     */
+    @Override
+    public List<PointResult> executeAll(long userId, List<PointCommand> commands) {
+        try (UserLock ignored = userLocks.acquire(userId)) {
+            return PointBatch.apply(pointStore, pointHistoryStore, userId, commands);
+        }
+    }
+
+    /**
+     * 두 사용자의 Lock 을 정해진 순서로 획득한 상태에서 반영합니다.
+     */
+    @Override
+    public PointTransferResult transfer(long fromUserId, long toUserId, long amount, Deadline deadline) {
+        try (UserLock ignored = userLocks.acquireBoth(fromUserId, toUserId, deadline)) {
+            return PointTransfer.apply(pointStore, pointHistoryStore, fromUserId, toUserId, amount);
+        }
+    }
+
+    @Override
+    public UserPoint restore(long userId, long point, List<PointHistory> histories) {
+        try (UserLock ignored = userLocks.acquire(userId)) {
+            return PointRestore.apply(pointStore, pointHistoryStore, userId, point, histories);
+        }
+    }
+
+    @Override
+    public UserPoint expire(long userId, LongSupplier expirable) {
+        try (UserLock ignored = userLocks.acquire(userId)) {
+            return PointExpiry.apply(pointStore, pointHistoryStore, userId, expirable);
+        }
+    }
+
+    @Override
+    public UserPoint find(long userId) {
+        return pointStore.selectById(userId);
+    }
+}
@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 여러 쓰레드가 넣고 한 쓰레드만 꺼내는 고정 크기 Lock-free 대기열
+ *
+ * 칸마다 순번(sequence)을 두어, 넣는 쪽은 tail 을 compare-and-set 으로 선점한 뒤 값을 쓰고 순번을 올리며
+ * 꺼내는 쪽은 순번이 올라간 칸만 읽습니다. 가득 차면 offer 가 false 를 돌려줍니다.
+ */
+class MpscRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // 꺼내는 쓰레드만 읽고 쓴다.
+    private long head;
+
+    MpscRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) sequences.set(i, i);
+    }
+
+    boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - position;
+            if (diff < 0) return false;
+            if (diff == 0 && tail.compareAndSet(position, position + 1)) {
+                buffer.lazySet(index, element);
+                sequences.set(index, position + 1);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 꺼낼 값이 없으면 null - 한 쓰레드에서만 호출해야 합니다.
+     */
+    E poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) return null;
+
+        E element = buffer.get(index);
+        buffer.lazySet(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return element;
+    }
+
+    boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+}
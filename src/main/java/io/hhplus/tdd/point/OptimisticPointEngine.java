@@ -0,0 +1,168 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.VersionedPointStore;
+import io.hhplus.tdd.lock.Deadline;
+import io.hhplus.tdd.lock.StripedUserLockProvider;
+import io.hhplus.tdd.lock.UserLock;
+import io.hhplus.tdd.lock.UserLockProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import static java.lang.System.currentTimeMillis;
+
+/**
+ * 낙관적 처리 방식 - 사용자 Lock 없이 잔고와 버전을 읽어 새 잔고를 계산하고, 그 사이 버전이 바뀌지 않았을 때만 기록합니다.
+ *
+ * 버전이 바뀌었으면(다른 요청이 먼저 기록) 다시 읽어 계산하며, maxRetries 번 다시 시도해도 충돌하면
+ * 사용자 Lock 을 얻어 처리하고 그 사용자는 fallback 동안 처음부터 Lock 으로 처리합니다.
+ * 요청이 드문 대부분의 사용자는 Lock 테이블에 들어가지 않으며, 충돌이 잦은 사용자만 Lock 에서 순서대로 처리됩니다.
+ * Lock 으로 처리하는 요청도 버전을 비교해 기록하므로 아직 Lock 없이 처리 중인 요청과 섞여도 잔고가 어긋나지 않습니다.
+ * 버전 비교 기록과 이력 기록은 사용자별 기록 구간(사용자 id 의 해시로 고른 Lock) 안에서 함께 수행하므로 이력은 잔고가 바뀐 순서대로 남습니다.
+ * 기록 구간에서는 계산 없이 기록만 하며, 구간에 들어가기 전에 다른 요청이 기록했다면 버전 비교에 실패해 다시 계산합니다.
+ */
+public class OptimisticPointEngine implements PointEngine {
+
+    private static final int COMMIT_LOCK_STRIPES = 256;
+
+    private final VersionedPointStore pointStore;
+    private final PointHistoryStore pointHistoryStore;
+    private final UserLockProvider userLocks;
+    private final int maxRetries;
+    private final long fallbackNanos;
+    /** 버전 비교 기록과 이력 기록을 함께 수행하는 사용자별 기록 구간 */
+    private final UserLockProvider commitLocks = new StripedUserLockProvider(COMMIT_LOCK_STRIPES);
+
+    /** 충돌이 잦아 Lock 으로 처리 중인 사용자와 Lock 을 사용할 기한(System.nanoTime) */
+    private final Map<Long, Long> contended = new ConcurrentHashMap<>();
+
+    public OptimisticPointEngine(VersionedPointStore pointStore, PointHistoryStore pointHistoryStore, UserLockProvider userLocks,
+                                 int maxRetries, Duration fallback) {
+        if (maxRetries < 0) throw new IllegalArgumentException("maxRetries can not be negative.");
+        this.pointStore = pointStore;
+        this.pointHistoryStore = pointHistoryStore;
+        this.userLocks = userLocks;
+        this.maxRetries = maxRetries;
+        this.fallbackNanos = fallback.toNanos();
+    }
+
+    @Override
+    public UserPoint execute(PointCommand command) {
+        return execute(command, Deadline.NONE);
+    }
+
+    @Override
+    public UserPoint execute(PointCommand command, Deadline deadline) {
+        long id = command.userId();
+        if (isContended(id)) return executeLocked(command, deadline);
+
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            Optional<UserPoint> saved = tryExecute(command);
+            if (saved.isPresent()) return saved.get();
+        }
+        markContended(id);
+        return executeLocked(command, deadline);
+    }
+
+    /**
+     * 사용자를 fallback 동안 Lock 으로 처리하도록 표시합니다.
+     * 다시 요청하지 않는 사용자의 표시가 쌓이지 않도록, 표시할 때 기한이 지난 표시를 함께 지웁니다.
+     */
+    private void markContended(long id) {
+        long now = System.nanoTime();
+        contended.values().removeIf(until -> until - now <= 0);
+        contended.put(id, now + fallbackNanos);
+    }
+
+    private boolean isContended(long id) {
+        Long until = contended.get(id);
+        if (until == null) return false;
+        if (until - System.nanoTime() > 0) return true;
+        contended.remove(id, until);
+        return false;
+    }
+
+    private UserPoint executeLocked(PointCommand command, Deadline deadline) {
+        try (UserLock ignored = userLocks.acquire(command.userId(), deadline)) {
+            while (true) {
+                Optional<UserPoint> saved = tryExecute(command);
+                if (saved.isPresent()) return saved.get();
+            }
+        }
+    }
+
+    /**
+     * 한 번 읽고 계산해 기록을 시도합니다. 정책 위반은 읽은 잔고 기준으로 판단해 바로 예외를 던집니다.
+     */
+    private Optional<UserPoint> tryExecute(PointCommand command) {
+        long id = command.userId();
+        UserPoint current = pointStore.selectById(id);
+        long balance = PointPolicy.apply(current.point(), command.type(), command.amount());
+
+        return commit(id, current.version(), balance,
+                () -> pointHistoryStore.insert(id, command.amount(), command.type(), currentTimeMillis()));
+    }
+
+    /**
+     * 두 사용자의 기록 구간을 정해진 순서로 얻은 상태에서 반영합니다.
+     * 그동안 두 사용자의 다른 요청은 기록할 수 없고, 이체 전에 읽은 버전으로는 기록에 실패해 다시 계산하므로 이체와 섞이지 않습니다.
+     */
+    @Override
+    public PointTransferResult transfer(long fromUserId, long toUserId, long amount, Deadline deadline) {
+        try (UserLock ignored = commitLocks.acquireBoth(fromUserId, toUserId, deadline)) {
+            return PointTransfer.apply(pointStore, pointHistoryStore, fromUserId, toUserId, amount);
+        }
+    }
+
+    /**
+     * 버전을 비교해 잔고를 기록한 뒤 이력을 기록합니다. 그 사이 다른 요청이 기록했다면 다시 읽어 기록합니다.
+     */
+    @Override
+    public UserPoint restore(long userId, long point, List<PointHistory> histories) {
+        while (true) {
+            UserPoint current = pointStore.selectById(userId);
+            Optional<UserPoint> saved = commit(userId, current.version(), point, () -> {
+                for (PointHistory pointHistory : histories)
+                    pointHistoryStore.insert(userId, pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+            });
+            if (saved.isPresent()) return saved.get();
+        }
+    }
+
+    /**
+     * 사용자의 기록 구간에서 버전을 비교해 잔고를 기록하고, 기록했을 때만 이력을 기록합니다.
+     * 같은 사용자의 다음 기록은 이력 기록이 끝난 뒤에야 버전을 비교할 수 있습니다.
+     */
+    private Optional<UserPoint> commit(long id, long expectedVersion, long balance, Runnable history) {
+        try (UserLock ignored = commitLocks.acquire(id)) {
+            Optional<UserPoint> saved = pointStore.compareAndSet(id, expectedVersion, balance);
+            if (saved.isPresent()) history.run();
+            return saved;
+        }
+    }
+
+    /**
+     * 사용자의 기록 구간 안에서 잔고를 읽고 차감하므로 그 사이 다른 요청이 기록하지 않습니다.
+     */
+    @Override
+    public UserPoint expire(long userId, LongSupplier expirable) {
+        try (UserLock ignored = commitLocks.acquire(userId)) {
+            return PointExpiry.apply(pointStore, pointHistoryStore, userId, expirable);
+        }
+    }
+
+    @Override
+    public UserPoint find(long userId) {
+        return pointStore.selectById(userId);
+    }
+
+    /** Lock 으로 처리 중인 사용자 수 */
+    int contendedSize() {
+        return contended.size();
+    }
+}
@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.PointStore;
+import io.hhplus.tdd.exception.PointRollbackException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * 한 사용자의 여러 요청을 하나의 배치로 반영합니다.
+ * 잔고는 한 번만 조회/기록하며 요청은 주어진 순서대로 메모리에서 반영됩니다.
+ * 잔고가 기록된 요청은 이력 기록에 실패하더라도 성공으로 돌려주어, 재시도로 같은 요청이 두 번 반영되지 않도록 합니다.
+ * 단, 저장소가 잔고까지 되돌린 경우({@link PointRollbackException})에는 실패로 돌려줍니다.
+ * 반드시 해당 사용자의 Lock 을 획득한 상태, 혹은 해당 사용자를 혼자 처리하는 쓰레드에서 호출해야 합니다.
+ */
+class PointBatch {
+
+    private static final Logger log = LoggerFactory.getLogger(PointBatch.class);
+
+    static List<PointResult> apply(PointStore pointStore, PointHistoryStore pointHistoryStore, long userId, List<PointCommand> commands) {
+        PointResult[] results = new PointResult[commands.size()];
+        long[] balances = new long[commands.size()];
+
+        try {
+            long balance = pointStore.selectById(userId).point();
+            boolean applied = false;
+            for (int i = 0; i < commands.size(); i++) {
+                PointCommand command = commands.get(i);
+                try {
+                    balance = PointPolicy.apply(balance, command.type(), command.amount());
+                    balances[i] = balance;
+                    applied = true;
+                } catch (RuntimeException e) {
+                    results[i] = PointResult.failure(command, e);
+                }
+            }
+
+            if (applied) {
+                UserPoint saved = pointStore.insertOrUpdate(userId, balance);
+                for (int i = 0; i < commands.size(); i++) {
+                    if (results[i] != null) continue;
+
+                    PointCommand command = commands.get(i);
+                    try {
+                        insertHistory(pointHistoryStore, userId, command, saved.updateMillis());
+                        results[i] = PointResult.success(command, new UserPoint(userId, balances[i], saved.updateMillis()));
+                    } catch (PointRollbackException e) {
+                        results[i] = PointResult.failure(command, e);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            for (int i = 0; i < commands.size(); i++) {
+                if (results[i] == null) results[i] = PointResult.failure(commands.get(i), e);
+            }
+        }
+
+        return List.of(results);
+    }
+
+    private static void insertHistory(PointHistoryStore pointHistoryStore, long userId, PointCommand command, long updateMillis) {
+        try {
+            pointHistoryStore.insert(userId, command.amount(), command.type(), updateMillis);
+        } catch (PointRollbackException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("failed to insert history of an applied command. - userId: {}, type: {}, amount: {}",
+                    userId, command.type(), command.amount(), e);
+        }
+    }
+}
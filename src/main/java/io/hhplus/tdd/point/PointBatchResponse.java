@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ErrorResponse;
+
+/**
+ * 일괄 충전/사용 요청의 항목별 결과 - 성공 시 userPoint, 실패 시 error 가 채워집니다.
+ */
+public record PointBatchResponse(
+        long userId,
+        TransactionType type,
+        long amount,
+        UserPoint userPoint,
+        ErrorResponse error
+) {
+
+    public static PointBatchResponse from(PointResult result) {
+        PointCommand command = result.command();
+        ErrorResponse error = result.isSuccess() ? null : ErrorResponse.of(result.error());
+        return new PointBatchResponse(command.userId(), command.type(), command.amount(), result.userPoint(), error);
+    }
+}
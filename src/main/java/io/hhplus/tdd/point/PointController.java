@@ -1,59 +1,170 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.cluster.PointCluster;
+import io.hhplus.tdd.cluster.PointClusterClient;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * 잔고/이력 조회와 충전/사용은 CompletableFuture 로 응답하므로 요청 쓰레드는 저장소와 사용자 Lock 을 기다리지 않고 반납됩니다.
+ */
 @RestController
 @RequestMapping("/point")
 @RequiredArgsConstructor
 public class PointController {
 
     private final PointService pointService;
+    private final PointProperties pointProperties;
+    private final ObjectMapper objectMapper;
+    private final PointCluster pointCluster;
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
 
+    /** 재시도된 충전/사용 요청을 구분하는 헤더 - 같은 값으로 들어온 요청은 한 번만 반영됩니다. */
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    /** 사용자 Lock 을 기다릴 최대 시간(ms) - 지나면 503 으로 응답합니다. 없으면 point.lock.timeout 을 사용합니다. */
+    private static final String REQUEST_TIMEOUT = "Request-Timeout";
+
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
      */
     @GetMapping("{id}")
-    public UserPoint point(
+    public CompletableFuture<UserPoint> point(
             @PathVariable long id
     ) {
-        return pointService.getUserPoint(id);
+        return pointService.getUserPointAsync(id);
     }
 
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
      */
     @GetMapping("{id}/histories")
-    public List<PointHistory> history(
+    public CompletableFuture<List<PointHistory>> history(
             @PathVariable long id
     ) {
-        return pointService.getPointHistory(id);
+        return pointService.getPointHistoryAsync(id);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 id 순으로 페이지 단위로 조회합니다.
+     * 다음 페이지는 응답의 nextCursor 를 cursor 로 전달해 조회합니다.
+     */
+    @GetMapping("{id}/histories/page")
+    public PointHistoryPage historyPage(
+            @PathVariable long id,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(defaultValue = "" + Long.MIN_VALUE) long from,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long to
+    ) {
+        return pointService.getPointHistoryPage(id, new PointHistoryQuery(cursor, limit, type, from, to));
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 한 줄에 하나씩(NDJSON) 스트리밍합니다.
+     */
+    @GetMapping(value = "{id}/histories/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody historyStream(
+            @PathVariable long id,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(defaultValue = "" + Long.MIN_VALUE) long from,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long to
+    ) {
+        PointHistoryQuery query = new PointHistoryQuery(null, pointProperties.getHistory().getMaxPageSize(), type, from, to);
+        return outputStream -> pointService.streamPointHistory(id, query, history -> writeLine(outputStream, history));
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 합계와 건수, 기간(from ~ to, yyyy-MM-dd) 내의 일별 요약을 조회합니다.
+     * 기간을 생략하면 전체 일별 요약을 돌려줍니다.
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(
+            @PathVariable long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return pointService.getPointSummary(id, from == null ? LocalDate.MIN : from, to == null ? LocalDate.MAX : to);
+    }
+
+    private static Duration toDuration(Long millis) {
+        return millis == null ? null : Duration.ofMillis(millis);
+    }
+
+    private void writeLine(OutputStream outputStream, PointHistory history) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(history));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
      */
     @PatchMapping("{id}/charge")
-    public UserPoint charge(
+    public CompletableFuture<UserPoint> charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestHeader(value = REQUEST_TIMEOUT, required = false) Long timeoutMillis
     ) {
-        return pointService.chargePoint(id, amount);
+        return pointService.chargePointAsync(id, amount, idempotencyKey, toDuration(timeoutMillis));
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
      */
     @PatchMapping("{id}/use")
-    public UserPoint use(
+    public CompletableFuture<UserPoint> use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestHeader(value = REQUEST_TIMEOUT, required = false) Long timeoutMillis
+    ) {
+        return pointService.reducePointAsync(id, amount, idempotencyKey, toDuration(timeoutMillis));
+    }
+
+    /**
+     * 특정 유저의 포인트를 다른 유저에게 이체합니다. 두 유저의 잔고와 이력 한 쌍이 함께 반영됩니다.
+     * 클러스터 모드에서는 두 유저를 같은 노드가 담당할 때만 처리합니다.
+     */
+    @PostMapping("{id}/transfer")
+    public CompletableFuture<PointTransferResult> transfer(
+            @PathVariable long id,
+            @RequestBody PointTransferRequest request,
+            @RequestHeader(value = REQUEST_TIMEOUT, required = false) Long timeoutMillis
+    ) {
+        return pointCluster.withLocalUser(request.toUserId(),
+                () -> pointService.transferPointAsync(id, request.toUserId(), request.amount(), toDuration(timeoutMillis)));
+    }
+
+    /**
+     * 여러 사용자의 포인트 충전/사용을 한 번에 처리합니다. 결과는 요청 순서대로 항목마다 반환됩니다.
+     * 클러스터 모드에서는 다른 노드가 담당하는 사용자의 요청을 해당 노드로 나눠 전달합니다.
+     */
+    @PostMapping("batch")
+    public List<PointBatchResponse> batch(
+            @RequestBody List<PointCommand> commands,
+            @RequestHeader(value = PointClusterClient.HOPS, defaultValue = "0") int hops
     ) {
-        return pointService.reducePoint(id, amount);
+        return pointCluster.executeBatch(commands, hops,
+                local -> pointService.executeBatch(local).stream().map(PointBatchResponse::from).toList());
     }
 }
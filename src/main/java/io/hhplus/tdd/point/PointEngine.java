@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.lock.Deadline;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * 포인트 충전/사용을 반영하는 방식
+ * 동일 사용자에 대한 요청은 순서대로 반영되어야 하며, 정책 위반 시 {@link PointPolicy} 의 예외를 그대로 전달합니다.
+ */
+public interface PointEngine extends AutoCloseable {
+
+    /**
+     * 충전/사용 요청을 반영하고 반영된 잔고를 돌려줍니다.
+     */
+    UserPoint execute(PointCommand command);
+
+    /**
+     * 시한 안에 반영하지 못하면 {@link io.hhplus.tdd.exception.DeadlineExceededException} 을 던집니다.
+     * 사용자 Lock 을 기다리지 않는 방식은 시한을 사용하지 않습니다.
+     */
+    default UserPoint execute(PointCommand command, Deadline deadline) {
+        return execute(command);
+    }
+
+    /**
+     * 한 사용자의 여러 요청을 순서대로 반영합니다. 실패한 요청이 있더라도 이후 요청은 계속 반영됩니다.
+     */
+    default List<PointResult> executeAll(long userId, List<PointCommand> commands) {
+        return commands.stream().map(command -> {
+            try {
+                return PointResult.success(command, execute(command));
+            } catch (RuntimeException e) {
+                return PointResult.failure(command, e);
+            }
+        }).toList();
+    }
+
+    /**
+     * 보내는 사용자의 포인트를 받는 사용자에게 옮기고, 두 잔고와 이력 한 쌍을 반영합니다.
+     * 정책 위반 시 어느 잔고도 바뀌지 않은 상태로 예외를 전달합니다.
+     * 두 사용자를 함께 멈추지 않는 방식(SHARDED 의 다른 샤드, WRITE_BEHIND)은 먼저 차감한 잔고를 정책에 따라 되돌린 뒤 전달합니다.
+     */
+    PointTransferResult transfer(long fromUserId, long toUserId, long amount, Deadline deadline);
+
+    /**
+     * 다른 노드에서 옮겨 온 사용자의 이력을 원래의 시각으로 기록하고 잔고를 point 로 맞춥니다. (클러스터 모드)
+     * 충전/사용 요청과 같은 방식으로 순서가 정해지므로 그 사용자의 다른 요청과 섞이지 않습니다.
+     */
+    UserPoint restore(long userId, long point, List<PointHistory> histories);
+
+    /**
+     * 만료된 포인트를 차감하고 만료(EXPIRE) 이력으로 기록합니다.
+     * 차감할 포인트는 그 사용자의 다른 요청과 같은 순서 안에서 expirable 로 정하므로, 앞서 반영된 사용이 만료 예정 포인트를 쓴 만큼은 차감하지 않습니다.
+     * 잔고보다 많으면 잔고만큼만 차감합니다.
+     */
+    UserPoint expire(long userId, LongSupplier expirable);
+
+    /**
+     * 현재 잔고를 조회합니다.
+     */
+    UserPoint find(long userId);
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.PointStore;
+
+import java.util.function.LongSupplier;
+
+import static io.hhplus.tdd.point.TransactionType.EXPIRE;
+import static java.lang.System.currentTimeMillis;
+
+/**
+ * 만료된 포인트를 차감합니다. 차감할 포인트는 잔고를 읽은 뒤 expirable 로 정하므로 앞서 반영된 사용이 쓴 만큼은 차감하지 않으며,
+ * 잔고보다 많으면 잔고만큼만 차감합니다. 차감할 포인트가 없으면 아무것도 기록하지 않습니다.
+ * 반드시 해당 사용자의 Lock 을 획득한 상태, 혹은 해당 사용자를 혼자 처리하는 쓰레드에서 호출해야 합니다.
+ */
+class PointExpiry {
+
+    static UserPoint apply(PointStore pointStore, PointHistoryStore pointHistoryStore, long userId, LongSupplier expirable) {
+        UserPoint current = pointStore.selectById(userId);
+        long amount = Math.min(expirable.getAsLong(), current.point());
+        if (amount <= 0) return current;
+
+        UserPoint userPoint = pointStore.insertOrUpdate(userId, current.point() - amount);
+        pointHistoryStore.insert(userId, amount, EXPIRE, currentTimeMillis());
+        return userPoint;
+    }
+}
@@ -0,0 +1,147 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.PointStore;
+import io.hhplus.tdd.exception.DeadlineExceededException;
+import io.hhplus.tdd.exception.TooManyPendingRequestsException;
+import io.hhplus.tdd.lock.Deadline;
+import io.hhplus.tdd.lock.UserLock;
+import io.hhplus.tdd.lock.UserLockProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * 그룹 커밋 처리기
+ *
+ * 동일 사용자에게 들어온 요청은 먼저 대기열에 쌓이고, 사용자 Lock 을 얻은 요청(리더)이 대기열 전체를
+ * 순서대로 메모리에서 반영한 뒤 잔고를 한 번만 기록합니다.
+ * 각 요청은 자신의 결과(성공 혹은 {@link io.hhplus.tdd.exception.MinusPointException},
+ * {@link io.hhplus.tdd.exception.OutOfMaximumPointException})를 개별적으로 돌려받습니다.
+ */
+public class PointGroupCommitter implements PointEngine {
+
+    private final Map<Long, Queue<PendingCommand>> pendingCommands = new ConcurrentHashMap<>();
+
+    private final UserLockProvider lockProvider;
+    private final PointStore pointStore;
+    private final PointHistoryStore pointHistoryStore;
+
+    public PointGroupCommitter(UserLockProvider lockProvider, PointStore pointStore, PointHistoryStore pointHistoryStore) {
+        this.lockProvider = lockProvider;
+        this.pointStore = pointStore;
+        this.pointHistoryStore = pointHistoryStore;
+    }
+
+    @Override
+    public UserPoint execute(PointCommand command) {
+        return execute(command, Deadline.NONE);
+    }
+
+    /**
+     * 시한 안에 Lock 을 얻지 못해도 이미 다른 리더가 대기열에서 꺼내 간 요청은 반영되므로 그 결과를 기다립니다.
+     */
+    @Override
+    public UserPoint execute(PointCommand command, Deadline deadline) {
+        PendingCommand pending = new PendingCommand(command);
+        Queue<PendingCommand> queue = pendingCommands.computeIfAbsent(command.userId(), k -> new ConcurrentLinkedQueue<>());
+        queue.offer(pending);
+
+        try (UserLock ignored = lockProvider.acquire(command.userId(), deadline)) {
+            // 앞선 리더가 이미 처리했다면 결과만 돌려준다.
+            if (!pending.result.isDone()) flush(command.userId(), queue);
+        } catch (DeadlineExceededException | TooManyPendingRequestsException e) {
+            if (queue.remove(pending)) {
+                if (queue.isEmpty()) pendingCommands.remove(command.userId(), queue);
+                throw e;
+            }
+        }
+
+        return pending.join();
+    }
+
+    /**
+     * 이체는 대기열을 거치지 않고 두 사용자의 Lock 을 정해진 순서로 획득한 상태에서 바로 반영합니다.
+     * 그동안 두 사용자의 리더는 Lock 을 기다리므로 대기열의 요청과 섞이지 않습니다.
+     */
+    @Override
+    public PointTransferResult transfer(long fromUserId, long toUserId, long amount, Deadline deadline) {
+        try (UserLock ignored = lockProvider.acquireBoth(fromUserId, toUserId, deadline)) {
+            return PointTransfer.apply(pointStore, pointHistoryStore, fromUserId, toUserId, amount);
+        }
+    }
+
+    /**
+     * 사용자 Lock 안에서 반영하므로 대기열의 요청은 그 앞이나 뒤의 배치로 반영됩니다.
+     */
+    @Override
+    public UserPoint restore(long userId, long point, List<PointHistory> histories) {
+        try (UserLock ignored = lockProvider.acquire(userId)) {
+            return PointRestore.apply(pointStore, pointHistoryStore, userId, point, histories);
+        }
+    }
+
+    /**
+     * 사용자 Lock 안에서 반영하므로 대기열의 요청은 그 앞이나 뒤의 배치로 반영됩니다.
+     */
+    @Override
+    public UserPoint expire(long userId, LongSupplier expirable) {
+        try (UserLock ignored = lockProvider.acquire(userId)) {
+            return PointExpiry.apply(pointStore, pointHistoryStore, userId, expirable);
+        }
+    }
+
+    @Override
+    public UserPoint find(long userId) {
+        return pointStore.selectById(userId);
+    }
+
+    /**
+     * 한 사용자의 여러 요청을 대기열에 순서대로 넣은 뒤 함께 반영합니다.
+     */
+    @Override
+    public List<PointResult> executeAll(long userId, List<PointCommand> commands) {
+        List<PendingCommand> pendings = commands.stream().map(PendingCommand::new).toList();
+        Queue<PendingCommand> queue = pendingCommands.computeIfAbsent(userId, k -> new ConcurrentLinkedQueue<>());
+        pendings.forEach(queue::offer);
+
+        try (UserLock ignored = lockProvider.acquire(userId)) {
+            if (pendings.stream().anyMatch(pending -> !pending.result.isDone())) flush(userId, queue);
+        }
+
+        return pendings.stream().map(pending -> pending.result.join()).toList();
+    }
+
+    /**
+     * 대기열에 쌓인 요청을 하나의 배치로 반영합니다. 사용자 Lock 을 획득한 상태에서만 호출됩니다.
+     * 대기열이 맵에서 제거된 이후 추가된 요청은 해당 요청을 보낸 쓰레드가 직접 처리합니다.
+     */
+    private void flush(long userId, Queue<PendingCommand> queue) {
+        List<PendingCommand> batch = new ArrayList<>();
+        for (PendingCommand pending; (pending = queue.poll()) != null; ) batch.add(pending);
+        pendingCommands.remove(userId, queue);
+
+        List<PointResult> results = PointBatch.apply(pointStore, pointHistoryStore, userId,
+                batch.stream().map(pending -> pending.command).toList());
+        for (int i = 0; i < batch.size(); i++) batch.get(i).result.complete(results.get(i));
+    }
+
+    private static class PendingCommand {
+        private final PointCommand command;
+        private final CompletableFuture<PointResult> result = new CompletableFuture<>();
+
+        private PendingCommand(PointCommand command) {
+            this.command = command;
+        }
+
+        private UserPoint join() {
+            return result.join().getOrThrow();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이력 페이지 조회 조건
+ * - cursor : 이전 페이지의 마지막 이력 id (없으면 처음부터)
+ * - limit : 페이지 크기
+ * - type : 거래 종류 (없으면 전체)
+ * - fromMillis, toMillis : updateMillis 기간
+ */
+public record PointHistoryQuery(
+        Long cursor,
+        int limit,
+        TransactionType type,
+        long fromMillis,
+        long toMillis
+) {
+
+    public PointHistoryQuery next(Long cursor) {
+        return new PointHistoryQuery(cursor, limit, type, fromMillis, toMillis);
+    }
+
+    public PointHistoryQuery withLimit(int limit) {
+        return new PointHistoryQuery(cursor, limit, type, fromMillis, toMillis);
+    }
+
+    public boolean matches(PointHistory history) {
+        return (cursor == null || history.id() > cursor) && (type == null || history.type() == type);
+    }
+}
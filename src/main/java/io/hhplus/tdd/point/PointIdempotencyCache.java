@@ -0,0 +1,141 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.exception.MinusPointException;
+import io.hhplus.tdd.exception.OutOfMaximumPointException;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 별로 충전/사용 결과를 보관해 재시도된 요청을 다시 반영하지 않도록 합니다.
+ *
+ * 처음 들어온 요청만 실제로 반영하고, 같은 키로 들어온 요청은 사용자 Lock 없이 보관된 결과를 돌려받습니다.
+ * 처음 요청이 아직 처리 중이면 그 결과가 나올 때까지 기다립니다.
+ * 정책 위반으로 거절된 결과도 보관하지만, 그 외의 오류는 보관하지 않으므로 재시도 시 다시 처리됩니다.
+ * 키 해시로 나눈 LRU 세그먼트마다 최대 크기를 넘으면 오래 사용되지 않은 키부터 제거하며, ttl 이 지난 키는 새 요청으로 취급합니다.
+ */
+class PointIdempotencyCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final long ttlNanos;
+
+    /**
+     * @param maximumSize 보관할 최대 키 수
+     * @param ttl 키의 유효 시간 (0 이면 만료되지 않음)
+     */
+    PointIdempotencyCache(int maximumSize, Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+
+        int segmentSize = Math.max(1, maximumSize / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) segments[i] = new Segment(segmentSize);
+    }
+
+    /**
+     * 키로 처음 들어온 요청이면 operation 을 수행하고, 아니면 처음 요청의 결과를 돌려줍니다.
+     * 같은 키로 다른 내용의 요청이 들어오면 거절합니다.
+     */
+    UserPoint execute(String key, PointCommand command, Supplier<UserPoint> operation) {
+        return join(executeAsync(key, command, () -> CompletableFuture.completedFuture(operation.get())));
+    }
+
+    /**
+     * {@link #execute} 의 비동기 방식 - 처리 중인 요청의 결과를 쓰레드를 점유하지 않고 기다립니다.
+     */
+    CompletableFuture<UserPoint> executeAsync(String key, PointCommand command, Supplier<CompletableFuture<UserPoint>> operation) {
+        Segment segment = segmentOf(key);
+        Entry entry = new Entry(command, new CompletableFuture<>(), ttlNanos > 0 ? System.nanoTime() + ttlNanos : Long.MAX_VALUE);
+        Entry claimed = segment.putIfAbsent(key, entry);
+
+        if (claimed != entry) {
+            if (!claimed.command().equals(command))
+                return CompletableFuture.failedFuture(new RuntimeException(
+                        String.format("Idempotency-Key is already used for a different request. - key: %s", key)));
+            return claimed.result().copy();
+        }
+
+        CompletableFuture<UserPoint> result;
+        try {
+            result = operation.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((userPoint, error) -> {
+            if (error == null) {
+                entry.result().complete(userPoint);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (!(cause instanceof MinusPointException || cause instanceof OutOfMaximumPointException)) segment.remove(key, entry);
+            entry.result().completeExceptionally(cause);
+        });
+        return entry.result().copy();
+    }
+
+    private static UserPoint join(CompletableFuture<UserPoint> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private Segment segmentOf(String key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    private record Entry(PointCommand command, CompletableFuture<UserPoint> result, long expireAt) {
+    }
+
+    /**
+     * 접근 순서를 유지하는 LinkedHashMap 기반 LRU 세그먼트 - 가상 쓰레드가 carrier 를 점유하지 않도록 synchronized 대신 lock 으로 보호합니다.
+     */
+    private class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Entry> entries;
+
+        private Segment(int maximumSize) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > maximumSize;
+                }
+            };
+        }
+
+        /**
+         * 유효한 항목이 있으면 그 항목을, 없으면 주어진 항목을 보관하고 돌려줍니다.
+         */
+        private Entry putIfAbsent(String key, Entry entry) {
+            lock.lock();
+            try {
+                Entry current = entries.get(key);
+                if (current != null && !isExpired(current)) return current;
+                entries.put(key, entry);
+                return entry;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void remove(String key, Entry entry) {
+            lock.lock();
+            try {
+                entries.remove(key, entry);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean isExpired(Entry entry) {
+            return entry.expireAt() != Long.MAX_VALUE && entry.expireAt() - System.nanoTime() < 0;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.exception.MinusPointException;
+import io.hhplus.tdd.exception.OutOfMaximumPointException;
+
+import static io.hhplus.tdd.point.PointService.MAXIMUM_POINT;
+
+/**
+ * 포인트 잔고 정책 - 충전/사용 시 잔고 계산과 정책 위반 여부를 판단합니다.
+ */
+public class PointPolicy {
+
+    /**
+     * 현재 잔고에 거래를 반영한 잔고를 계산합니다.
+     * @param balance 현재 잔고
+     * @param type 거래 종류
+     * @param amount 거래 포인트
+     * @return 거래가 반영된 잔고
+     */
+    public static long apply(long balance, TransactionType type, long amount) {
+        return switch (type) {
+            case CHARGE -> charge(balance, amount);
+            case USE, EXPIRE -> use(balance, amount);
+        };
+    }
+
+    private static long charge(long balance, long amount) {
+        long totalPoint = balance + amount;
+        if (totalPoint > MAXIMUM_POINT)
+            throw new OutOfMaximumPointException(String.format("최대로 충전할 수 있는 포인트는 %d point 입니다.", MAXIMUM_POINT));
+        return totalPoint;
+    }
+
+    private static long use(long balance, long amount) {
+        long remain = balance - amount;
+        if (remain < 0) throw new MinusPointException("포인트 잔고가 부족합니다.");
+        return remain;
+    }
+}
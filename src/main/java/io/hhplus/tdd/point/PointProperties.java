@@ -0,0 +1,268 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.cluster.ClusterNode;
+import io.hhplus.tdd.database.AsyncPointHistoryStore.Durability;
+import io.hhplus.tdd.database.PointJournal.FsyncPolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 포인트 처리 방식에 대한 설정 (application.yml 의 point.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "point")
+public class PointProperties {
+
+    private EngineType engine = EngineType.LOCKING;
+    private final Storage storage = new Storage();
+    private final Locking lock = new Locking();
+    private final WriteBehind writeBehind = new WriteBehind();
+    private final Sharded sharded = new Sharded();
+    private final Optimistic optimistic = new Optimistic();
+    private final Cache cache = new Cache();
+    private final History history = new History();
+    private final Batch batch = new Batch();
+    private final Idempotency idempotency = new Idempotency();
+    private final Io io = new Io();
+    private final Summary summary = new Summary();
+    private final Expiration expiration = new Expiration();
+    private final Cluster cluster = new Cluster();
+
+    /**
+     * 충전/사용 반영 방식
+     * - LOCKING : 사용자 Lock 안에서 요청마다 잔고를 조회/기록
+     * - GROUP_COMMIT : 동일 사용자에게 대기 중인 요청을 한 번에 모아 잔고를 한 번만 기록
+     * - WRITE_BEHIND : 메모리의 잔고에 Lock 없이 반영하고 테이블에는 주기적으로 기록
+     * - SHARDED : 사용자 Id 해시로 정한 샤드 쓰레드가 Lock 없이 혼자 반영
+     * - OPTIMISTIC : Lock 없이 잔고의 버전을 비교해 기록하고, 충돌이 잦은 사용자만 사용자 Lock 으로 반영 (MEMORY, JOURNAL 저장 계층)
+     */
+    public enum EngineType {
+        LOCKING, GROUP_COMMIT, WRITE_BEHIND, SHARDED, OPTIMISTIC
+    }
+
+    /**
+     * 저장 계층
+     * - TABLE : UserPointTable, PointHistoryTable 을 사용하며 재시작하면 데이터가 사라집니다.
+     * - MEMORY : 잔고를 사용자당 객체 없이 long 배열에 보관하고 이력은 PointHistoryTable 을 사용합니다. (expectedUsers 만큼 미리 확보)
+     * - JOURNAL : directory 의 journal 파일에 모든 거래를 기록하고 시작 시 다시 읽어 잔고와 이력을 복구합니다.
+     */
+    @Getter
+    @Setter
+    public static class Storage {
+        private StorageType type = StorageType.TABLE;
+        private Path directory = Path.of("data");
+        private int expectedUsers = 0;
+        private final Journal journal = new Journal();
+        private final Snapshot snapshot = new Snapshot();
+
+        /**
+         * journal fsync 방식 - GROUP 은 반영될 때까지 기다리고, INTERVAL 은 fsyncIntervalMillis 마다 반영합니다.
+         */
+        @Getter
+        @Setter
+        public static class Journal {
+            private FsyncPolicy fsync = FsyncPolicy.GROUP;
+            private long fsyncIntervalMillis = 10;
+        }
+
+        /**
+         * 잔고 스냅샷 - interval 마다 만들고 최근 retained 개만 남깁니다. interval 이 0 이면 만들지 않습니다.
+         */
+        @Getter
+        @Setter
+        public static class Snapshot {
+            private Duration interval = Duration.ofMinutes(5);
+            private int retained = 2;
+        }
+    }
+
+    public enum StorageType {
+        TABLE, MEMORY, JOURNAL
+    }
+
+    /**
+     * 사용자 Lock 관리 방식
+     * - REF_COUNTED : 사용자별 Lock 을 참조 횟수로 관리하고 반납 시 제거
+     * - STRIPED : 고정 크기(stripes)의 Lock 테이블을 사용자 Id 해시로 공유
+     * timeout 안에 Lock 을 얻지 못한 요청은 실패하며 (0 이면 계속 대기, 요청의 Request-Timeout 헤더가 우선),
+     * 사용자별로 대기 중인 요청이 maxWaiters 를 넘으면 즉시 거절합니다. (0 이면 제한 없음)
+     */
+    @Getter
+    @Setter
+    public static class Locking {
+        private LockType type = LockType.REF_COUNTED;
+        private int stripes = 1024;
+        private Duration timeout = Duration.ZERO;
+        private int maxWaiters = 0;
+    }
+
+    public enum LockType {
+        REF_COUNTED, STRIPED
+    }
+
+    /**
+     * write-behind 방식에서 테이블에 기록하는 주기
+     */
+    @Getter
+    @Setter
+    public static class WriteBehind {
+        private long flushIntervalMillis = 100;
+    }
+
+    /**
+     * sharded 방식의 샤드 수(shards, 0 이면 사용 가능한 코어 수)와 샤드마다 대기할 수 있는 최대 요청 수(inboxCapacity)
+     * 대기열이 가득 차면 offerTimeout 만큼 빈 자리를 기다린 뒤 거절합니다.
+     */
+    @Getter
+    @Setter
+    public static class Sharded {
+        private int shards = 0;
+        private int inboxCapacity = 1024;
+        private Duration offerTimeout = Duration.ofSeconds(1);
+    }
+
+    /**
+     * optimistic 방식에서 충돌 시 다시 시도할 횟수(maxRetries)와, 그래도 충돌한 사용자를 사용자 Lock 으로 처리할 기간(fallback)
+     */
+    @Getter
+    @Setter
+    public static class Optimistic {
+        private int maxRetries = 3;
+        private Duration fallback = Duration.ofSeconds(1);
+    }
+
+    /**
+     * 잔고 조회 캐시 - 최대 크기를 넘으면 LRU 로 제거하며, ttl 이 0 이면 만료되지 않습니다.
+     */
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = false;
+        private int maximumSize = 10_000;
+        private Duration ttl = Duration.ZERO;
+    }
+
+    /**
+     * 이력 저장소 - indexed 이면 사용자별 인덱스로 이력을 조회합니다.
+     * 인덱스는 저장소를 통해 기록된 이력만 포함하므로 테이블에 직접 기록하는 경우에는 사용하지 않습니다.
+     * maxPageSize 는 페이지 조회 시 허용하는 최대 크기이며 스트리밍 조회 시 한 번에 읽는 크기입니다.
+     */
+    @Getter
+    @Setter
+    public static class History {
+        private boolean indexed = false;
+        private int maxPageSize = 1000;
+        private final Async async = new Async();
+        private final Tiered tiered = new Tiered();
+
+        /**
+         * 이력 비동기 기록 - 대기열(queueCapacity)에 쌓인 이력을 batchSize 단위로 기록합니다.
+         * durability 가 WAIT 이면 기록이 끝날 때까지 사용자 Lock 을 쥔 채 기다리고, FIRE_AND_FORGET 이면 즉시 반환합니다.
+         * JOURNAL 저장 계층은 기록에 실패한 이력의 잔고를 되돌리므로 WAIT 만 사용할 수 있습니다.
+         */
+        @Getter
+        @Setter
+        public static class Async {
+            private boolean enabled = false;
+            private Durability durability = Durability.FIRE_AND_FORGET;
+            private int queueCapacity = 10_000;
+            private int batchSize = 100;
+        }
+
+        /**
+         * 이력 계층 저장 (TABLE, MEMORY 저장 계층) - 최근 hotSize 개의 이력만 메모리에 두고,
+         * 그보다 오래된 이력은 segmentSize 개 단위로 압축해 directory 의 세그먼트 파일에 보관합니다.
+         * 세그먼트는 최대 compactedSize 개의 이력까지 합치며, 동시에 열어 두는 세그먼트 파일은 maxOpenSegments 개입니다.
+         */
+        @Getter
+        @Setter
+        public static class Tiered {
+            private boolean enabled = false;
+            private Path directory = Path.of("data", "history");
+            private int hotSize = 100_000;
+            private int segmentSize = 10_000;
+            private long compactedSize = 640_000;
+            private int maxOpenSegments = 64;
+        }
+    }
+
+    /**
+     * 일괄 충전/사용 - 한 번에 처리할 수 있는 최대 요청 수(maxSize)와 동시에 처리할 사용자 수(parallelism)
+     */
+    @Getter
+    @Setter
+    public static class Batch {
+        private int maxSize = 10_000;
+        private int parallelism = 16;
+    }
+
+    /**
+     * Idempotency-Key 중복 제거 - 최대 maximumSize 개의 키를 ttl 동안 보관합니다. ttl 이 0 이면 만료되지 않습니다.
+     */
+    @Getter
+    @Setter
+    public static class Idempotency {
+        private boolean enabled = true;
+        private int maximumSize = 100_000;
+        private Duration ttl = Duration.ofHours(1);
+    }
+
+    /**
+     * 비동기 API 가 저장소를 조회/기록하고 일괄 처리를 수행하는 쓰레드
+     * 같은 사용자의 요청은 한 번에 하나만 쓰레드를 사용하고 나머지는 쓰레드 없이 대기합니다.
+     * virtualThreads 이면 작업마다 가상 쓰레드를 사용하며 threads 와 batch.parallelism 은 사용하지 않습니다.
+     * 가상 쓰레드는 Java 21 이상에서만 사용하고 그 아래 버전에서는 플랫폼 쓰레드로 대신합니다.
+     */
+    @Getter
+    @Setter
+    public static class Io {
+        private int threads = 64;
+        private boolean virtualThreads = false;
+    }
+
+    /**
+     * 사용자별 포인트 요약 - 일별 요약은 zone 기준의 날짜로 나눕니다.
+     */
+    @Getter
+    @Setter
+    public static class Summary {
+        private ZoneId zone = ZoneId.systemDefault();
+    }
+
+    /**
+     * 포인트 만료 - 충전한 포인트 중 쓰지 않은 만큼을 충전 시각으로부터 period 가 지나면 차감합니다.
+     * 만료는 tick 단위로 모아 처리하므로 최대 tick 만큼 늦게 반영될 수 있습니다.
+     * 이력을 주기적으로 기록하는 WRITE_BEHIND 방식과는 함께 사용할 수 없습니다.
+     */
+    @Getter
+    @Setter
+    public static class Expiration {
+        private boolean enabled = false;
+        private Duration period = Duration.ofDays(365);
+        private Duration tick = Duration.ofSeconds(1);
+    }
+
+    /**
+     * 클러스터 - 사용자 Id 를 consistent hash 링으로 nodes 에 나누고, 담당하지 않는 사용자의 요청은 담당 노드로 전달합니다.
+     * self 는 nodes 중 이 노드의 id 이며, joining 은 nodes 중 새로 추가되어 이전 노드에서 사용자를 가져와야 하는 노드의 id 입니다.
+     * virtualNodes 는 노드마다 링에 두는 위치 수, timeout 은 노드 사이 요청의 제한 시간입니다.
+     */
+    @Getter
+    @Setter
+    public static class Cluster {
+        private boolean enabled = false;
+        private String self = "";
+        private List<ClusterNode> nodes = new ArrayList<>();
+        private List<String> joining = new ArrayList<>();
+        private int virtualNodes = 160;
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.PointStore;
+
+import java.util.List;
+
+/**
+ * 다른 노드에서 옮겨 온 사용자의 이력을 원래의 시각으로 기록한 뒤 잔고를 기록합니다.
+ * 반드시 해당 사용자의 Lock 을 획득한 상태, 혹은 해당 사용자를 혼자 처리하는 쓰레드에서 호출해야 합니다.
+ */
+class PointRestore {
+
+    static UserPoint apply(PointStore pointStore, PointHistoryStore pointHistoryStore, long userId, long point, List<PointHistory> histories) {
+        for (PointHistory pointHistory : histories)
+            pointHistoryStore.insert(userId, pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+        return pointStore.insertOrUpdate(userId, point);
+    }
+}
@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 충전/사용 요청 하나의 처리 결과 - 성공 시 userPoint, 실패 시 error 를 가집니다.
+ */
+public record PointResult(
+        PointCommand command,
+        UserPoint userPoint,
+        RuntimeException error
+) {
+
+    public static PointResult success(PointCommand command, UserPoint userPoint) {
+        return new PointResult(command, userPoint, null);
+    }
+
+    public static PointResult failure(PointCommand command, RuntimeException error) {
+        return new PointResult(command, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    public UserPoint getOrThrow() {
+        if (error != null) throw error;
+        return userPoint;
+    }
+}
@@ -1,83 +1,476 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.database.AsyncPointHistoryStore;
+import io.hhplus.tdd.database.AsyncPointHistoryStore.Durability;
+import io.hhplus.tdd.database.CachingPointStore;
+import io.hhplus.tdd.database.CachingPointStore.CacheStats;
+import io.hhplus.tdd.database.IndexedPointHistoryStore;
+import io.hhplus.tdd.database.JournalPointStorage;
+import io.hhplus.tdd.database.MemoryPointStorage;
+import io.hhplus.tdd.database.PointHistoryStore;
 import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointStorage;
+import io.hhplus.tdd.database.PointStore;
+import io.hhplus.tdd.database.SummarizingPointHistoryStore;
+import io.hhplus.tdd.database.TablePointHistoryStore;
+import io.hhplus.tdd.database.TablePointStorage;
+import io.hhplus.tdd.database.TieredPointHistoryStore;
 import io.hhplus.tdd.database.UserPointTable;
-import io.hhplus.tdd.exception.MinusPointException;
-import io.hhplus.tdd.exception.OutOfMaximumPointException;
+import io.hhplus.tdd.database.VersionedPointStore;
+import io.hhplus.tdd.expiration.PointExpirations;
+import io.hhplus.tdd.exception.InvalidRequestException;
+import io.hhplus.tdd.lock.Deadline;
+import io.hhplus.tdd.lock.RefCountedUserLockProvider;
+import io.hhplus.tdd.lock.StripedUserLockProvider;
+import io.hhplus.tdd.lock.UserLockProvider;
+import io.hhplus.tdd.lock.UserTaskQueue;
+import io.hhplus.tdd.metrics.PointMetrics;
+import io.hhplus.tdd.metrics.PointMetrics.Operation;
 import io.hhplus.tdd.user.UserValidator;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
 import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.EXPIRE;
 import static io.hhplus.tdd.point.TransactionType.USE;
 import static io.hhplus.tdd.user.UserValidator.validate;
-import static java.lang.System.currentTimeMillis;
 
 @Service
-@RequiredArgsConstructor
 public class PointService {
 
     /** 최대 포인트 잔고 - 100만 포인트 */
     protected static final long MAXIMUM_POINT = 1000000;
-    private final Map<Long, Lock> userLocks = new ConcurrentHashMap<>();
 
-    private final UserPointTable userPointTable;
-    private final PointHistoryTable pointHistoryTable;
+    private final PointStorage storage;
+    private final PointStore pointStore;
+    private final SummarizingPointHistoryStore summaries;
+    private final PointHistoryStore pointHistoryStore;
+    private final PointEngine pointEngine;
+    private final PointProperties.History history;
+    private final PointProperties.Batch batch;
+    private final ExecutorService batchExecutor;
+    private final PointIdempotencyCache idempotencyCache;
+    private final ExecutorService ioExecutor;
+    private final UserTaskQueue userTasks;
+    private final Duration lockTimeout;
+    private final PointMetrics metrics;
+    private final PointExpirations expirations;
+
+    public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
+        this(userPointTable, pointHistoryTable, new PointProperties());
+    }
+
+    public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable, PointProperties properties) {
+        this(userPointTable, pointHistoryTable, properties, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable, PointProperties properties, MeterRegistry meterRegistry) {
+        this.metrics = new PointMetrics(meterRegistry);
+        this.storage = createStorage(properties, userPointTable, pointHistoryTable);
+        if (storage instanceof JournalPointStorage journalPointStorage) metrics.bind(journalPointStorage);
+        this.pointStore = createPointStore(properties.getCache(), storage.pointStore());
+        this.summaries = new SummarizingPointHistoryStore(storage.pointHistoryStore(), properties.getSummary().getZone(), storage.preloaded());
+        this.expirations = createExpirations(properties.getExpiration(), properties.getEngine());
+        this.pointHistoryStore = metrics.instrument(track(createPointHistoryStore(properties.getHistory(), summaries)));
+        this.pointEngine = createEngine(properties, metrics.instrument(createLockProvider(properties.getLock())), metrics.instrument(pointStore), pointHistoryStore);
+        this.history = properties.getHistory();
+        this.batch = properties.getBatch();
+        this.batchExecutor = PointThreads.newExecutor("point-batch-", batch.getParallelism(), properties.getIo().isVirtualThreads());
+        this.idempotencyCache = createIdempotencyCache(properties.getIdempotency());
+        this.ioExecutor = PointThreads.newExecutor("point-io-", properties.getIo().getThreads(), properties.getIo().isVirtualThreads());
+        this.userTasks = new UserTaskQueue(ioExecutor, properties.getLock().getMaxWaiters());
+        this.lockTimeout = properties.getLock().getTimeout();
+        if (expirations != null) {
+            metrics.bind(expirations);
+            expirations.start();
+        }
+    }
+
+    private static PointStorage createStorage(PointProperties properties, UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
+        PointProperties.Storage storage = properties.getStorage();
+        PointProperties.History.Async async = properties.getHistory().getAsync();
+        if (storage.getType() == PointProperties.StorageType.JOURNAL && async.isEnabled() && async.getDurability() == Durability.FIRE_AND_FORGET)
+            throw new IllegalArgumentException("journal storage rolls back balances of histories it fails to append, which fire-and-forget history records after the user lock is released.");
+        return switch (storage.getType()) {
+            case TABLE -> new TablePointStorage(userPointTable, createTableHistoryStore(properties.getHistory(), pointHistoryTable));
+            case MEMORY -> new MemoryPointStorage(createTableHistoryStore(properties.getHistory(), pointHistoryTable), storage.getExpectedUsers());
+            case JOURNAL -> new JournalPointStorage(storage.getDirectory(),
+                    storage.getJournal().getFsync(), storage.getJournal().getFsyncIntervalMillis(),
+                    storage.getSnapshot().getInterval(), storage.getSnapshot().getRetained());
+        };
+    }
+
+    private static PointHistoryStore createTableHistoryStore(PointProperties.History history, PointHistoryTable pointHistoryTable) {
+        PointProperties.History.Tiered tiered = history.getTiered();
+        if (tiered.isEnabled())
+            return new TieredPointHistoryStore(tiered.getDirectory(), tiered.getHotSize(), tiered.getSegmentSize(),
+                    tiered.getMaxOpenSegments(), tiered.getCompactedSize());
+        return history.isIndexed() ? new IndexedPointHistoryStore(pointHistoryTable) : new TablePointHistoryStore(pointHistoryTable);
+    }
+
+    private static PointStore createPointStore(PointProperties.Cache cache, PointStore pointStore) {
+        if (!cache.isEnabled()) return pointStore;
+        return new CachingPointStore(pointStore, cache.getMaximumSize(), cache.getTtl());
+    }
+
+    private PointHistoryStore createPointHistoryStore(PointProperties.History history, PointHistoryStore pointHistoryStore) {
+        PointProperties.History.Async async = history.getAsync();
+        if (!async.isEnabled()) return pointHistoryStore;
+        AsyncPointHistoryStore asyncPointHistoryStore = new AsyncPointHistoryStore(pointHistoryStore, async.getDurability(), async.getQueueCapacity(), async.getBatchSize());
+        metrics.bind(asyncPointHistoryStore);
+        return asyncPointHistoryStore;
+    }
+
+    private PointExpirations createExpirations(PointProperties.Expiration expiration, PointProperties.EngineType engine) {
+        if (!expiration.isEnabled()) return null;
+        if (engine == PointProperties.EngineType.WRITE_BEHIND)
+            throw new IllegalArgumentException("point expiration needs histories recorded when applied, which write-behind engine delays to the next flush.");
+        return new PointExpirations(expiration.getPeriod(), expiration.getTick(), this::expirePointAsync);
+    }
+
+    private PointHistoryStore track(PointHistoryStore pointHistoryStore) {
+        return expirations == null ? pointHistoryStore : expirations.track(pointHistoryStore);
+    }
+
+    private static PointEngine createEngine(PointProperties properties, UserLockProvider userLocks, PointStore pointStore, PointHistoryStore pointHistoryStore) {
+        return switch (properties.getEngine()) {
+            case LOCKING -> new LockingPointEngine(userLocks, pointStore, pointHistoryStore);
+            case GROUP_COMMIT -> new PointGroupCommitter(userLocks, pointStore, pointHistoryStore);
+            case WRITE_BEHIND -> new WriteBehindPointEngine(pointStore, pointHistoryStore, properties.getWriteBehind().getFlushIntervalMillis());
+            case SHARDED -> new ShardedPointEngine(pointStore, pointHistoryStore, properties.getSharded().getShards(),
+                    properties.getSharded().getInboxCapacity(), properties.getSharded().getOfferTimeout());
+            case OPTIMISTIC -> {
+                if (!(pointStore instanceof VersionedPointStore versionedPointStore))
+                    throw new IllegalArgumentException("optimistic engine needs a versioned point store (memory or journal storage, cache disabled).");
+                yield new OptimisticPointEngine(versionedPointStore, pointHistoryStore, userLocks,
+                        properties.getOptimistic().getMaxRetries(), properties.getOptimistic().getFallback());
+            }
+        };
+    }
+
+    private static UserLockProvider createLockProvider(PointProperties.Locking locking) {
+        return switch (locking.getType()) {
+            case REF_COUNTED -> new RefCountedUserLockProvider(locking.getMaxWaiters());
+            case STRIPED -> new StripedUserLockProvider(locking.getStripes(), locking.getMaxWaiters());
+        };
+    }
+
+    private static PointIdempotencyCache createIdempotencyCache(PointProperties.Idempotency idempotency) {
+        if (!idempotency.isEnabled()) return null;
+        return new PointIdempotencyCache(idempotency.getMaximumSize(), idempotency.getTtl());
+    }
 
     public UserPoint getUserPoint(long id) {
         validate(id);
-        return userPointTable.selectById(id);
+        return metrics.record(Operation.GET_POINT, () -> pointEngine.find(id));
     }
 
     public List<PointHistory> getPointHistory(long id) {
         validate(id);
-        return pointHistoryTable.selectAllByUserId(id);
+        return metrics.record(Operation.GET_HISTORY, () -> pointHistoryStore.selectAllByUserId(id));
     }
 
-    public UserPoint chargePoint(long id, long amount) {
-        UserValidator.validate(id);
-        PointValidator.validate(amount);
+    /**
+     * 잔고를 비동기로 조회합니다. 요청한 쓰레드는 저장소 조회를 기다리지 않습니다.
+     */
+    public CompletableFuture<UserPoint> getUserPointAsync(long id) {
+        return validated(() -> validate(id)).thenCompose(ignored -> metrics.recordAsync(Operation.GET_POINT,
+                () -> CompletableFuture.supplyAsync(() -> pointEngine.find(id), ioExecutor)));
+    }
+
+    /**
+     * 충전/이용 내역을 비동기로 조회합니다.
+     */
+    public CompletableFuture<List<PointHistory>> getPointHistoryAsync(long id) {
+        return validated(() -> validate(id)).thenCompose(ignored -> metrics.recordAsync(Operation.GET_HISTORY,
+                () -> CompletableFuture.supplyAsync(() -> pointHistoryStore.selectAllByUserId(id), ioExecutor)));
+    }
 
-        Lock lock = userLocks.computeIfAbsent(id, k -> new ReentrantLock());
-        lock.lock();
+    /**
+     * 특정 기간 [fromMillis, toMillis] 의 포인트 충전/이용 내역을 조회합니다.
+     */
+    public List<PointHistory> getPointHistory(long id, long fromMillis, long toMillis) {
+        validate(id);
+        return metrics.record(Operation.GET_HISTORY, () -> pointHistoryStore.selectAllByUserIdBetween(id, fromMillis, toMillis));
+    }
 
-        try {
-            long totalPoint = userPointTable.selectById(id).point() + amount;
-            if (totalPoint > MAXIMUM_POINT)
-                throw new OutOfMaximumPointException(String.format("최대로 충전할 수 있는 포인트는 %d point 입니다.", MAXIMUM_POINT));
+    /**
+     * 전체 기간의 충전/사용 합계와 건수, [from, to] 기간의 일별 요약을 조회합니다.
+     * 요약은 충전/사용이 반영될 때마다 갱신되므로 이력을 다시 읽지 않습니다.
+     */
+    public PointSummary getPointSummary(long id, LocalDate from, LocalDate to) {
+        validate(id);
+        if (from.isAfter(to)) throw new RuntimeException("from must not be after to.");
+        return metrics.record(Operation.GET_SUMMARY, () -> summaries.summaryOf(id, from, to));
+    }
 
-            UserPoint userPoint = userPointTable.insertOrUpdate(id, totalPoint);
-            pointHistoryTable.insert(id, amount, CHARGE, currentTimeMillis());
+    /**
+     * 조회 조건에 맞는 이력을 id 순으로 한 페이지 조회합니다.
+     */
+    public PointHistoryPage getPointHistoryPage(long id, PointHistoryQuery query) {
+        validate(id);
+        validateQuery(query);
+
+        List<PointHistory> items = pointHistoryStore.selectPage(id, query.withLimit(query.limit() + 1));
+        if (items.size() <= query.limit()) return new PointHistoryPage(items, null);
+
+        List<PointHistory> page = items.subList(0, query.limit());
+        return new PointHistoryPage(List.copyOf(page), page.get(page.size() - 1).id());
+    }
+
+    /**
+     * 조회 조건에 맞는 이력을 페이지 단위로 읽어 순서대로 전달합니다.
+     * 한 번에 한 페이지만 메모리에 올리므로 이력의 길이와 관계없이 사용하는 메모리가 일정합니다.
+     */
+    public void streamPointHistory(long id, PointHistoryQuery query, Consumer<PointHistory> consumer) {
+        validate(id);
+        validateQuery(query);
 
-            return userPoint;
-        } finally {
-            lock.unlock();
+        PointHistoryQuery pageQuery = query;
+        while (true) {
+            List<PointHistory> items = pointHistoryStore.selectPage(id, pageQuery);
+            items.forEach(consumer);
+            if (items.size() < pageQuery.limit()) return;
+            pageQuery = pageQuery.next(items.get(items.size() - 1).id());
         }
     }
 
+    private void validateQuery(PointHistoryQuery query) {
+        if (query.limit() <= 0 || query.limit() > history.getMaxPageSize())
+            throw new RuntimeException(String.format("limit must be between 1 and %d", history.getMaxPageSize()));
+    }
+
+    public UserPoint chargePoint(long id, long amount) {
+        return chargePoint(id, amount, null);
+    }
+
+    /**
+     * idempotencyKey 가 같은 요청은 한 번만 반영하고 이후에는 처음 요청의 결과를 돌려줍니다. (null 이면 매번 반영)
+     */
+    public UserPoint chargePoint(long id, long amount, String idempotencyKey) {
+        UserValidator.validate(id);
+        PointValidator.validate(amount);
+
+        return execute(Operation.CHARGE, new PointCommand(id, CHARGE, amount), idempotencyKey);
+    }
+
     public UserPoint reducePoint(long id, long amount) {
+        return reducePoint(id, amount, null);
+    }
+
+    /**
+     * idempotencyKey 가 같은 요청은 한 번만 반영하고 이후에는 처음 요청의 결과를 돌려줍니다. (null 이면 매번 반영)
+     */
+    public UserPoint reducePoint(long id, long amount, String idempotencyKey) {
         UserValidator.validate(id);
         PointValidator.validate(amount);
 
-        Lock lock = userLocks.computeIfAbsent(id, k -> new ReentrantLock());
-        lock.lock();
+        return execute(Operation.USE, new PointCommand(id, USE, amount), idempotencyKey);
+    }
+
+    /**
+     * 비동기로 충전합니다. 같은 사용자의 앞선 요청이 끝나기를 쓰레드 없이 기다리며, 정책 위반 시 예외로 완료됩니다.
+     */
+    public CompletableFuture<UserPoint> chargePointAsync(long id, long amount, String idempotencyKey) {
+        return chargePointAsync(id, amount, idempotencyKey, null);
+    }
+
+    /**
+     * @param timeout 사용자 Lock 을 기다릴 최대 시간 (null 이면 point.lock.timeout)
+     */
+    public CompletableFuture<UserPoint> chargePointAsync(long id, long amount, String idempotencyKey, Duration timeout) {
+        Deadline deadline = deadlineOf(timeout);
+        return validated(() -> {
+            UserValidator.validate(id);
+            PointValidator.validate(amount);
+        }).thenCompose(ignored -> executeAsync(Operation.CHARGE, new PointCommand(id, CHARGE, amount), idempotencyKey, deadline));
+    }
+
+    /**
+     * 비동기로 포인트를 사용합니다. 같은 사용자의 앞선 요청이 끝나기를 쓰레드 없이 기다리며, 정책 위반 시 예외로 완료됩니다.
+     */
+    public CompletableFuture<UserPoint> reducePointAsync(long id, long amount, String idempotencyKey) {
+        return reducePointAsync(id, amount, idempotencyKey, null);
+    }
+
+    /**
+     * @param timeout 사용자 Lock 을 기다릴 최대 시간 (null 이면 point.lock.timeout)
+     */
+    public CompletableFuture<UserPoint> reducePointAsync(long id, long amount, String idempotencyKey, Duration timeout) {
+        Deadline deadline = deadlineOf(timeout);
+        return validated(() -> {
+            UserValidator.validate(id);
+            PointValidator.validate(amount);
+        }).thenCompose(ignored -> executeAsync(Operation.USE, new PointCommand(id, USE, amount), idempotencyKey, deadline));
+    }
+
+    /**
+     * 보내는 사용자의 포인트를 받는 사용자에게 옮깁니다.
+     * 두 사용자를 정해진 순서로 멈추므로 서로 반대 방향의 이체가 동시에 들어와도 교착 상태에 빠지지 않으며,
+     * 두 잔고와 이력 한 쌍이 반영됩니다. 보내는 사용자의 잔고가 부족하거나 받는 사용자의 잔고가 최대 포인트를 넘으면 아무것도 반영되지 않습니다.
+     * 멈추는 방법은 방식마다 다릅니다. (Lock, 기록 구간 - SHARDED 의 다른 샤드와 WRITE_BEHIND 는 멈추지 않고 차감, 충전 순으로 반영)
+     */
+    public PointTransferResult transferPoint(long fromId, long toId, long amount) {
+        validateTransfer(fromId, toId, amount);
+
+        Deadline deadline = deadlineOf(null);
+        return metrics.record(Operation.TRANSFER, () -> pointEngine.transfer(fromId, toId, amount, deadline));
+    }
+
+    /**
+     * 비동기로 이체합니다. 두 사용자의 Lock 은 io 쓰레드에서 기다립니다.
+     *
+     * @param timeout 사용자 Lock 을 기다릴 최대 시간 (null 이면 point.lock.timeout)
+     */
+    public CompletableFuture<PointTransferResult> transferPointAsync(long fromId, long toId, long amount, Duration timeout) {
+        Deadline deadline = deadlineOf(timeout);
+        return validated(() -> validateTransfer(fromId, toId, amount)).thenCompose(ignored -> metrics.recordAsync(Operation.TRANSFER,
+                () -> CompletableFuture.supplyAsync(() -> pointEngine.transfer(fromId, toId, amount, deadline), ioExecutor)));
+    }
+
+    private static void validateTransfer(long fromId, long toId, long amount) {
+        UserValidator.validate(fromId);
+        UserValidator.validate(toId);
+        PointValidator.validate(amount);
+        if (fromId == toId) throw new RuntimeException(String.format("can not transfer to the same user. - userId: %d", fromId));
+    }
+
+    /**
+     * 만료된 포인트를 차감합니다. 충전/사용과 같은 사용자별 대기열을 거쳐 반영되며 만료(EXPIRE) 이력으로 기록됩니다.
+     * 차감할 포인트는 엔진이 그 사용자의 다른 요청과 같은 순서 안에서 expirable 로 정하므로,
+     * 만료를 요청한 뒤 먼저 반영된 사용이 쓴 포인트는 차감하지 않고, 잔고가 모자라면 남은 잔고만큼만 차감합니다.
+     */
+    CompletableFuture<UserPoint> expirePointAsync(long id, LongSupplier expirable) {
+        return metrics.recordAsync(Operation.EXPIRE, () -> userTasks.submit(id, Deadline.NONE, () -> pointEngine.expire(id, expirable)));
+    }
+
+    /**
+     * 요청이 들어온 시점부터 timeout 이후를 시한으로 합니다.
+     */
+    private Deadline deadlineOf(Duration timeout) {
+        return Deadline.after(timeout != null ? timeout : lockTimeout);
+    }
 
+    /**
+     * 검증에 실패하면 해당 예외로 완료된 Future 를 돌려줍니다.
+     */
+    private static CompletableFuture<Void> validated(Runnable validation) {
         try {
-            long balance = userPointTable.selectById(id).point() - amount;
-            if (balance < 0) throw new MinusPointException("포인트 잔고가 부족합니다.");
+            validation.run();
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<UserPoint> executeAsync(Operation operation, PointCommand command, String idempotencyKey, Deadline deadline) {
+        if (idempotencyKey == null || idempotencyCache == null)
+            return metrics.recordAsync(operation, () -> submit(command, deadline));
+
+        return idempotencyCache.executeAsync(idempotencyKey, command, () -> metrics.recordAsync(operation, () -> submit(command, deadline)));
+    }
+
+    /**
+     * sharded 방식은 샤드 대기열에 바로 넣고, 그 외에는 사용자별 대기열에서 차례가 오면 io 쓰레드에서 반영합니다.
+     */
+    private CompletableFuture<UserPoint> submit(PointCommand command, Deadline deadline) {
+        if (pointEngine instanceof ShardedPointEngine shardedPointEngine) return shardedPointEngine.submit(command, deadline);
+        return userTasks.submit(command.userId(), deadline, () -> pointEngine.execute(command, deadline));
+    }
+
+    private UserPoint execute(Operation operation, PointCommand command, String idempotencyKey) {
+        Deadline deadline = deadlineOf(null);
+        if (idempotencyKey == null || idempotencyCache == null)
+            return metrics.record(operation, () -> pointEngine.execute(command, deadline));
+
+        return idempotencyCache.execute(idempotencyKey, command, () -> metrics.record(operation, () -> pointEngine.execute(command, deadline)));
+    }
 
-            UserPoint userPoint = userPointTable.insertOrUpdate(id, balance);
-            pointHistoryTable.insert(id, amount, USE, currentTimeMillis());
+    /**
+     * 여러 사용자의 충전/사용 요청을 한 번에 처리합니다.
+     * 서로 다른 사용자의 요청은 병렬로, 같은 사용자의 요청은 요청 순서대로 하나의 배치로 반영되며
+     * 결과는 요청과 같은 순서로 항목마다 돌려줍니다.
+     */
+    public List<PointResult> executeBatch(List<PointCommand> commands) {
+        if (commands.size() > batch.getMaxSize())
+            throw new InvalidRequestException(String.format("you can request up to %d operations at a once", batch.getMaxSize()));
 
-            return userPoint;
-        } finally {
-            lock.unlock();
+        PointResult[] results = new PointResult[commands.size()];
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            PointCommand command = commands.get(i);
+            try {
+                validateCommand(command);
+                indexesByUser.computeIfAbsent(command.userId(), k -> new ArrayList<>()).add(i);
+            } catch (RuntimeException e) {
+                results[i] = PointResult.failure(command, e);
+            }
         }
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(indexesByUser.size());
+        indexesByUser.forEach((userId, indexes) -> tasks.add(CompletableFuture.runAsync(() -> {
+            List<PointCommand> userCommands = indexes.stream().map(commands::get).toList();
+            try {
+                List<PointResult> userResults = pointEngine.executeAll(userId, userCommands);
+                for (int i = 0; i < indexes.size(); i++) results[indexes.get(i)] = userResults.get(i);
+            } catch (RuntimeException e) {
+                // 한 사용자의 실패가 다른 사용자의 결과를 가리지 않도록 그 사용자의 항목만 실패로 채운다.
+                for (int i = 0; i < indexes.size(); i++) results[indexes.get(i)] = PointResult.failure(userCommands.get(i), e);
+            }
+        }, batchExecutor)));
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+
+        return List.of(results);
+    }
+
+    private static void validateCommand(PointCommand command) {
+        UserValidator.validate(command.userId());
+        PointValidator.validate(command.amount());
+        if (command.type() == null) throw new InvalidRequestException("type can not be null.");
+        if (command.type() == EXPIRE) throw new InvalidRequestException("points can not be expired by request.");
+    }
+
+    /**
+     * 다른 노드에서 옮겨 온 사용자의 이력과 잔고를 기록합니다. (클러스터 모드)
+     * 이력은 원래의 시각으로 이 노드에서 새 id 를 받아 기록되며, 충전/사용과 같이 엔진을 거쳐 그 사용자의 다른 요청과 섞이지 않습니다.
+     */
+    public void importUser(long id, long point, List<PointHistory> histories) {
+        validate(id);
+        pointEngine.restore(id, point, histories);
+    }
+
+    /**
+     * 잔고 캐시를 사용하는 경우 캐시 적중/실패 통계를 돌려줍니다.
+     */
+    public Optional<CacheStats> getCacheStats() {
+        return pointStore instanceof CachingPointStore cachingPointStore
+                ? Optional.of(cachingPointStore.stats())
+                : Optional.empty();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (expirations != null) expirations.close();
+        batchExecutor.shutdown();
+        ioExecutor.shutdown();
+        pointEngine.close();
+        pointHistoryStore.close();
+        storage.close();
     }
 }
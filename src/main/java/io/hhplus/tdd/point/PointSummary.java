@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 사용자의 포인트 충전/사용/만료 요약 - 합계와 건수는 전체 기간, days 는 조회한 기간의 일별 요약입니다.
+ */
+public record PointSummary(
+        long userId,
+        long totalCharged,
+        long totalUsed,
+        long chargeCount,
+        long useCount,
+        long totalExpired,
+        long expireCount,
+        List<DailyPointSummary> days
+) {
+}
@@ -0,0 +1,83 @@
+package io.hhplus.tdd.point;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 서비스 내부 작업(비동기 저장소 조회/기록, 일괄 처리)에 사용하는 Executor
+ *
+ * virtual 이면 작업마다 가상 쓰레드를 만들어 테이블 지연(sleep)이나 사용자 Lock 대기 동안 carrier 쓰레드를 반납하므로
+ * 동시에 처리 중인 요청 수가 쓰레드 수에 묶이지 않습니다. 이 경우 threads 는 사용하지 않습니다.
+ * 대기 중인 가상 쓰레드가 carrier 를 점유(pinning)하지 않도록 저장소, 캐시, 클러스터의 임계영역은 synchronized 대신 ReentrantLock 을 사용합니다.
+ *
+ * 빌드 기준은 Java 17 이므로 가상 쓰레드 API 는 실행 중인 JVM 에 있을 때만 reflection 으로 사용하고,
+ * 없으면(Java 17~20) 경고를 남기고 threads 개의 플랫폼 쓰레드로 대신합니다.
+ */
+final class PointThreads {
+
+    private static final Logger log = LoggerFactory.getLogger(PointThreads.class);
+
+    private static final VirtualThreads VIRTUAL_THREADS = VirtualThreads.load();
+
+    private PointThreads() {
+    }
+
+    static ExecutorService newExecutor(String namePrefix, int threads, boolean virtual) {
+        if (virtual) {
+            if (VIRTUAL_THREADS != null) return VIRTUAL_THREADS.newExecutor(namePrefix);
+            log.warn("virtual threads are not available on Java {}, using {} platform threads. - namePrefix: {}",
+                    Runtime.version().feature(), threads, namePrefix);
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 실행 중인 JVM 에서 가상 쓰레드를 사용할 수 있는지 여부
+     */
+    static boolean virtualThreadsAvailable() {
+        return VIRTUAL_THREADS != null;
+    }
+
+    /**
+     * Thread.ofVirtual().name(prefix, 1).factory() 와 Executors.newThreadPerTaskExecutor(factory) 의 reflection 호출
+     */
+    private record VirtualThreads(Method ofVirtual, Method name, Method factory, Method newThreadPerTaskExecutor) {
+
+        static VirtualThreads load() {
+            try {
+                Class<?> builder = Class.forName("java.lang.Thread$Builder");
+                VirtualThreads virtualThreads = new VirtualThreads(
+                        Thread.class.getMethod("ofVirtual"),
+                        builder.getMethod("name", String.class, long.class),
+                        builder.getMethod("factory"),
+                        Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class));
+                // preview 로만 제공되는 JVM 에서는 첫 호출이 실패하므로 미리 만들어 본다.
+                virtualThreads.newExecutor("point-probe-").shutdown();
+                return virtualThreads;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        ExecutorService newExecutor(String namePrefix) {
+            try {
+                Object builder = name.invoke(ofVirtual.invoke(null), namePrefix, 1L);
+                return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory.invoke(builder));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("failed to create a virtual thread executor.", e);
+            }
+        }
+    }
+}
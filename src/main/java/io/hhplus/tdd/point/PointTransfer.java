@@ -0,0 +1,67 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.PointStore;
+import io.hhplus.tdd.exception.PointRollbackException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+
+/**
+ * 한 사용자의 포인트를 다른 사용자에게 옮깁니다.
+ * 두 잔고의 정책 위반 여부를 모두 확인한 뒤에 기록하므로 정책 위반 시 아무것도 기록되지 않으며,
+ * 두 잔고를 먼저 기록하고 이력 한 쌍을 기록합니다.
+ * 받는 사용자의 잔고를 기록하지 못하면 아직 이력이 없으므로 보내는 사용자의 잔고만 되돌리고 {@link PointRollbackException} 을 던집니다.
+ * 되돌리지 못하면 처음의 예외를 그대로 던집니다.
+ * 이력은 {@link PointBatch} 와 같이 잔고가 기록된 뒤에는 기록하지 못하더라도 성공으로 돌려주며(이력은 null),
+ * 저장소가 두 잔고까지 되돌린 경우({@link PointRollbackException})에만 실패로 돌려줍니다.
+ * 반드시 두 사용자의 Lock 을 모두 획득한 상태, 혹은 두 사용자를 혼자 처리하는 쓰레드에서 호출해야 합니다.
+ */
+class PointTransfer {
+
+    private static final Logger log = LoggerFactory.getLogger(PointTransfer.class);
+
+    static PointTransferResult apply(PointStore pointStore, PointHistoryStore pointHistoryStore, long fromUserId, long toUserId, long amount) {
+        long fromPoint = pointStore.selectById(fromUserId).point();
+        long fromBalance = PointPolicy.apply(fromPoint, USE, amount);
+        long toBalance = PointPolicy.apply(pointStore.selectById(toUserId).point(), CHARGE, amount);
+
+        UserPoint from = pointStore.insertOrUpdate(fromUserId, fromBalance);
+        UserPoint to;
+        try {
+            to = pointStore.insertOrUpdate(toUserId, toBalance);
+        } catch (RuntimeException e) {
+            try {
+                pointStore.insertOrUpdate(fromUserId, fromPoint);
+            } catch (RuntimeException compensation) {
+                // 되돌리지 못했으므로 반영되지 않았다고 알리지 않는다.
+                e.addSuppressed(compensation);
+                throw e;
+            }
+            throw new PointRollbackException(String.format(
+                    "failed to write transfer balances, rolled back the transfer. - fromUserId: %d, toUserId: %d", fromUserId, toUserId), e);
+        }
+
+        return insertHistory(pointHistoryStore, from, to, amount);
+    }
+
+    /**
+     * 두 잔고가 기록된 이체의 이력 한 쌍을 받는 사용자의 잔고가 기록된 시각으로 기록합니다.
+     */
+    static PointTransferResult insertHistory(PointHistoryStore pointHistoryStore, UserPoint from, UserPoint to, long amount) {
+        try {
+            List<PointHistory> pair = pointHistoryStore.insertTransfer(from.id(), to.id(), amount, to.updateMillis());
+            return new PointTransferResult(from, to, pair.get(0), pair.get(1));
+        } catch (PointRollbackException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("failed to insert history of an applied transfer. - fromUserId: {}, toUserId: {}, amount: {}",
+                    from.id(), to.id(), amount, e);
+            return new PointTransferResult(from, to, null, null);
+        }
+    }
+}
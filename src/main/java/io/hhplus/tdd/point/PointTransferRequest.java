@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 요청 - 보내는 사용자는 요청 경로의 사용자입니다.
+ */
+public record PointTransferRequest(
+        long toUserId,
+        long amount
+) {
+}
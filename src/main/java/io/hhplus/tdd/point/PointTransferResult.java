@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 결과 - 반영된 두 사용자의 잔고와 함께 기록된 사용(withdrawal)/충전(deposit) 이력 한 쌍
+ * 잔고를 반영한 뒤 이력을 기록하지 못한 경우 두 이력은 null 입니다.
+ */
+public record PointTransferResult(
+        UserPoint from,
+        UserPoint to,
+        PointHistory withdrawal,
+        PointHistory deposit
+) {
+}
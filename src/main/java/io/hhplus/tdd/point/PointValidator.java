@@ -1,5 +1,7 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.exception.InvalidRequestException;
+
 import static io.hhplus.tdd.point.PointService.MAXIMUM_POINT;
 
 public class PointValidator {
@@ -9,8 +11,8 @@ public class PointValidator {
      * @param point
      */
     public static void validate(Long point) {
-        if (point == null) throw new RuntimeException("point can not be null.");
-        if (point < 0) throw new RuntimeException("point can not be negative.");
-        if (point > MAXIMUM_POINT) throw new RuntimeException(String.format("you can just dael below or equal %d point at a once", MAXIMUM_POINT));
+        if (point == null) throw new InvalidRequestException("point can not be null.");
+        if (point < 0) throw new InvalidRequestException("point can not be negative.");
+        if (point > MAXIMUM_POINT) throw new InvalidRequestException(String.format("you can just dael below or equal %d point at a once", MAXIMUM_POINT));
     }
 }
\ No newline at end of file
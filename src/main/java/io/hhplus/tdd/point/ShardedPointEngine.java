@@ -0,0 +1,379 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.PointStore;
+import io.hhplus.tdd.exception.DeadlineExceededException;
+import io.hhplus.tdd.exception.PointRollbackException;
+import io.hhplus.tdd.exception.TooManyPendingRequestsException;
+import io.hhplus.tdd.lock.Deadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+
+/**
+ * 사용자를 고정된 수의 샤드에 나눠 샤드마다 하나의 쓰레드가 충전/사용을 반영하는 방식 (single writer)
+ *
+ * 사용자 Id 해시로 샤드가 정해지고 해당 사용자의 잔고는 그 샤드의 쓰레드만 변경하므로 사용자 Lock 이 필요 없습니다.
+ * 요청은 샤드의 Lock-free 대기열({@link MpscRingBuffer})에 들어가며, 샤드 쓰레드는 쌓인 요청을 꺼내
+ * 사용자별로 묶어 {@link PointBatch} 로 반영한 뒤 요청마다 결과를 돌려줍니다.
+ * 대기열이 가득 차면 요청한 쓰레드가 빈 자리가 생길 때까지 최대 offerTimeout (요청의 시한이 더 짧으면 그 시한) 만큼 기다린 뒤
+ * {@link TooManyPendingRequestsException} 으로 거절합니다.
+ * 이체는 보내는 사용자의 샤드에서 차감한 뒤 받는 사용자의 샤드에서 충전하므로 어느 샤드도 멈추지 않습니다.
+ */
+public class ShardedPointEngine implements PointEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedPointEngine.class);
+
+    private static final int MAX_DRAIN = 256;
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long REFUND_RETRY_MILLIS = 100;
+
+    private final PointStore pointStore;
+    private final PointHistoryStore pointHistoryStore;
+    private final Shard[] shards;
+    private final long offerTimeoutNanos;
+    private volatile boolean running = true;
+
+    public ShardedPointEngine(PointStore pointStore, PointHistoryStore pointHistoryStore, int shardCount, int inboxCapacity) {
+        this(pointStore, pointHistoryStore, shardCount, inboxCapacity, Duration.ofSeconds(1));
+    }
+
+    /**
+     * @param shardCount 샤드 수 (0 이하이면 사용 가능한 코어 수)
+     * @param inboxCapacity 샤드마다 대기할 수 있는 최대 요청 수
+     * @param offerTimeout 대기열이 가득 찼을 때 빈 자리를 기다리는 최대 시간
+     */
+    public ShardedPointEngine(PointStore pointStore, PointHistoryStore pointHistoryStore, int shardCount, int inboxCapacity, Duration offerTimeout) {
+        this.pointStore = pointStore;
+        this.pointHistoryStore = pointHistoryStore;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) shards[i] = new Shard(i, inboxCapacity);
+    }
+
+    /**
+     * 요청을 해당 사용자의 샤드에 넣고 반영 결과를 비동기로 돌려줍니다.
+     * 정책 위반 시 {@link PointPolicy} 의 예외로, 대기열에 넣지 못하면 {@link TooManyPendingRequestsException} 으로 완료됩니다.
+     */
+    public CompletableFuture<UserPoint> submit(PointCommand command) {
+        return submit(command, Deadline.NONE);
+    }
+
+    /**
+     * 샤드 쓰레드가 꺼냈을 때 시한이 지난 요청은 반영하지 않고 {@link DeadlineExceededException} 으로 완료됩니다.
+     */
+    public CompletableFuture<UserPoint> submit(PointCommand command, Deadline deadline) {
+        PendingCommand pending = new PendingCommand(command.userId(), command, null, deadline);
+        shardOf(command.userId()).offer(pending);
+        return pending.result;
+    }
+
+    @Override
+    public UserPoint execute(PointCommand command) {
+        return execute(command, Deadline.NONE);
+    }
+
+    @Override
+    public UserPoint execute(PointCommand command, Deadline deadline) {
+        try {
+            return submit(command, deadline).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * 같은 샤드의 대기열에 순서대로 넣으므로 요청 순서대로 반영됩니다.
+     */
+    @Override
+    public List<PointResult> executeAll(long userId, List<PointCommand> commands) {
+        List<CompletableFuture<UserPoint>> results = commands.stream().map(this::submit).toList();
+
+        List<PointResult> pointResults = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            try {
+                pointResults.add(PointResult.success(commands.get(i), results.get(i).join()));
+            } catch (CompletionException e) {
+                pointResults.add(PointResult.failure(commands.get(i),
+                        e.getCause() instanceof RuntimeException cause ? cause : e));
+            }
+        }
+        return pointResults;
+    }
+
+    /**
+     * 사용자의 샤드 쓰레드에서 반영하므로 대기열에서 앞선 요청은 먼저, 뒤의 요청은 나중에 반영됩니다.
+     */
+    @Override
+    public UserPoint restore(long userId, long point, List<PointHistory> histories) {
+        PendingCommand pending = new PendingCommand(userId, null,
+                () -> PointRestore.apply(pointStore, pointHistoryStore, userId, point, histories), Deadline.NONE);
+        shardOf(userId).offer(pending);
+        try {
+            return pending.result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * 사용자의 샤드 쓰레드에서 반영하므로 대기열에서 앞선 사용은 만료 예정 포인트에서 이미 빠져 있습니다.
+     */
+    @Override
+    public UserPoint expire(long userId, LongSupplier expirable) {
+        PendingCommand pending = new PendingCommand(userId, null,
+                () -> PointExpiry.apply(pointStore, pointHistoryStore, userId, expirable), Deadline.NONE);
+        shardOf(userId).offer(pending);
+        try {
+            return pending.result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * 두 사용자가 같은 샤드이면 그 샤드 쓰레드가 한 번에 반영합니다.
+     * 다른 샤드이면 보내는 사용자의 샤드에서 잔고를 차감하고, 받는 사용자의 샤드에서 잔고를 충전한 뒤 이력 한 쌍을 기록합니다.
+     * 따라서 보내는 사용자의 이체 이후 요청의 이력이 이체의 이력보다 먼저 기록될 수 있습니다.
+     * 차감 작업을 꺼내기 전에 시한이 지나거나 대기열에 넣지 못하면 반영하지 않고 그 예외를 던지며,
+     * 차감한 뒤에는 시한과 관계없이 충전합니다.
+     * 충전하지 못하면 차감한 금액을 보내는 사용자의 샤드에서 되돌린 뒤 그 예외를 던집니다.
+     * 되돌리는 것도 충전과 같이 정책을 따르므로, 그 사이의 충전으로 최대 포인트를 넘게 되면 여유가 생길 때까지 다시 시도합니다.
+     * 저장소가 두 잔고를 이미 되돌린 경우({@link PointRollbackException})에는 다시 되돌리지 않습니다.
+     */
+    @Override
+    public PointTransferResult transfer(long fromUserId, long toUserId, long amount, Deadline deadline) {
+        PointTransferResult[] result = new PointTransferResult[1];
+        if (shardOf(fromUserId) == shardOf(toUserId)) {
+            run(fromUserId, () -> (result[0] = PointTransfer.apply(pointStore, pointHistoryStore, fromUserId, toUserId, amount)).from(), deadline);
+            return result[0];
+        }
+
+        UserPoint from = run(fromUserId, () -> pointStore.insertOrUpdate(fromUserId,
+                PointPolicy.apply(pointStore.selectById(fromUserId).point(), USE, amount)), deadline);
+        try {
+            run(toUserId, () -> {
+                UserPoint to = pointStore.insertOrUpdate(toUserId, PointPolicy.apply(pointStore.selectById(toUserId).point(), CHARGE, amount));
+                return (result[0] = PointTransfer.insertHistory(pointHistoryStore, from, to, amount)).to();
+            }, Deadline.NONE);
+            return result[0];
+        } catch (PointRollbackException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            refund(fromUserId, amount).exceptionally(ignored -> null).join();
+            throw e;
+        }
+    }
+
+    /**
+     * 사용자의 샤드 쓰레드에서 작업을 실행하고 결과를 기다립니다.
+     */
+    private UserPoint run(long userId, Supplier<UserPoint> task, Deadline deadline) {
+        PendingCommand pending = new PendingCommand(userId, null, task, deadline);
+        shardOf(userId).offer(pending);
+        try {
+            return pending.result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * 이체 금액을 보내는 사용자의 샤드에서 되돌리며, 되돌리지 못하면 REFUND_RETRY_MILLIS 뒤에 다시 시도합니다.
+     * 첫 시도의 결과를 돌려줍니다.
+     */
+    private CompletableFuture<UserPoint> refund(long userId, long amount) {
+        PendingCommand pending = new PendingCommand(userId, null, () -> pointStore.insertOrUpdate(userId,
+                PointPolicy.apply(pointStore.selectById(userId).point(), CHARGE, amount)), Deadline.NONE);
+        pending.result.whenComplete((ignored, e) -> {
+            if (e == null) return;
+            if (!running) {
+                log.error("could not refund a transfer before closing. - userId: {}, amount: {}", userId, amount, e);
+                return;
+            }
+            log.warn("failed to refund a transfer, retrying. - userId: {}, amount: {}", userId, amount, e);
+            CompletableFuture.delayedExecutor(REFUND_RETRY_MILLIS, TimeUnit.MILLISECONDS).execute(() -> refund(userId, amount));
+        });
+        shardOf(userId).offer(pending);
+        return pending.result;
+    }
+
+    @Override
+    public UserPoint find(long userId) {
+        return pointStore.selectById(userId);
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * 사용자의 잔고를 반영하는 샤드 번호
+     */
+    int shardIndexOf(long userId) {
+        return Math.floorMod(Long.hashCode(userId * 0x9E3779B97F4A7C15L), shards.length);
+    }
+
+    private Shard shardOf(long userId) {
+        return shards[shardIndexOf(userId)];
+    }
+
+    /**
+     * 새 요청을 받지 않고 대기열에 남은 요청을 모두 반영한 뒤 종료합니다.
+     * 종료 전에 받아들여진 요청은 모두 반영되고, 그 이후의 요청은 {@link IllegalStateException} 으로 완료됩니다.
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Shard shard : shards) LockSupport.unpark(shard.worker);
+        for (Shard shard : shards) {
+            try {
+                shard.worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private class Shard {
+        private final MpscRingBuffer<PendingCommand> inbox;
+        private final Thread worker;
+        /** 대기열에 넣는 중인 요청 수 - 0 이 될 때까지 샤드 쓰레드는 종료하지 않습니다. */
+        private final AtomicInteger offering = new AtomicInteger();
+        private volatile boolean parked;
+
+        private Shard(int index, int inboxCapacity) {
+            this.inbox = new MpscRingBuffer<>(inboxCapacity);
+            this.worker = new Thread(this::run, "point-shard-" + index);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        /**
+         * running 을 확인하기 전에 offering 을 올리므로, 종료를 보지 못하고 넣은 요청은 샤드 쓰레드가 반드시 꺼냅니다.
+         * 가득 찬 대기열은 점점 길게 잠들며 기다리고, 시간 안에 자리가 나지 않으면 거절합니다.
+         */
+        private void offer(PendingCommand pending) {
+            offering.incrementAndGet();
+            try {
+                long waitUntil = System.nanoTime() + Math.min(offerTimeoutNanos, pending.deadline.remainingNanos());
+                long backoff = 1_000;
+                while (running) {
+                    if (inbox.offer(pending)) {
+                        if (parked) LockSupport.unpark(worker);
+                        return;
+                    }
+                    if (waitUntil - System.nanoTime() <= 0) {
+                        pending.result.completeExceptionally(new TooManyPendingRequestsException(
+                                String.format("shard inbox is full. - userId: %d", pending.userId)));
+                        return;
+                    }
+                    LockSupport.parkNanos(this, backoff);
+                    backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+                }
+                pending.result.completeExceptionally(new IllegalStateException("point engine is closed."));
+            } finally {
+                offering.decrementAndGet();
+            }
+        }
+
+        private void run() {
+            List<PendingCommand> drained = new ArrayList<>(MAX_DRAIN);
+            while (running || offering.get() > 0 || !inbox.isEmpty()) {
+                for (PendingCommand pending; drained.size() < MAX_DRAIN && (pending = inbox.poll()) != null; ) drained.add(pending);
+                if (drained.isEmpty()) {
+                    idle();
+                    continue;
+                }
+
+                apply(drained);
+                drained.clear();
+            }
+        }
+
+        /**
+         * 대기열이 빈 것을 확인한 뒤에만 잠들고, 요청을 넣은 쓰레드가 parked 를 보고 깨웁니다.
+         */
+        private void idle() {
+            parked = true;
+            if (inbox.isEmpty() && (running || offering.get() > 0)) LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+            parked = false;
+        }
+
+        /**
+         * 꺼낸 요청을 사용자별로 묶어 사용자마다 잔고를 한 번만 조회/기록합니다.
+         * 요청이 아닌 작업(task)을 만나면 그 앞에 묶은 요청을 먼저 반영한 뒤 실행해 순서를 지킵니다.
+         */
+        private void apply(List<PendingCommand> drained) {
+            Map<Long, List<PendingCommand>> byUser = new LinkedHashMap<>();
+            for (PendingCommand pending : drained) {
+                if (pending.deadline.isExpired()) {
+                    pending.result.completeExceptionally(new DeadlineExceededException(
+                            String.format("request expired while waiting in the shard. - userId: %d", pending.userId)));
+                    continue;
+                }
+                if (pending.task != null) {
+                    applyBatches(byUser);
+                    byUser.clear();
+                    pending.run();
+                    continue;
+                }
+                byUser.computeIfAbsent(pending.userId, k -> new ArrayList<>()).add(pending);
+            }
+            applyBatches(byUser);
+        }
+
+        private void applyBatches(Map<Long, List<PendingCommand>> byUser) {
+            byUser.forEach((userId, pendings) -> {
+                List<PointResult> results = PointBatch.apply(pointStore, pointHistoryStore, userId,
+                        pendings.stream().map(pending -> pending.command).toList());
+                for (int i = 0; i < pendings.size(); i++) pendings.get(i).complete(results.get(i));
+            });
+        }
+    }
+
+    private static class PendingCommand {
+        private final long userId;
+        private final PointCommand command;
+        /** 요청 대신 샤드 쓰레드에서 실행할 작업 (사용자 이동, 이체, 만료) */
+        private final Supplier<UserPoint> task;
+        private final Deadline deadline;
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+        private PendingCommand(long userId, PointCommand command, Supplier<UserPoint> task, Deadline deadline) {
+            this.userId = userId;
+            this.command = command;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        private void run() {
+            try {
+                result.complete(task.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void complete(PointResult pointResult) {
+            if (pointResult.isSuccess()) result.complete(pointResult.userPoint());
+            else result.completeExceptionally(pointResult.error());
+        }
+    }
+}
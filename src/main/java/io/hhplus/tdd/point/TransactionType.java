@@ -5,7 +5,9 @@ package io.hhplus.tdd.point;
  * 포인트 트랜잭션 종류
  * - CHARGE : 충전
  * - USE : 사용
+ * - EXPIRE : 만료 (충전 후 기간이 지나 차감)
+ * 저장 계층이 ordinal 로 기록하므로 새 종류는 뒤에만 추가해야 합니다.
  */
 public enum TransactionType {
-    CHARGE, USE
+    CHARGE, USE, EXPIRE
 }
\ No newline at end of file
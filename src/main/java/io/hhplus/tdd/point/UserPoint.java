@@ -1,11 +1,22 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * version 은 잔고가 기록될 때마다 1 씩 증가합니다. 버전을 관리하지 않는 저장소(UserPointTable)에서는 항상 0 입니다.
+ * version 은 저장소 내부의 값이므로 응답에는 포함하지 않습니다.
+ */
 public record UserPoint(
         long id,
         long point,
-        long updateMillis
+        long updateMillis,
+        @JsonIgnore long version
 ) {
 
+    public UserPoint(long id, long point, long updateMillis) {
+        this(id, point, updateMillis, 0);
+    }
+
     public static UserPoint empty(long id) {
         return new UserPoint(id, 0, System.currentTimeMillis());
     }
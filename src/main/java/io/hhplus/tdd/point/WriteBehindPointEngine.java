@@ -0,0 +1,328 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.PointStore;
+import io.hhplus.tdd.lock.Deadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.EXPIRE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static java.lang.System.currentTimeMillis;
+
+/**
+ * Lock 없이 메모리의 잔고를 기준으로 충전/사용을 반영하는 방식
+ *
+ * 사용자별 잔고는 {@link AtomicReference} 로 관리되며 compare-and-set 으로 정책 검증과 반영을 함께 수행합니다.
+ * 테이블에는 백그라운드 쓰레드가 주기적으로 최신 잔고만 기록(write-behind)하므로,
+ * 같은 사용자에 대한 여러 번의 변경은 한 번의 insertOrUpdate 로 합쳐집니다.
+ * 충전/사용 이력 또한 같은 주기에 기록되므로 이력 조회에는 최대 flush 주기만큼의 지연이 있습니다.
+ * 이체의 이력 한 쌍은 한 단위로 기록합니다.
+ * 이체가 받는 사용자에게 반영되지 못해 되돌려야 하는 금액도 충전과 같이 정책을 따르며, 되돌릴 수 없으면 다음 주기에 다시 시도합니다.
+ * 기록에 실패한 잔고와 이력은 다음 주기에 다시 기록합니다.
+ * 한 주기 동안 사용되지 않은 사용자의 잔고는 테이블에 기록된 뒤 메모리에서 제거되므로, 최근에 사용된 사용자 수만큼만 메모리를 사용합니다.
+ */
+public class WriteBehindPointEngine implements PointEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindPointEngine.class);
+
+    /** 메모리에서 제거된 잔고 - 이 값을 읽은 요청은 잔고를 다시 읽어옵니다. */
+    private static final UserPoint EVICTED = new UserPoint(0, 0, 0);
+
+    private final Map<Long, Balance> balances = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyUsers = ConcurrentHashMap.newKeySet();
+    /** 한 번에 기록할 이력 - 이체는 사용/충전 이력 한 쌍, 그 외에는 이력 하나 */
+    private final Queue<List<PointHistory>> pendingHistories = new ConcurrentLinkedQueue<>();
+    /** 기록 순서를 지키기 위해 새 이력보다 먼저 기록할, 앞선 주기에 기록하지 못한 이력 (flush 쓰레드, 종료 후에는 close 에서만 사용) */
+    private final Deque<List<PointHistory>> unwrittenHistories = new ArrayDeque<>();
+    /** 보내는 사용자에게 아직 되돌리지 못한 이체 금액 */
+    private final Queue<Refund> pendingRefunds = new ConcurrentLinkedQueue<>();
+
+    private final PointStore pointStore;
+    private final PointHistoryStore pointHistoryStore;
+    private final ScheduledExecutorService flusher;
+
+    public WriteBehindPointEngine(PointStore pointStore, PointHistoryStore pointHistoryStore, long flushIntervalMillis) {
+        this.pointStore = pointStore;
+        this.pointHistoryStore = pointHistoryStore;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(() -> {
+            // 예외가 전파되면 이후의 주기가 모두 취소되므로 여기서 멈춘다.
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("failed to flush point changes", e);
+            }
+        }, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public UserPoint execute(PointCommand command) {
+        UserPoint updated = update(command.userId(), point -> PointPolicy.apply(point, command.type(), command.amount()));
+        pendingHistories.offer(List.of(new PointHistory(0, command.userId(), command.amount(), command.type(), updated.updateMillis())));
+        return updated;
+    }
+
+    /**
+     * 보내는 사용자의 잔고를 먼저 줄인 뒤 받는 사용자의 잔고를 늘리고, 이력 한 쌍은 다음 주기에 한 단위로 기록합니다.
+     * 받는 사용자의 잔고가 정책을 위반하면 줄인 만큼을 충전과 같은 정책으로 되돌리므로, 그 사이 보내는 사용자의 잔고는 줄어든 값으로 조회될 수 있습니다.
+     * 그 사이의 충전으로 되돌리면 최대 포인트를 넘게 되는 경우에는 여유가 생길 때까지 flush 주기마다 다시 시도합니다.
+     * 두 사용자를 함께 멈추지 않으므로 시한은 사용하지 않습니다.
+     */
+    @Override
+    public PointTransferResult transfer(long fromUserId, long toUserId, long amount, Deadline deadline) {
+        UserPoint from = update(fromUserId, point -> PointPolicy.apply(point, USE, amount));
+        UserPoint to;
+        try {
+            to = update(toUserId, point -> PointPolicy.apply(point, CHARGE, amount));
+        } catch (RuntimeException e) {
+            refund(new Refund(fromUserId, amount));
+            throw e;
+        }
+
+        PointHistory withdrawal = new PointHistory(0, fromUserId, amount, USE, to.updateMillis());
+        PointHistory deposit = new PointHistory(0, toUserId, amount, CHARGE, to.updateMillis());
+        pendingHistories.offer(List.of(withdrawal, deposit));
+        return new PointTransferResult(from, to, withdrawal, deposit);
+    }
+
+    /**
+     * 메모리의 잔고를 compare-and-set 으로 바꾸고, 이력은 다음 주기에 원래의 시각으로 기록합니다.
+     */
+    @Override
+    public UserPoint restore(long userId, long point, List<PointHistory> histories) {
+        UserPoint restored = update(userId, ignored -> point);
+        for (PointHistory pointHistory : histories)
+            pendingHistories.offer(List.of(new PointHistory(0, userId, pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis())));
+        return restored;
+    }
+
+    /**
+     * compare-and-set 을 시도할 때마다 읽은 잔고로 차감할 포인트를 정합니다.
+     * 이력은 다음 주기에 기록되므로 그 전의 사용은 expirable 에 반영되지 않아, 만료와 함께 사용할 수 없습니다. (시작 시 거절)
+     */
+    @Override
+    public UserPoint expire(long userId, LongSupplier expirable) {
+        long[] expired = new long[1];
+        UserPoint updated = update(userId, point -> {
+            expired[0] = Math.min(expirable.getAsLong(), point);
+            return point - expired[0];
+        });
+        if (expired[0] > 0) pendingHistories.offer(List.of(new PointHistory(0, userId, expired[0], EXPIRE, updated.updateMillis())));
+        return updated;
+    }
+
+    /**
+     * 이체 금액을 보내는 사용자에게 되돌리며, 되돌리지 못하면 다음 주기에 다시 시도하도록 남깁니다.
+     */
+    private void refund(Refund refund) {
+        try {
+            update(refund.userId(), point -> PointPolicy.apply(point, CHARGE, refund.amount()));
+        } catch (RuntimeException e) {
+            log.warn("failed to refund a transfer, retrying on the next flush. - userId: {}, amount: {}", refund.userId(), refund.amount(), e);
+            pendingRefunds.offer(refund);
+        }
+    }
+
+    /**
+     * 메모리의 잔고를 compare-and-set 으로 바꿉니다. 정책 위반은 읽은 잔고 기준으로 판단해 바로 예외를 던집니다.
+     */
+    private UserPoint update(long userId, LongUnaryOperator operator) {
+        for (;;) {
+            Balance balance = load(userId);
+            UserPoint current = balance.get();
+            if (current == EVICTED) {
+                balances.remove(userId, balance);
+                continue;
+            }
+
+            UserPoint updated = new UserPoint(userId, operator.applyAsLong(current.point()), currentTimeMillis());
+            if (!balance.compareAndSet(current, updated)) continue;
+
+            dirtyUsers.add(userId);
+            return updated;
+        }
+    }
+
+    @Override
+    public UserPoint find(long userId) {
+        for (;;) {
+            Balance balance = load(userId);
+            UserPoint current = balance.get();
+            if (current != EVICTED) return current;
+            balances.remove(userId, balance);
+        }
+    }
+
+    /**
+     * 메모리에 없는 사용자는 테이블에서 잔고를 읽어온 뒤 메모리의 값을 기준으로 처리합니다.
+     * 테이블 조회는 맵 밖에서 하며, 먼저 자리를 맡은 요청만 조회하고 같은 사용자의 다른 요청은 그 결과를 기다립니다.
+     * 자리를 맡은 뒤에 조회하므로 앞서 제거된 잔고보다 오래된 값을 읽지 않습니다.
+     */
+    private Balance load(long userId) {
+        for (;;) {
+            Balance balance = balances.get(userId);
+            if (balance == null) {
+                Balance created = new Balance();
+                balance = balances.putIfAbsent(userId, created);
+                if (balance == null) return fill(userId, created);
+            }
+
+            try {
+                balance.loaded.join();
+                balance.accessed = true;
+                return balance;
+            } catch (CompletionException e) {
+                // 조회에 실패한 자리는 맡은 요청이 제거하므로 다시 시도한다.
+                balances.remove(userId, balance);
+            }
+        }
+    }
+
+    private Balance fill(long userId, Balance created) {
+        try {
+            UserPoint userPoint = pointStore.selectById(userId);
+            created.flushed = userPoint;
+            created.set(userPoint);
+            created.loaded.complete(null);
+            return created;
+        } catch (RuntimeException e) {
+            balances.remove(userId, created);
+            created.loaded.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 변경된 사용자의 최신 잔고와 쌓인 이력을 테이블에 기록합니다.
+     * dirty 표시를 먼저 지운 뒤 잔고를 읽으므로, 기록 도중 변경된 잔고는 다음 주기에 다시 기록됩니다.
+     * 이력은 기록에 실패한 지점에서 멈추고, 남은 이력은 순서대로 다음 주기에 다시 기록합니다.
+     * 잔고를 기록한 뒤에는 한 주기 동안 사용되지 않은 사용자를 메모리에서 제거합니다.
+     * 아직 되돌리지 못한 이체 금액은 잔고를 기록하기 전에 다시 되돌려 봅니다.
+     */
+    void flush() {
+        for (int i = pendingRefunds.size(); i > 0; i--) {
+            Refund refund = pendingRefunds.poll();
+            if (refund == null) break;
+            refund(refund);
+        }
+
+        List<Long> failedUsers = new ArrayList<>();
+        for (Long userId : dirtyUsers) {
+            dirtyUsers.remove(userId);
+            Balance balance = balances.get(userId);
+            UserPoint current = balance == null ? EVICTED : balance.get();
+            if (current == EVICTED) continue;
+            try {
+                pointStore.insertOrUpdate(userId, current.point());
+                balance.flushed = current;
+            } catch (RuntimeException e) {
+                log.warn("failed to write point, retrying on the next flush. - userId: {}", userId, e);
+                failedUsers.add(userId);
+            }
+        }
+        dirtyUsers.addAll(failedUsers);
+        evictIdle();
+
+        for (List<PointHistory> unit; (unit = pendingHistories.poll()) != null; ) unwrittenHistories.offer(unit);
+        for (List<PointHistory> unit; (unit = unwrittenHistories.peek()) != null; unwrittenHistories.poll()) {
+            try {
+                write(unit);
+            } catch (RuntimeException e) {
+                log.warn("failed to write point history, retrying {} histories on the next flush.", unwrittenHistories.stream().mapToInt(List::size).sum(), e);
+                return;
+            }
+        }
+    }
+
+    private void write(List<PointHistory> unit) {
+        PointHistory history = unit.get(0);
+        if (unit.size() == 1) {
+            pointHistoryStore.insert(history.userId(), history.amount(), history.type(), history.updateMillis());
+        } else {
+            pointHistoryStore.insertTransfer(history.userId(), unit.get(1).userId(), history.amount(), history.updateMillis());
+        }
+    }
+
+    /**
+     * 테이블에 기록된 잔고 그대로이며 직전 주기 이후 사용되지 않은 사용자를 제거합니다.
+     * 제거 표시(EVICTED)를 compare-and-set 으로 남기므로, 그 사이 반영된 변경이 있으면 제거하지 않고,
+     * 이미 잔고를 읽어간 요청은 compare-and-set 에 실패해 테이블에서 다시 읽습니다.
+     */
+    private void evictIdle() {
+        balances.forEach((userId, balance) -> {
+            if (balance.accessed) {
+                balance.accessed = false;
+                return;
+            }
+            UserPoint flushed = balance.flushed;
+            if (flushed != null && balance.compareAndSet(flushed, EVICTED)) balances.remove(userId, balance);
+        });
+    }
+
+    /**
+     * 메모리에 있는 사용자 수
+     */
+    int size() {
+        return balances.size();
+    }
+
+    /**
+     * 종료 시 남아있는 변경사항을 모두 기록합니다.
+     */
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        if (!pendingRefunds.isEmpty()) log.error("closed with transfers not refunded. - refunds: {}", pendingRefunds);
+    }
+
+    /**
+     * 아직 되돌리지 못한 이체 금액 수
+     */
+    int pendingRefunds() {
+        return pendingRefunds.size();
+    }
+
+    private record Refund(long userId, long amount) {
+    }
+
+    /**
+     * 사용자의 메모리 잔고 - 테이블에서 읽어오기 전에는 null 이며 loaded 가 완료되면 채워집니다.
+     */
+    private static final class Balance extends AtomicReference<UserPoint> {
+        private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+        /** 테이블에 기록된(혹은 테이블에서 읽어온) 잔고 */
+        private volatile UserPoint flushed;
+        /** 직전 flush 이후 사용되었는지 여부 */
+        private volatile boolean accessed = true;
+    }
+}
@@ -1,8 +1,10 @@
 package io.hhplus.tdd.user;
 
+import io.hhplus.tdd.exception.InvalidRequestException;
+
 public class UserValidator {
     public static void validate(Long userId) {
-        if (userId == null) throw new RuntimeException("userId can not be null.");
-        if (userId <= 0) throw new RuntimeException(String.format("userId can not be zero or negative. - given userId: %d", userId));
+        if (userId == null) throw new InvalidRequestException("userId can not be null.");
+        if (userId <= 0) throw new InvalidRequestException(String.format("userId can not be zero or negative. - given userId: %d", userId));
     }
 }
@@ -0,0 +1,67 @@
+package io.hhplus.tdd.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ConsistentHashRing class Unit Test
+ */
+class ConsistentHashRingTest {
+
+    private static final int USERS = 100_000;
+
+    private static ClusterNode node(String id) {
+        return new ClusterNode(id, URI.create("http://" + id + ":8080"));
+    }
+
+    /**
+     * 연속된 사용자 Id 도 노드마다 고르게 나뉜다. (평균의 ±20% 이내)
+     */
+    @Test
+    @DisplayName("노드별 사용자 분배")
+    void ownerOf() {
+        // given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(node("a"), node("b"), node("c"), node("d")), 160);
+
+        // when
+        Map<String, Integer> counts = new HashMap<>();
+        for (long userId = 1; userId <= USERS; userId++) counts.merge(ring.ownerOf(userId).id(), 1, Integer::sum);
+
+        // then
+        assertThat(counts).hasSize(4);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(USERS / 4 * 8 / 10, USERS / 4 * 12 / 10));
+    }
+
+    /**
+     * 노드를 추가하면 약 1/N 의 사용자만 담당 노드가 바뀌며, 바뀐 사용자는 모두 새 노드로 옮겨진다.
+     */
+    @Test
+    @DisplayName("노드 추가 시 새 노드로만 이동")
+    void with() {
+        // given
+        ConsistentHashRing before = new ConsistentHashRing(List.of(node("a"), node("b"), node("c")), 160);
+
+        // when
+        ConsistentHashRing after = before.with(node("d"));
+
+        // then
+        int moved = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            ClusterNode owner = after.ownerOf(userId);
+            if (owner.equals(before.ownerOf(userId))) continue;
+            assertThat(owner.id()).isEqualTo("d");
+            moved++;
+        }
+        assertThat(moved).isBetween(USERS / 4 * 8 / 10, USERS / 4 * 12 / 10);
+        assertThat(after.without(List.of("d")).ownerOf(42L)).isEqualTo(before.ownerOf(42L));
+        assertThatThrownBy(() -> after.with(node("d"))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
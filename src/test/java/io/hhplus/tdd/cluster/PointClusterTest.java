@@ -0,0 +1,174 @@
+package io.hhplus.tdd.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * PointCluster class Unit Test
+ */
+class PointClusterTest {
+
+    private static final ClusterNode A = new ClusterNode("a", URI.create("http://localhost:8081"));
+    private static final ClusterNode B = new ClusterNode("b", URI.create("http://localhost:8082"));
+
+    /** HTTP 대신 같은 JVM 의 다른 노드를 직접 호출하는 클라이언트 */
+    private static class DirectClient extends PointClusterClient {
+        private final Map<String, PointCluster> nodes = new ConcurrentHashMap<>();
+
+        DirectClient() {
+            super(Duration.ofSeconds(1), new ObjectMapper());
+        }
+
+        @Override
+        public PointUserExport export(ClusterNode node, long userId, ClusterNode self) {
+            return nodes.get(node.id()).export(userId, self);
+        }
+    }
+
+    private static PointCluster node(String self, List<ClusterNode> nodes, List<String> joining, PointService pointService, DirectClient client) {
+        return node(self, nodes, joining, pointService, client, Duration.ofSeconds(5));
+    }
+
+    private static PointCluster node(String self, List<ClusterNode> nodes, List<String> joining, PointService pointService, DirectClient client,
+                                     Duration timeout) {
+        PointProperties.Cluster cluster = new PointProperties.Cluster();
+        cluster.setEnabled(true);
+        cluster.setSelf(self);
+        cluster.setNodes(nodes);
+        cluster.setJoining(joining);
+        cluster.setTimeout(timeout);
+        PointCluster pointCluster = new PointCluster(cluster, pointService, client);
+        client.nodes.put(self, pointCluster);
+        return pointCluster;
+    }
+
+    /**
+     * 새로 추가된 노드는 담당하게 된 사용자의 잔고와 이력을 처음 요청을 받을 때 이전 노드에서 가져오고,
+     * 이전 노드는 이후 그 사용자의 요청을 새 노드로 보낸다.
+     */
+    @Test
+    @DisplayName("노드 추가 시 사용자 이동")
+    void migrate() {
+        // given - a 혼자 모든 사용자를 담당하던 중 b 가 추가된다.
+        DirectClient client = new DirectClient();
+        PointService serviceA = new PointService(new FakeUserPointTable(), new FakePointHistoryTable());
+        PointService serviceB = new PointService(new FakeUserPointTable(), new FakePointHistoryTable());
+        PointCluster nodeA = node("a", List.of(A), List.of(), serviceA, client);
+        PointCluster nodeB = node("b", List.of(A, B), List.of("b"), serviceB, client);
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(A, B), 160);
+        long userId = LongStream.rangeClosed(1, 100)
+                .filter(id -> ring.ownerOf(id).equals(B))
+                .findFirst()
+                .orElseThrow();
+        serviceA.chargePoint(userId, 1000);
+        serviceA.reducePoint(userId, 300);
+        nodeA.addNode(B, false);
+
+        // when
+        boolean local = nodeB.enter(userId).isEmpty();
+        nodeB.exit(userId);
+
+        // then
+        assertThat(local).isTrue();
+        assertThat(serviceB.getUserPoint(userId).point()).isEqualTo(700);
+        assertThat(serviceB.getPointHistory(userId)).extracting(PointHistory::amount).containsExactly(1000L, 300L);
+        assertThat(nodeA.enter(userId)).contains(B);
+    }
+
+    /**
+     * 처음부터 담당한 사용자는 다른 노드에서 가져오지 않고, 담당하지 않는 사용자는 담당 노드를 돌려준다.
+     */
+    @Test
+    @DisplayName("담당 노드 판단")
+    void enter() {
+        // given
+        DirectClient client = new DirectClient();
+        PointCluster nodeA = node("a", List.of(A, B), List.of(), new PointService(new FakeUserPointTable(), new FakePointHistoryTable()), client);
+
+        // when
+        List<Long> local = LongStream.rangeClosed(1, 1000).filter(id -> nodeA.enter(id).isEmpty()).boxed().toList();
+        local.forEach(nodeA::exit);
+
+        // then
+        assertThat(local.size()).isBetween(300, 700);
+        assertThat(client.nodes).containsOnlyKeys("a");
+    }
+
+    /**
+     * 노드 추가를 모르는 노드는 사용자를 넘기지 않고 계속 담당한다.
+     */
+    @Test
+    @DisplayName("담당 노드가 아닌 노드의 가져오기 거절")
+    void rejectUnknownRequester() {
+        // given
+        DirectClient client = new DirectClient();
+        PointService serviceA = new PointService(new FakeUserPointTable(), new FakePointHistoryTable());
+        PointCluster nodeA = node("a", List.of(A), List.of(), serviceA, client);
+        PointCluster nodeB = node("b", List.of(A, B), List.of("b"), new PointService(new FakeUserPointTable(), new FakePointHistoryTable()), client);
+        long userId = ownedBy(B);
+        serviceA.chargePoint(userId, 1000);
+
+        // when, then
+        assertThatThrownBy(() -> nodeB.enter(userId)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> nodeA.export(userId, new ClusterNode("c", URI.create("http://localhost:8083"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(nodeA.movedTo(userId)).isNull();
+        assertThat(nodeA.enter(userId)).isEmpty();
+        nodeA.exit(userId);
+    }
+
+    /**
+     * 진행 중인 요청이 끝나지 않아 넘기지 못하면 내보낸 표시를 되돌리고, 요청이 끝난 뒤 다시 가져올 수 있다.
+     */
+    @Test
+    @DisplayName("넘기기 실패 시 되돌림")
+    void rollbackOnTimeout() {
+        // given
+        DirectClient client = new DirectClient();
+        PointService serviceA = new PointService(new FakeUserPointTable(), new FakePointHistoryTable());
+        PointService serviceB = new PointService(new FakeUserPointTable(), new FakePointHistoryTable());
+        PointCluster nodeA = node("a", List.of(A), List.of(), serviceA, client, Duration.ofMillis(50));
+        PointCluster nodeB = node("b", List.of(A, B), List.of("b"), serviceB, client);
+        long userId = ownedBy(B);
+        serviceA.chargePoint(userId, 1000);
+        assertThat(nodeA.enter(userId)).isEmpty();
+        nodeA.addNode(B, false);
+
+        // when
+        assertThatThrownBy(() -> nodeB.enter(userId)).isInstanceOf(IllegalStateException.class);
+        ClusterNode movedAfterTimeout = nodeA.movedTo(userId);
+        nodeA.exit(userId);
+        boolean local = nodeB.enter(userId).isEmpty();
+        nodeB.exit(userId);
+
+        // then
+        assertThat(movedAfterTimeout).isNull();
+        assertThat(local).isTrue();
+        assertThat(serviceB.getUserPoint(userId).point()).isEqualTo(1000);
+        assertThat(nodeA.movedTo(userId)).isEqualTo(B);
+    }
+
+    private static long ownedBy(ClusterNode node) {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(A, B), 160);
+        return LongStream.rangeClosed(1, 100)
+                .filter(id -> ring.ownerOf(id).equals(node))
+                .findFirst()
+                .orElseThrow();
+    }
+}
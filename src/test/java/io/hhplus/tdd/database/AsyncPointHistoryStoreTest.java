@@ -0,0 +1,236 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.database.AsyncPointHistoryStore.Durability;
+import io.hhplus.tdd.lock.RefCountedUserLockProvider;
+import io.hhplus.tdd.point.LockingPointEngine;
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * AsyncPointHistoryStore class Unit Test
+ */
+class AsyncPointHistoryStoreTest {
+
+    private IndexedPointHistoryStore slowPointHistoryStore;
+
+    /**
+     * 기록이 끝나기 전에 조회하는 상황을 만들기 위해 기록 시 지연이 있는 테이블을 사용한다.
+     */
+    @BeforeEach
+    void setUp() {
+        slowPointHistoryStore = new IndexedPointHistoryStore(new FakePointHistoryTable() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(50);
+                } catch (InterruptedException ignored) {
+
+                }
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        });
+    }
+
+    /**
+     * 기록이 끝나지 않은 이력도 조회 결과에 포함된다.
+     */
+    @Test
+    @DisplayName("기록 전 이력 조회 (read-your-writes)")
+    void readYourWrites() {
+        // given
+        AsyncPointHistoryStore pointHistoryStore = new AsyncPointHistoryStore(slowPointHistoryStore, Durability.FIRE_AND_FORGET, 100, 10);
+
+        // when
+        for (int i = 0; i < 5; i++) pointHistoryStore.insert(1L, 100, CHARGE, 1000 + i);
+
+        // then
+        assertThat(pointHistoryStore.selectAllByUserId(1L)).hasSize(5);
+
+        pointHistoryStore.close();
+        assertThat(slowPointHistoryStore.selectAllByUserId(1L)).hasSize(5);
+    }
+
+    /**
+     * WAIT 모드에서는 기록된 이력(id 포함)을 돌려준다.
+     */
+    @Test
+    @DisplayName("기록 완료 대기")
+    void waitForAppend() {
+        // given
+        AsyncPointHistoryStore pointHistoryStore = new AsyncPointHistoryStore(slowPointHistoryStore, Durability.WAIT, 100, 10);
+
+        // when
+        PointHistory history = pointHistoryStore.insert(1L, 100, CHARGE, 1000);
+
+        // then
+        assertThat(history.id()).isPositive();
+        assertThat(slowPointHistoryStore.selectAllByUserId(1L)).containsExactly(history);
+        pointHistoryStore.close();
+    }
+
+    /**
+     * WAIT 모드에서는 사용자 Lock 을 쥔 채 기록을 기다리므로, 기록이 끝날 때까지 같은 사용자의 다음 요청은 반영되지 않는다.
+     */
+    @Test
+    @DisplayName("기록 완료 대기 중 같은 사용자 요청 대기")
+    void waitHoldsUserLock() throws Exception {
+        // given
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncPointHistoryStore pointHistoryStore = new AsyncPointHistoryStore(new TablePointHistoryStore(new FakePointHistoryTable() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                if (writing.getCount() > 0) {
+                    writing.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        }), Durability.WAIT, 100, 10);
+        PointStore pointStore = new TablePointStore(new FakeUserPointTable());
+        LockingPointEngine engine = new LockingPointEngine(new RefCountedUserLockProvider(), pointStore, pointHistoryStore);
+
+        // when
+        CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() -> engine.execute(new PointCommand(1L, CHARGE, 100)));
+        writing.await();
+        CompletableFuture<UserPoint> second = CompletableFuture.supplyAsync(() -> engine.execute(new PointCommand(1L, CHARGE, 200)));
+
+        // then
+        assertThatThrownBy(() -> second.get(100, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        assertThat(first).isNotDone();
+        assertThat(pointStore.selectById(1L).point()).isEqualTo(100);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).point()).isEqualTo(100);
+        assertThat(second.get(5, TimeUnit.SECONDS).point()).isEqualTo(300);
+        pointHistoryStore.close();
+    }
+
+    /**
+     * 이체의 이력 한 쌍은 한 단위로 저장소의 insertTransfer 에 넘겨지고, 기록 전에도 두 사용자 모두 조회된다.
+     */
+    @Test
+    @DisplayName("이체 이력 한 쌍 기록")
+    void insertTransfer() {
+        // given
+        AtomicInteger transferCount = new AtomicInteger();
+        IndexedPointHistoryStore delegate = new IndexedPointHistoryStore(new FakePointHistoryTable()) {
+            @Override
+            public List<PointHistory> insertTransfer(long fromUserId, long toUserId, long amount, long updateMillis) {
+                transferCount.incrementAndGet();
+                return super.insertTransfer(fromUserId, toUserId, amount, updateMillis);
+            }
+        };
+        AsyncPointHistoryStore pointHistoryStore = new AsyncPointHistoryStore(delegate, Durability.WAIT, 100, 10);
+
+        // when
+        List<PointHistory> pair = pointHistoryStore.insertTransfer(1L, 2L, 300, 1000);
+
+        // then
+        assertThat(transferCount.get()).isEqualTo(1);
+        assertThat(pair).extracting(PointHistory::userId).containsExactly(1L, 2L);
+        assertThat(pair).extracting(PointHistory::type).containsExactly(TransactionType.USE, CHARGE);
+        assertThat(pointHistoryStore.selectAllByUserId(1L)).containsExactly(pair.get(0));
+        assertThat(pointHistoryStore.selectAllByUserId(2L)).containsExactly(pair.get(1));
+        pointHistoryStore.close();
+    }
+
+    /**
+     * 기록되지 않아 id 가 없는 이력은 페이지에 포함되지 않으므로, 기록된 뒤에도 같은 이력이 두 페이지에 나타나지 않는다.
+     */
+    @Test
+    @DisplayName("페이지 조회 시 기록 전 이력 제외")
+    void pageWithoutPending() {
+        // given
+        AsyncPointHistoryStore pointHistoryStore = new AsyncPointHistoryStore(slowPointHistoryStore, Durability.FIRE_AND_FORGET, 100, 10);
+        for (int i = 0; i < 3; i++) pointHistoryStore.insert(1L, 100, CHARGE, 1000 + i);
+        PointHistoryQuery query = new PointHistoryQuery(null, 2, null, Long.MIN_VALUE, Long.MAX_VALUE);
+
+        // when
+        List<PointHistory> first = pointHistoryStore.selectPage(1L, query);
+        pointHistoryStore.close();
+        List<PointHistory> all = new ArrayList<>(first);
+        Long cursor = first.isEmpty() ? null : first.get(first.size() - 1).id();
+        for (List<PointHistory> page; !(page = pointHistoryStore.selectPage(1L, query.next(cursor))).isEmpty(); cursor = page.get(page.size() - 1).id()) {
+            all.addAll(page);
+        }
+
+        // then
+        assertThat(first).allMatch(history -> history.id() > 0);
+        assertThat(all).hasSize(3).extracting(PointHistory::id).doesNotHaveDuplicates();
+    }
+
+    /**
+     * FIRE_AND_FORGET 모드에서 기록에 실패한 이력은 버린 수로 집계되고, 이후의 이력은 계속 기록된다.
+     */
+    @Test
+    @DisplayName("기록 실패 이력 집계")
+    void countDropped() {
+        // given
+        AtomicInteger failures = new AtomicInteger(1);
+        AsyncPointHistoryStore pointHistoryStore = new AsyncPointHistoryStore(new TablePointHistoryStore(new FakePointHistoryTable() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                if (failures.getAndDecrement() > 0) throw new IllegalStateException("history unavailable");
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        }), Durability.FIRE_AND_FORGET, 100, 10);
+
+        // when
+        pointHistoryStore.insert(1L, 100, CHARGE, 1000);
+        pointHistoryStore.insert(1L, 200, CHARGE, 2000);
+        pointHistoryStore.close();
+
+        // then
+        assertThat(pointHistoryStore.dropped()).isEqualTo(1);
+        assertThat(pointHistoryStore.selectAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(200L);
+    }
+
+    /**
+     * 기록 쓰레드가 인터럽트로 멈추면 이후의 기록은 기다리지 않고 실패한다.
+     */
+    @Test
+    @DisplayName("기록 쓰레드 중단 시 즉시 실패")
+    void failFastWhenWriterStops() {
+        // given
+        AsyncPointHistoryStore pointHistoryStore = new AsyncPointHistoryStore(new TablePointHistoryStore(new FakePointHistoryTable() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                Thread.currentThread().interrupt();
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        }), Durability.WAIT, 1, 1);
+        pointHistoryStore.insert(1L, 100, CHARGE, 1000);
+
+        // when, then
+        CompletableFuture<Void> producers = CompletableFuture.allOf(IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.runAsync(() ->
+                        assertThatThrownBy(() -> pointHistoryStore.insert(1L, 100, CHARGE, 2000)).isInstanceOf(IllegalStateException.class)))
+                .toArray(CompletableFuture[]::new));
+        producers.orTimeout(5, TimeUnit.SECONDS).join();
+        pointHistoryStore.close();
+    }
+}
@@ -0,0 +1,166 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.database.CachingPointStore.CacheStats;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CachingPointStore class Unit Test
+ */
+class CachingPointStoreTest {
+
+    private UserPointTable fakeUserPointTable;
+
+    @BeforeEach
+    void setUp() {
+        fakeUserPointTable = new FakeUserPointTable();
+    }
+
+    /**
+     * 처음 조회는 저장소에서 읽고 이후 조회는 캐시에서 읽는다.
+     */
+    @Test
+    @DisplayName("조회 시 캐시 적중")
+    void readThrough() {
+        // given
+        fakeUserPointTable.insertOrUpdate(1L, 1000);
+        CachingPointStore pointStore = new CachingPointStore(new TablePointStore(fakeUserPointTable), 100, Duration.ZERO);
+
+        // when
+        pointStore.selectById(1L);
+        UserPoint userPoint = pointStore.selectById(1L);
+
+        // then
+        CacheStats stats = pointStore.stats();
+        assertThat(userPoint.point()).isEqualTo(1000);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hits()).isEqualTo(1);
+    }
+
+    /**
+     * 잔고를 기록하면 캐시도 함께 갱신되어 이전 잔고를 돌려주지 않는다.
+     */
+    @Test
+    @DisplayName("기록 시 캐시 갱신")
+    void writeThrough() {
+        // given
+        CachingPointStore pointStore = new CachingPointStore(new TablePointStore(fakeUserPointTable), 100, Duration.ZERO);
+        pointStore.selectById(1L);
+
+        // when
+        pointStore.insertOrUpdate(1L, 500);
+
+        // then
+        assertThat(pointStore.selectById(1L).point()).isEqualTo(500);
+        assertThat(pointStore.stats().hits()).isEqualTo(1);
+    }
+
+    /**
+     * 최대 크기를 넘으면 항목이 제거된다.
+     */
+    @Test
+    @DisplayName("최대 크기 초과 시 제거")
+    void eviction() {
+        // given
+        CachingPointStore pointStore = new CachingPointStore(new TablePointStore(fakeUserPointTable), 16, Duration.ZERO);
+
+        // when
+        for (long id = 1; id <= 1000; id++) pointStore.selectById(id);
+
+        // then
+        CacheStats stats = pointStore.stats();
+        assertThat(stats.size()).isLessThanOrEqualTo(16);
+        assertThat(stats.evictions()).isEqualTo(1000 - stats.size());
+    }
+
+    /**
+     * 유효 시간이 지난 항목은 다시 저장소에서 읽는다.
+     */
+    @Test
+    @DisplayName("유효 시간 만료")
+    void expiration() throws InterruptedException {
+        // given
+        CachingPointStore pointStore = new CachingPointStore(new TablePointStore(fakeUserPointTable), 100, Duration.ofMillis(10));
+        pointStore.selectById(1L);
+
+        // when
+        Thread.sleep(20);
+        pointStore.selectById(1L);
+
+        // then
+        assertThat(pointStore.stats().misses()).isEqualTo(2);
+    }
+
+    /**
+     * 조회하는 동안 기록된 잔고가 제거되었더라도, 그보다 먼저 조회한 잔고로 캐시를 채우지 않는다.
+     */
+    @Test
+    @DisplayName("조회 중 기록 후 제거 시 이전 잔고 미적재")
+    void staleLoad() {
+        // given
+        fakeUserPointTable.insertOrUpdate(1L, 1000);
+        CachingPointStore[] pointStore = new CachingPointStore[1];
+        PointStore racingStore = new TablePointStore(fakeUserPointTable) {
+            private boolean raced;
+
+            @Override
+            public UserPoint selectById(long id) {
+                UserPoint loaded = super.selectById(id);
+                if (!raced) {
+                    raced = true;
+                    // 조회와 캐시 적재 사이에 기록되고, 같은 세그먼트의 다른 사용자로 인해 제거된다.
+                    pointStore[0].insertOrUpdate(1L, 2000);
+                    pointStore[0].insertOrUpdate(17L, 100);
+                }
+                return loaded;
+            }
+        };
+        pointStore[0] = new CachingPointStore(racingStore, 16, Duration.ZERO);
+
+        // when
+        pointStore[0].selectById(1L);
+
+        // then
+        assertThat(pointStore[0].selectById(1L).point()).isEqualTo(2000);
+    }
+
+    /**
+     * 조회하는 동안 같은 세그먼트의 다른 사용자 잔고가 기록되어도, 조회한 잔고로 캐시를 채운다.
+     */
+    @Test
+    @DisplayName("조회 중 다른 사용자 기록 시 적재")
+    void loadDuringOtherWrite() {
+        // given
+        fakeUserPointTable.insertOrUpdate(1L, 1000);
+        CachingPointStore[] pointStore = new CachingPointStore[1];
+        PointStore racingStore = new TablePointStore(fakeUserPointTable) {
+            private boolean raced;
+
+            @Override
+            public UserPoint selectById(long id) {
+                UserPoint loaded = super.selectById(id);
+                if (!raced) {
+                    raced = true;
+                    pointStore[0].insertOrUpdate(17L, 100);
+                }
+                return loaded;
+            }
+        };
+        pointStore[0] = new CachingPointStore(racingStore, 16, Duration.ZERO);
+
+        // when
+        pointStore[0].selectById(1L);
+        pointStore[0].selectById(1L);
+
+        // then
+        CacheStats stats = pointStore[0].stats();
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hits()).isEqualTo(1);
+    }
+}
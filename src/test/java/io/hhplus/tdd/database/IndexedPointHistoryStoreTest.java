@@ -0,0 +1,66 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * IndexedPointHistoryStore class Unit Test
+ */
+class IndexedPointHistoryStoreTest {
+
+    private IndexedPointHistoryStore pointHistoryStore;
+
+    @BeforeEach
+    void setUp() {
+        pointHistoryStore = new IndexedPointHistoryStore(new FakePointHistoryTable());
+    }
+
+    /**
+     * 사용자별 인덱스는 해당 사용자의 이력만 돌려준다.
+     */
+    @Test
+    @DisplayName("사용자별 이력 조회")
+    void selectAllByUserId() {
+        // given
+        for (int i = 0; i < 10; i++) {
+            pointHistoryStore.insert(i % 2 + 1, 100, CHARGE, 1000 + i);
+        }
+
+        // when
+        List<PointHistory> histories = pointHistoryStore.selectAllByUserId(1L);
+
+        // then
+        assertThat(histories).hasSize(5).allMatch(history -> history.userId() == 1L);
+        assertThat(pointHistoryStore.selectAllByUserId(3L)).isEmpty();
+    }
+
+    /**
+     * 기간 조회는 updateMillis 순으로 정렬된 범위를 돌려주며, 기록 시각이 역전되어도 정렬을 유지한다.
+     */
+    @Test
+    @DisplayName("기간 조회")
+    void selectAllByUserIdBetween() {
+        // given
+        pointHistoryStore.insert(1L, 100, CHARGE, 1000);
+        pointHistoryStore.insert(1L, 200, CHARGE, 3000);
+        pointHistoryStore.insert(1L, 300, USE, 2000);
+        pointHistoryStore.insert(1L, 400, CHARGE, 4000);
+
+        // when
+        List<PointHistory> histories = pointHistoryStore.selectAllByUserIdBetween(1L, 2000, 3000);
+
+        // then
+        assertThat(histories).extracting(PointHistory::updateMillis).containsExactly(2000L, 3000L);
+        assertThat(pointHistoryStore.selectAllByUserId(1L))
+                .extracting(PointHistory::updateMillis)
+                .containsExactly(1000L, 2000L, 3000L, 4000L);
+    }
+}
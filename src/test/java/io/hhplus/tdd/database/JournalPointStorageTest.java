@@ -0,0 +1,192 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.database.PointJournal.FsyncPolicy;
+import io.hhplus.tdd.exception.PointRollbackException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JournalPointStorageTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * 다시 열면 journal 을 읽어 잔고와 이력을 복구한다.
+     */
+    @Test
+    @DisplayName("재시작 시 잔고 및 이력 복구")
+    void recover() {
+        // given
+        try (JournalPointStorage storage = new JournalPointStorage(directory, FsyncPolicy.GROUP, 10)) {
+            storage.pointHistoryStore().insert(1L, 1000, CHARGE, 1L);
+            storage.pointHistoryStore().insert(1L, 300, USE, 2L);
+            storage.pointHistoryStore().insert(2L, 500, CHARGE, 3L);
+        }
+
+        // when
+        try (JournalPointStorage storage = new JournalPointStorage(directory, FsyncPolicy.GROUP, 10)) {
+
+            // then
+            assertThat(storage.pointStore().selectById(1L).point()).isEqualTo(700);
+            assertThat(storage.pointStore().selectById(2L).point()).isEqualTo(500);
+            assertThat(storage.pointHistoryStore().selectAllByUserId(1L)).hasSize(2);
+            assertThat(storage.pointHistoryStore().insert(2L, 100, USE, 4L).id()).isEqualTo(4);
+        }
+    }
+
+    /**
+     * 마지막 레코드가 온전히 기록되지 못했다면 그 레코드부터 버리고 이어서 기록한다.
+     */
+    @Test
+    @DisplayName("손상된 마지막 레코드 무시")
+    void tornRecord() throws IOException {
+        // given
+        try (JournalPointStorage storage = new JournalPointStorage(directory, FsyncPolicy.GROUP, 10)) {
+            storage.pointHistoryStore().insert(1L, 1000, CHARGE, 1L);
+            storage.pointHistoryStore().insert(1L, 300, USE, 2L);
+        }
+        try (FileChannel channel = FileChannel.open(directory.resolve(JournalPointStorage.JOURNAL_FILE), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), PointJournal.RECORD_SIZE + 8);
+        }
+
+        // when
+        try (JournalPointStorage storage = new JournalPointStorage(directory, FsyncPolicy.GROUP, 10)) {
+
+            // then
+            assertThat(storage.pointStore().selectById(1L).point()).isEqualTo(1000);
+            assertThat(storage.pointHistoryStore().insert(1L, 100, USE, 3L).id()).isEqualTo(2);
+        }
+    }
+
+    /**
+     * 이체 이력 한 쌍 중 두 번째 레코드가 온전하지 않으면 첫 번째 레코드도 버려 한쪽 잔고만 복구되지 않는다.
+     */
+    @Test
+    @DisplayName("손상된 이체 이력 쌍 전체 무시")
+    void tornTransferPair() throws IOException {
+        // given
+        try (JournalPointStorage storage = new JournalPointStorage(directory, FsyncPolicy.GROUP, 10)) {
+            storage.pointHistoryStore().insert(1L, 1000, CHARGE, 1L);
+            storage.pointHistoryStore().insertTransfer(1L, 2L, 400, 2L);
+        }
+        try (FileChannel channel = FileChannel.open(directory.resolve(JournalPointStorage.JOURNAL_FILE), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), PointJournal.RECORD_SIZE * 2 + 8);
+        }
+
+        // when
+        try (JournalPointStorage storage = new JournalPointStorage(directory, FsyncPolicy.GROUP, 10)) {
+
+            // then
+            assertThat(storage.pointStore().selectById(1L).point()).isEqualTo(1000);
+            assertThat(storage.pointStore().selectById(2L).point()).isEqualTo(0);
+            assertThat(storage.pointHistoryStore().selectAllByUserId(1L)).hasSize(1);
+            assertThat(storage.pointHistoryStore().insert(1L, 100, USE, 3L).id()).isEqualTo(2);
+        }
+    }
+
+    /**
+     * 스냅샷 이후의 레코드만 다시 반영해도 잔고와 이력이 모두 복구된다.
+     */
+    @Test
+    @DisplayName("스냅샷 이후 레코드만 반영하여 복구")
+    void recoverFromSnapshot() {
+        // given
+        try (JournalPointStorage storage = new JournalPointStorage(directory, FsyncPolicy.GROUP, 10, Duration.ofHours(1), 2)) {
+            storage.pointHistoryStore().insert(1L, 1000, CHARGE, 1L);
+            storage.pointHistoryStore().insert(2L, 500, CHARGE, 2L);
+            assertThat(storage.snapshot()).hasValueSatisfying(snapshot -> assertThat(snapshot.lastId()).isEqualTo(2));
+            storage.pointHistoryStore().insert(1L, 300, USE, 3L);
+        }
+
+        // when
+        try (JournalPointStorage storage = new JournalPointStorage(directory, FsyncPolicy.GROUP, 10)) {
+
+            // then
+            assertThat(storage.pointStore().selectById(1L).point()).isEqualTo(700);
+            assertThat(storage.pointStore().selectById(2L).point()).isEqualTo(500);
+            assertThat(storage.pointHistoryStore().selectAllByUserId(1L))
+                    .extracting(history -> history.id())
+                    .containsExactly(1L, 3L);
+        }
+    }
+
+    /**
+     * 주기적인 스냅샷에 실패해도 거래는 계속 처리되고 실패 횟수만 센다.
+     */
+    @Test
+    @DisplayName("주기적인 스냅샷 실패 횟수 집계")
+    void countSnapshotFailures() throws Exception {
+        // given
+        Files.createDirectory(directory.resolve(String.format("snapshot-%020d.bin.tmp", 1)));
+
+        try (JournalPointStorage storage = new JournalPointStorage(directory, FsyncPolicy.GROUP, 10, Duration.ofMillis(10), 2)) {
+
+            // when
+            storage.pointHistoryStore().insert(1L, 1000, CHARGE, 1L);
+            for (int i = 0; i < 500 && storage.snapshotFailures() == 0; i++) Thread.sleep(10);
+
+            // then
+            assertThat(storage.snapshotFailures()).isPositive();
+            assertThat(storage.pointHistoryStore().insert(1L, 300, USE, 2L).id()).isEqualTo(2);
+        }
+    }
+
+    /**
+     * journal 에 기록하지 못한 거래는 먼저 반영된 메모리의 잔고에서도 되돌려, 재시작 후의 잔고와 어긋나지 않는다.
+     */
+    @Test
+    @DisplayName("journal 기록 실패 시 잔고 되돌림")
+    void rollbackOnAppendFailure() {
+        // given
+        JournalPointStorage storage = new JournalPointStorage(directory, FsyncPolicy.GROUP, 10);
+        storage.pointStore().insertOrUpdate(1L, 1000);
+        storage.pointHistoryStore().insert(1L, 1000, CHARGE, 1L);
+        storage.close();
+
+        // when
+        storage.pointStore().insertOrUpdate(1L, 700);
+
+        // then
+        assertThatThrownBy(() -> storage.pointHistoryStore().insert(1L, 300, USE, 2L)).isInstanceOf(PointRollbackException.class);
+        assertThat(storage.pointStore().selectById(1L).point()).isEqualTo(1000);
+        try (JournalPointStorage reopened = new JournalPointStorage(directory, FsyncPolicy.GROUP, 10)) {
+            assertThat(reopened.pointStore().selectById(1L).point()).isEqualTo(1000);
+        }
+    }
+
+    /**
+     * 이체 이력 한 쌍을 journal 에 기록하지 못하면 먼저 반영된 두 잔고를 모두 되돌린다.
+     */
+    @Test
+    @DisplayName("이체 journal 기록 실패 시 두 잔고 되돌림")
+    void rollbackTransferOnAppendFailure() {
+        // given
+        JournalPointStorage storage = new JournalPointStorage(directory, FsyncPolicy.GROUP, 10);
+        storage.pointStore().insertOrUpdate(1L, 1000);
+        storage.pointHistoryStore().insert(1L, 1000, CHARGE, 1L);
+        storage.close();
+
+        // when
+        storage.pointStore().insertOrUpdate(1L, 700);
+        storage.pointStore().insertOrUpdate(2L, 300);
+
+        // then
+        assertThatThrownBy(() -> storage.pointHistoryStore().insertTransfer(1L, 2L, 300, 2L)).isInstanceOf(PointRollbackException.class);
+        assertThat(storage.pointStore().selectById(1L).point()).isEqualTo(1000);
+        assertThat(storage.pointStore().selectById(2L).point()).isZero();
+    }
+}
@@ -0,0 +1,114 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * OpenAddressingPointStore class Unit Test
+ */
+class OpenAddressingPointStoreTest {
+
+    /**
+     * 기록한 적 없는 사용자는 0 포인트로 조회된다.
+     */
+    @Test
+    @DisplayName("없는 사용자 조회")
+    void selectEmpty() {
+        // given
+        OpenAddressingPointStore pointStore = new OpenAddressingPointStore();
+
+        // when
+        UserPoint userPoint = pointStore.selectById(1L);
+
+        // then
+        assertThat(userPoint.id()).isEqualTo(1L);
+        assertThat(userPoint.point()).isZero();
+        assertThat(pointStore.size()).isZero();
+    }
+
+    /**
+     * 같은 사용자에 다시 기록하면 새 항목을 만들지 않고 잔고를 덮어쓴다.
+     */
+    @Test
+    @DisplayName("잔고 기록 및 갱신")
+    void insertOrUpdate() {
+        // given
+        OpenAddressingPointStore pointStore = new OpenAddressingPointStore();
+        pointStore.insertOrUpdate(1L, 1000);
+
+        // when
+        UserPoint updated = pointStore.insertOrUpdate(1L, 300);
+
+        // then
+        assertThat(updated.point()).isEqualTo(300);
+        assertThat(pointStore.selectById(1L)).isEqualTo(updated);
+        assertThat(pointStore.size()).isEqualTo(1);
+    }
+
+    /**
+     * 초기 용량을 넘겨 배열이 재배치되어도 모든 잔고가 유지된다.
+     */
+    @Test
+    @DisplayName("재배치 후 잔고 유지")
+    void resize() {
+        // given
+        OpenAddressingPointStore pointStore = new OpenAddressingPointStore();
+
+        // when
+        for (long id = 1; id <= 100_000; id++) pointStore.put(id, id * 10, id);
+
+        // then
+        assertThat(pointStore.size()).isEqualTo(100_000);
+        Map<Long, Long> visited = new HashMap<>();
+        pointStore.forEach((id, point, updateMillis) -> visited.put(id, point));
+        assertThat(visited).hasSize(100_000);
+        for (long id = 1; id <= 100_000; id++) assertThat(pointStore.pointOf(id)).isEqualTo(id * 10);
+    }
+
+    /**
+     * 여러 쓰레드가 서로 다른 사용자를 기록하는 동안에도 조회는 기록된 잔고 또는 0 만 돌려준다.
+     */
+    @Test
+    @DisplayName("동시 기록 및 조회")
+    void concurrentReadWrite() {
+        // given
+        OpenAddressingPointStore pointStore = new OpenAddressingPointStore();
+
+        // when
+        CompletableFuture<?>[] writers = IntStream.range(0, 4)
+                .mapToObj(t -> CompletableFuture.runAsync(() -> {
+                    for (long id = t + 1; id <= 40_000; id += 4) pointStore.put(id, id, 0);
+                }))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture<Boolean> reader = CompletableFuture.supplyAsync(() -> {
+            for (long id = 1; id <= 40_000; id++) {
+                long point = pointStore.pointOf(id);
+                if (point != 0 && point != id) return false;
+            }
+            return true;
+        });
+        CompletableFuture.allOf(writers).join();
+
+        // then
+        assertThat(reader.join()).isTrue();
+        assertThat(pointStore.size()).isEqualTo(40_000);
+    }
+
+    @Test
+    @DisplayName("사용자 Id 0 은 기록할 수 없음")
+    void rejectZeroId() {
+        OpenAddressingPointStore pointStore = new OpenAddressingPointStore();
+
+        assertThatThrownBy(() -> pointStore.insertOrUpdate(0L, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
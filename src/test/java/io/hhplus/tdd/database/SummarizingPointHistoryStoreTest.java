@@ -0,0 +1,98 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.DailyPointSummary;
+import io.hhplus.tdd.point.PointSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SummarizingPointHistoryStore class Unit Test
+ */
+class SummarizingPointHistoryStoreTest {
+
+    private static final ZoneId UTC = ZoneOffset.UTC;
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    /**
+     * 이력을 기록할 때마다 합계와 건수, 일별 요약이 갱신되며 일별 요약은 조회한 기간만 돌려준다.
+     */
+    @Test
+    @DisplayName("합계와 일별 요약 갱신")
+    void summaryOf() {
+        // given
+        SummarizingPointHistoryStore pointHistoryStore = new SummarizingPointHistoryStore(new TablePointHistoryStore(new FakePointHistoryTable()), UTC, false);
+        pointHistoryStore.insert(1L, 1000, CHARGE, 0);
+        pointHistoryStore.insert(1L, 300, USE, 1000);
+        pointHistoryStore.insert(1L, 500, CHARGE, DAY);
+        pointHistoryStore.insert(1L, 200, USE, 2 * DAY);
+        pointHistoryStore.insert(2L, 700, CHARGE, 0);
+
+        // when
+        PointSummary summary = pointHistoryStore.summaryOf(1L, LocalDate.of(1970, 1, 1), LocalDate.of(1970, 1, 2));
+
+        // then
+        assertThat(summary.totalCharged()).isEqualTo(1500);
+        assertThat(summary.totalUsed()).isEqualTo(500);
+        assertThat(summary.chargeCount()).isEqualTo(2);
+        assertThat(summary.useCount()).isEqualTo(2);
+        assertThat(summary.days()).containsExactly(
+                new DailyPointSummary(LocalDate.of(1970, 1, 1), 1000, 300, 1, 1, 0, 0),
+                new DailyPointSummary(LocalDate.of(1970, 1, 2), 500, 0, 1, 0, 0, 0));
+        assertThat(pointHistoryStore.summaryOf(3L, LocalDate.MIN, LocalDate.MAX).days()).isEmpty();
+    }
+
+    /**
+     * 이전 이력이 있는 저장소는 사용자를 처음 만날 때 이력으로 요약을 만들고, 이후 기록분만 더한다.
+     */
+    @Test
+    @DisplayName("기존 이력으로 요약 복구")
+    void preloaded() {
+        // given
+        PointHistoryStore delegate = new TablePointHistoryStore(new FakePointHistoryTable());
+        delegate.insert(1L, 1000, CHARGE, 0);
+        delegate.insert(1L, 400, USE, 0);
+        SummarizingPointHistoryStore pointHistoryStore = new SummarizingPointHistoryStore(delegate, UTC, true);
+
+        // when
+        pointHistoryStore.insert(1L, 100, CHARGE, DAY);
+        PointSummary summary = pointHistoryStore.summaryOf(1L, LocalDate.MIN, LocalDate.MAX);
+
+        // then
+        assertThat(summary.totalCharged()).isEqualTo(1100);
+        assertThat(summary.totalUsed()).isEqualTo(400);
+        assertThat(summary.days()).hasSize(2);
+    }
+
+    /**
+     * 이력이 없는 사용자의 요약 조회는 빈 요약을 돌려주고 요약을 만들어 두지 않으며, 이후 기록된 이력은 그대로 반영된다.
+     */
+    @Test
+    @DisplayName("이력 없는 사용자 조회 시 요약 미보관")
+    void unknownUser() {
+        // given
+        PointHistoryStore delegate = new TablePointHistoryStore(new FakePointHistoryTable());
+        delegate.insert(1L, 1000, CHARGE, 0);
+        SummarizingPointHistoryStore pointHistoryStore = new SummarizingPointHistoryStore(delegate, UTC, true);
+
+        // when
+        PointSummary unknown = pointHistoryStore.summaryOf(2L, LocalDate.MIN, LocalDate.MAX);
+        PointSummary existing = pointHistoryStore.summaryOf(1L, LocalDate.MIN, LocalDate.MAX);
+
+        // then
+        assertThat(unknown.totalCharged()).isZero();
+        assertThat(unknown.days()).isEmpty();
+        assertThat(existing.totalCharged()).isEqualTo(1000);
+        assertThat(pointHistoryStore.size()).isEqualTo(1);
+
+        pointHistoryStore.insert(2L, 300, CHARGE, 0);
+        assertThat(pointHistoryStore.summaryOf(2L, LocalDate.MIN, LocalDate.MAX).totalCharged()).isEqualTo(300);
+    }
+}
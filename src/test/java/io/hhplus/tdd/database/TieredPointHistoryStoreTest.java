@@ -0,0 +1,141 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TieredPointHistoryStore class Unit Test
+ */
+class TieredPointHistoryStoreTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * hotSize 를 넘은 이력은 세그먼트로 내려가고, 조회는 세그먼트와 메모리의 이력을 updateMillis 순으로 합쳐 돌려준다.
+     */
+    @Test
+    @DisplayName("오래된 이력을 세그먼트로 내린 뒤 합쳐서 조회")
+    void sealAndMerge() throws InterruptedException {
+        try (TieredPointHistoryStore pointHistoryStore = new TieredPointHistoryStore(directory, 10, 5)) {
+            // given
+            for (int i = 0; i < 100; i++) {
+                pointHistoryStore.insert(i % 3 + 1, i + 1, i % 4 == 0 ? USE : CHARGE, 1000 + i);
+            }
+
+            // when
+            awaitSealed(pointHistoryStore, 10 + 5);
+
+            // then
+            assertThat(pointHistoryStore.coldCount()).isGreaterThanOrEqualTo(85);
+            List<PointHistory> histories = pointHistoryStore.selectAllByUserId(2L);
+            assertThat(histories).hasSize(33).allMatch(history -> history.userId() == 2L);
+            assertThat(histories).extracting(PointHistory::updateMillis).isSorted();
+            assertThat(histories.get(0)).isEqualTo(new PointHistory(2, 2L, 2, CHARGE, 1001));
+            assertThat(histories.get(1)).isEqualTo(new PointHistory(5, 2L, 5, USE, 1004));
+            assertThat(pointHistoryStore.selectAllByUserIdBetween(1L, 1030, 1060))
+                    .extracting(PointHistory::updateMillis).containsExactly(1030L, 1033L, 1036L, 1039L, 1042L, 1045L, 1048L, 1051L, 1054L, 1057L, 1060L);
+        }
+    }
+
+    /**
+     * cursor 기반 페이지 조회는 세그먼트와 메모리의 경계를 넘어 id 순으로 빠짐없이 이어진다.
+     */
+    @Test
+    @DisplayName("계층을 넘는 페이지 조회")
+    void selectPageAcrossTiers() throws InterruptedException {
+        try (TieredPointHistoryStore pointHistoryStore = new TieredPointHistoryStore(directory, 10, 5)) {
+            // given
+            for (int i = 0; i < 60; i++) {
+                pointHistoryStore.insert(1L, 100, CHARGE, 1000 + i);
+            }
+            awaitSealed(pointHistoryStore, 10 + 5);
+
+            // when
+            List<Long> ids = new ArrayList<>();
+            PointHistoryQuery query = new PointHistoryQuery(null, 7, null, Long.MIN_VALUE, Long.MAX_VALUE);
+            while (true) {
+                List<PointHistory> page = pointHistoryStore.selectPage(1L, query);
+                page.forEach(history -> ids.add(history.id()));
+                if (page.size() < query.limit()) break;
+                query = query.next(page.get(page.size() - 1).id());
+            }
+
+            // then
+            assertThat(ids).hasSize(60).isSorted().doesNotHaveDuplicates();
+        }
+    }
+
+    /**
+     * 크기가 같은 세그먼트는 compactedSize 까지 합쳐지고, 합쳐진 세그먼트 파일은 삭제되며 조회 결과는 그대로다.
+     */
+    @Test
+    @DisplayName("세그먼트 합치기")
+    void compact() throws InterruptedException, IOException {
+        try (TieredPointHistoryStore pointHistoryStore = new TieredPointHistoryStore(directory, 10, 5, 64, 20)) {
+            // given
+            for (int i = 0; i < 110; i++) {
+                pointHistoryStore.insert(i % 3 + 1, i + 1, CHARGE, 1000 + i);
+            }
+
+            // when
+            for (int i = 0; i < 500 && (pointHistoryStore.coldCount() < 100 || segmentFiles() > 5); i++) Thread.sleep(10);
+
+            // then - 5 개짜리 세그먼트 20 개가 20 개짜리 세그먼트로 합쳐진다.
+            assertThat(pointHistoryStore.coldCount()).isEqualTo(100);
+            assertThat(pointHistoryStore.segmentCount()).isEqualTo(5);
+            assertThat(segmentFiles()).isEqualTo(5);
+            List<PointHistory> histories = pointHistoryStore.selectAllByUserId(1L);
+            assertThat(histories).hasSize(37).extracting(PointHistory::id).isSorted().doesNotHaveDuplicates();
+            assertThat(histories.get(0)).isEqualTo(new PointHistory(1, 1L, 1, CHARGE, 1000));
+        }
+    }
+
+    /**
+     * 열어 두는 세그먼트 파일 수는 maxOpenSegments 를 넘지 않고, 닫힌 세그먼트는 조회할 때 다시 연다.
+     */
+    @Test
+    @DisplayName("열린 세그먼트 수 제한")
+    void boundedOpenSegments() throws InterruptedException {
+        try (TieredPointHistoryStore pointHistoryStore = new TieredPointHistoryStore(directory, 10, 5, 2, 5)) {
+            // given
+            for (int i = 0; i < 60; i++) {
+                pointHistoryStore.insert(i % 3 + 1, i + 1, CHARGE, 1000 + i);
+            }
+            awaitSealed(pointHistoryStore, 10 + 5);
+
+            // when
+            List<PointHistory> first = pointHistoryStore.selectAllByUserId(1L);
+            List<PointHistory> second = pointHistoryStore.selectAllByUserId(1L);
+
+            // then
+            assertThat(pointHistoryStore.segmentCount()).isGreaterThan(2);
+            assertThat(pointHistoryStore.openSegmentCount()).isLessThanOrEqualTo(2);
+            assertThat(first).hasSize(20).isEqualTo(second);
+        }
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static void awaitSealed(TieredPointHistoryStore pointHistoryStore, int maxHot) throws InterruptedException {
+        for (int i = 0; i < 500 && pointHistoryStore.hotCount() > maxHot; i++) Thread.sleep(10);
+    }
+}
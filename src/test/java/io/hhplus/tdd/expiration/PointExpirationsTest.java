@@ -0,0 +1,180 @@
+package io.hhplus.tdd.expiration;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.TablePointHistoryStore;
+import io.hhplus.tdd.database.TablePointStore;
+import io.hhplus.tdd.lock.RefCountedUserLockProvider;
+import io.hhplus.tdd.point.LockingPointEngine;
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointEngine;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.EXPIRE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PointExpirations class Unit Test
+ */
+class PointExpirationsTest {
+
+    private static final Duration PERIOD = Duration.ofDays(30);
+
+    /**
+     * 사용은 가장 오래된 충전부터 차감되며, 기간이 지난 충전은 남은 포인트만 사용자별로 모아 한 번에 차감을 요청한다.
+     */
+    @Test
+    @DisplayName("남은 포인트만 사용자별로 모아 만료")
+    void expireRemaining() {
+        // given
+        List<long[]> requested = new ArrayList<>();
+        PointExpirations expirations = new PointExpirations(PERIOD, Duration.ofSeconds(1), (userId, expirable) -> {
+            requested.add(new long[]{userId, expirable.getAsLong()});
+            return CompletableFuture.completedFuture(null);
+        });
+        PointHistoryStore pointHistoryStore = expirations.track(new TablePointHistoryStore(new FakePointHistoryTable()));
+        long now = System.currentTimeMillis();
+        pointHistoryStore.insert(1L, 1000, CHARGE, now);
+        pointHistoryStore.insert(1L, 500, CHARGE, now);
+        pointHistoryStore.insert(1L, 1200, USE, now);
+        pointHistoryStore.insert(1L, 700, CHARGE, now + 5000);
+        pointHistoryStore.insert(2L, 100, CHARGE, now);
+        pointHistoryStore.insert(2L, 100, USE, now);
+
+        // when
+        expirations.advance(now + PERIOD.toMillis() - 1000);
+        expirations.advance(now + PERIOD.toMillis() + 1000);
+
+        // then
+        assertThat(requested).hasSize(1);
+        assertThat(requested.get(0)).containsExactly(1L, 300);
+        assertThat(expirations.pending()).isEqualTo(1);
+    }
+
+    /**
+     * 만료 이력이 기록되면 만료된 충전이 목록에서 빠지고, 이후의 사용은 다음 충전에서 차감된다.
+     */
+    @Test
+    @DisplayName("만료 이력 기록 시 목록에서 제거")
+    void expireRecorded() {
+        // given
+        List<Long> requested = new ArrayList<>();
+        PointExpirations expirations = new PointExpirations(PERIOD, Duration.ofSeconds(1), (userId, expirable) -> {
+            requested.add(expirable.getAsLong());
+            return CompletableFuture.completedFuture(null);
+        });
+        PointHistoryStore pointHistoryStore = expirations.track(new TablePointHistoryStore(new FakePointHistoryTable()));
+        long now = System.currentTimeMillis();
+        pointHistoryStore.insert(1L, 1000, CHARGE, now);
+        pointHistoryStore.insert(1L, 500, CHARGE, now + PERIOD.toMillis() / 2);
+        expirations.advance(now + PERIOD.toMillis() + 1000);
+
+        // when
+        pointHistoryStore.insert(1L, 1000, EXPIRE, now + PERIOD.toMillis() + 1000);
+        pointHistoryStore.insert(1L, 200, USE, now + PERIOD.toMillis() + 1000);
+        expirations.advance(now + PERIOD.toMillis() * 3 / 2 + 1000);
+
+        // then
+        assertThat(requested).containsExactly(1000L, 300L);
+    }
+
+    /**
+     * 차감을 요청한 뒤 반영되기 전에 들어온 사용은 만료 예정 포인트에서 먼저 차감되므로, 반영할 때는 그만큼을 빼고 만료하며
+     * 아직 만료되지 않은 충전은 남는다.
+     */
+    @Test
+    @DisplayName("요청과 반영 사이의 사용은 만료에서 제외")
+    void useBeforeApply() {
+        // given
+        List<LongSupplier> requested = new ArrayList<>();
+        PointExpirations expirations = new PointExpirations(PERIOD, Duration.ofSeconds(1), (userId, expirable) -> {
+            requested.add(expirable);
+            return new CompletableFuture<>();
+        });
+        PointHistoryStore pointHistoryStore = expirations.track(new TablePointHistoryStore(new FakePointHistoryTable()));
+        PointEngine engine = new LockingPointEngine(new RefCountedUserLockProvider(), new TablePointStore(new FakeUserPointTable()), pointHistoryStore);
+        engine.execute(new PointCommand(1L, CHARGE, 1000));
+        expirations.advance(System.currentTimeMillis() + PERIOD.toMillis() + 1000);
+        engine.execute(new PointCommand(1L, CHARGE, 500));
+
+        // when - tick 이후, 만료가 반영되기 전에 사용
+        engine.execute(new PointCommand(1L, USE, 600));
+        UserPoint expired = engine.expire(1L, requested.get(0));
+
+        // then
+        assertThat(requested).hasSize(1);
+        assertThat(expired.point()).isEqualTo(500);
+        List<PointHistory> histories = pointHistoryStore.selectAllByUserId(1L);
+        assertThat(histories).extracting(PointHistory::type).containsExactly(CHARGE, CHARGE, USE, EXPIRE);
+        assertThat(histories.get(3).amount()).isEqualTo(400);
+        assertThat(requested.get(0).getAsLong()).isZero();
+    }
+
+    /**
+     * 차감 요청이 실패하면 다음 tick 에 다시 요청한다.
+     */
+    @Test
+    @DisplayName("차감 실패 시 다음 tick 에 재요청")
+    void retryFailed() {
+        // given
+        List<Long> requested = new ArrayList<>();
+        PointExpirations expirations = new PointExpirations(PERIOD, Duration.ofSeconds(1), (userId, expirable) -> {
+            requested.add(expirable.getAsLong());
+            return requested.size() == 1
+                    ? CompletableFuture.failedFuture(new IllegalStateException("unavailable"))
+                    : CompletableFuture.completedFuture(null);
+        });
+        PointHistoryStore pointHistoryStore = expirations.track(new TablePointHistoryStore(new FakePointHistoryTable()));
+        long now = System.currentTimeMillis();
+        pointHistoryStore.insert(1L, 1000, CHARGE, now);
+
+        // when
+        expirations.advance(now + PERIOD.toMillis() + 1000);
+        expirations.advance(now + PERIOD.toMillis() + 2000);
+        expirations.advance(now + PERIOD.toMillis() + 3000);
+
+        // then
+        assertThat(requested).containsExactly(1000L, 1000L);
+    }
+
+    /**
+     * 만료된 포인트는 잔고에서 차감되고 만료 이력으로 기록된다.
+     */
+    @Test
+    @DisplayName("만료 시 잔고 차감 및 만료 이력 기록")
+    void expirePointService() throws InterruptedException {
+        // given
+        PointProperties properties = new PointProperties();
+        properties.getExpiration().setEnabled(true);
+        properties.getExpiration().setPeriod(Duration.ofMillis(200));
+        properties.getExpiration().setTick(Duration.ofMillis(10));
+        PointService pointService = new PointService(new FakeUserPointTable(), new FakePointHistoryTable(), properties);
+        pointService.chargePoint(1L, 1000);
+        pointService.reducePoint(1L, 400);
+
+        // when
+        for (int i = 0; i < 100 && pointService.getUserPoint(1L).point() > 0; i++) Thread.sleep(20);
+
+        // then
+        assertThat(pointService.getUserPoint(1L).point()).isZero();
+        List<PointHistory> histories = pointService.getPointHistory(1L);
+        assertThat(histories).hasSize(3);
+        assertThat(histories.get(2).type()).isEqualTo(EXPIRE);
+        assertThat(histories.get(2).amount()).isEqualTo(600);
+        pointService.close();
+    }
+}
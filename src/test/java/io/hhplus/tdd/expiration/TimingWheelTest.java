@@ -0,0 +1,71 @@
+package io.hhplus.tdd.expiration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TimingWheel class Unit Test
+ */
+class TimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    /**
+     * 항목은 시각이 속한 tick 이 지난 뒤에만 꺼내지며, 높은 단계에 있던 먼 항목도 낮은 단계로 내려와 제때 꺼내진다.
+     */
+    @Test
+    @DisplayName("시각이 지난 항목만 만료")
+    void advance() {
+        // given
+        TimingWheel<Item> wheel = new TimingWheel<>(TICK, 0);
+        long[] deadlines = {TICK, 2 * TICK, 255 * TICK, 256 * TICK, 70_000 * TICK, 20_000_000 * TICK};
+        for (long deadline : deadlines) wheel.add(new Item(deadline));
+        List<Long> expired = new ArrayList<>();
+
+        for (long deadline : deadlines) {
+            // when
+            wheel.advance(deadline - 1, item -> expired.add(item.deadlineMillis));
+
+            // then
+            assertThat(expired).doesNotContain(deadline);
+
+            // when
+            wheel.advance(deadline, item -> expired.add(item.deadlineMillis));
+
+            // then
+            assertThat(expired).contains(deadline);
+        }
+        assertThat(expired).containsExactly(TICK, 2 * TICK, 255 * TICK, 256 * TICK, 70_000 * TICK, 20_000_000 * TICK);
+    }
+
+    /**
+     * 이미 지난 시각의 항목은 다음 진행 때 꺼내진다.
+     */
+    @Test
+    @DisplayName("지난 시각의 항목은 다음 진행 때 만료")
+    void pastDeadline() {
+        // given
+        TimingWheel<Item> wheel = new TimingWheel<>(TICK, 10 * TICK);
+        wheel.advance(10 * TICK, item -> {
+        });
+        List<Item> expired = new ArrayList<>();
+
+        // when
+        wheel.add(new Item(TICK));
+        wheel.advance(11 * TICK, expired::add);
+
+        // then
+        assertThat(expired).hasSize(1);
+    }
+
+    private static final class Item extends TimingWheel.Timeout {
+        private Item(long deadlineMillis) {
+            super(deadlineMillis);
+        }
+    }
+}
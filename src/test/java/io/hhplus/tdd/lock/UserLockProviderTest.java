@@ -0,0 +1,172 @@
+package io.hhplus.tdd.lock;
+
+import io.hhplus.tdd.exception.DeadlineExceededException;
+import io.hhplus.tdd.exception.TooManyPendingRequestsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserLockProviderTest {
+
+    /**
+     * 모든 요청이 Lock 을 반납하면 참조 횟수 기반 Lock 은 맵에서 제거된다.
+     */
+    @Test
+    @DisplayName("참조 횟수 기반 Lock - 반납 시 제거")
+    void refCountedEviction() {
+        // given
+        UserLockProvider lockProvider = new RefCountedUserLockProvider();
+
+        // when
+        runConcurrently(lockProvider, 1000, new long[1]);
+
+        // then
+        assertThat(lockProvider.size()).isZero();
+    }
+
+    /**
+     * 사용자 수가 늘어나도 stripe Lock 의 개수는 고정된다.
+     */
+    @Test
+    @DisplayName("Striped Lock - 고정 크기")
+    void stripedFixedSize() {
+        // given
+        UserLockProvider lockProvider = new StripedUserLockProvider(100);
+
+        // when
+        runConcurrently(lockProvider, 1000, new long[1]);
+
+        // then
+        assertThat(lockProvider.size()).isEqualTo(128);
+    }
+
+    /**
+     * 동일 사용자에 대한 작업은 Lock 종류와 관계없이 직렬화된다.
+     */
+    @Test
+    @DisplayName("동일 사용자 직렬화")
+    void serializeSameUser() {
+        for (UserLockProvider lockProvider : List.of(new RefCountedUserLockProvider(), new StripedUserLockProvider(16))) {
+            // given
+            long[] counter = new long[1];
+
+            // when
+            runConcurrently(lockProvider, 1, counter);
+
+            // then
+            assertThat(counter[0]).isEqualTo(1000);
+        }
+    }
+
+    /**
+     * 두 사용자의 Lock 을 서로 반대 순서로 요청해도 정해진 순서로 획득하므로 교착 상태 없이 모두 끝난다.
+     * 같은 stripe 에 속한 두 사용자도 Lock 을 한 번만 획득하여 처리된다.
+     */
+    @Test
+    @DisplayName("두 사용자 Lock 교차 획득")
+    void acquireBothCrossed() {
+        for (UserLockProvider lockProvider : List.of(new RefCountedUserLockProvider(), new StripedUserLockProvider(16), new StripedUserLockProvider(1))) {
+            // given
+            long[] counter = new long[1];
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+            // when
+            for (int i = 0; i < 1000; i++) {
+                long from = i % 2 == 0 ? 1L : 2L;
+                long to = i % 2 == 0 ? 2L : 1L;
+                tasks.add(runAsync(() -> {
+                    try (UserLock ignored = lockProvider.acquireBoth(from, to, Deadline.NONE)) {
+                        counter[0]++;
+                    }
+                }));
+            }
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).orTimeout(10, TimeUnit.SECONDS).join();
+
+            // then
+            assertThat(counter[0]).isEqualTo(1000);
+            if (lockProvider instanceof RefCountedUserLockProvider) assertThat(lockProvider.size()).isZero();
+        }
+    }
+
+    /**
+     * 두 번째 Lock 을 시한 안에 획득하지 못하면 먼저 획득한 Lock 도 반납한다.
+     */
+    @Test
+    @DisplayName("두 사용자 Lock 획득 실패 시 반납")
+    void acquireBothReleasesOnFailure() {
+        // given
+        UserLockProvider lockProvider = new RefCountedUserLockProvider();
+        UserLock holder = lockProvider.acquire(2L);
+
+        // when
+        CompletableFuture<UserLock> waiter = CompletableFuture.supplyAsync(() -> lockProvider.acquireBoth(1L, 2L, Deadline.after(Duration.ofMillis(50))));
+
+        // then
+        assertThatThrownBy(waiter::join).hasCauseInstanceOf(DeadlineExceededException.class);
+        holder.close();
+        assertThat(lockProvider.size()).isZero();
+    }
+
+    /**
+     * 다른 요청이 Lock 을 보유하고 있으면 시한이 지난 뒤 DeadlineExceededException 으로 실패하고 참조는 남지 않는다.
+     */
+    @Test
+    @DisplayName("시한 초과 시 실패")
+    void deadlineExceeded() {
+        for (UserLockProvider lockProvider : List.of(new RefCountedUserLockProvider(), new StripedUserLockProvider(16))) {
+            // given
+            UserLock holder = lockProvider.acquire(1L);
+
+            // when
+            CompletableFuture<UserLock> waiter = CompletableFuture.supplyAsync(() -> lockProvider.acquire(1L, Deadline.after(Duration.ofMillis(50))));
+
+            // then
+            assertThatThrownBy(waiter::join).hasCauseInstanceOf(DeadlineExceededException.class);
+            holder.close();
+            if (lockProvider instanceof RefCountedUserLockProvider) assertThat(lockProvider.size()).isZero();
+        }
+    }
+
+    /**
+     * 사용자별로 Lock 을 보유하거나 기다리는 요청이 maxWaiters 에 이르면 이후 요청은 기다리지 않고 거절된다.
+     */
+    @Test
+    @DisplayName("대기 요청 수 제한")
+    void maxWaiters() {
+        // given
+        UserLockProvider lockProvider = new RefCountedUserLockProvider(1);
+        UserLock holder = lockProvider.acquire(1L);
+
+        // when, then
+        assertThatThrownBy(() -> lockProvider.acquire(1L)).isInstanceOf(TooManyPendingRequestsException.class);
+        try (UserLock ignored = lockProvider.acquire(2L)) {
+            assertThat(lockProvider.size()).isEqualTo(2);
+        }
+        holder.close();
+    }
+
+    /**
+     * userCount 명의 사용자에 대해 총 1000번의 작업을 동시에 수행하며, 사용자 1의 작업마다 counter 를 증가시킨다.
+     */
+    private void runConcurrently(UserLockProvider lockProvider, int userCount, long[] counter) {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            long userId = i % userCount + 1;
+            tasks.add(runAsync(() -> {
+                try (UserLock ignored = lockProvider.acquire(userId)) {
+                    if (userId == 1) counter[0]++;
+                }
+            }));
+        }
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+    }
+}
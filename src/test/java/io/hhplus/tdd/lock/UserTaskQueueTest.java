@@ -0,0 +1,129 @@
+package io.hhplus.tdd.lock;
+
+import io.hhplus.tdd.exception.DeadlineExceededException;
+import io.hhplus.tdd.exception.TooManyPendingRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserTaskQueueTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final UserTaskQueue userTasks = new UserTaskQueue(executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 같은 사용자의 작업은 제출한 순서대로 하나씩 실행되며, 앞선 작업이 실패해도 다음 작업은 실행된다.
+     */
+    @Test
+    @DisplayName("사용자별 순차 실행")
+    void sequentialPerUser() {
+        // given
+        List<Integer> executed = new ArrayList<>();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            int order = i;
+            results.add(userTasks.submit(1L, () -> {
+                executed.add(order);
+                if (order == 10) throw new IllegalStateException("failed");
+                return order;
+            }));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+
+        // then
+        assertThat(executed).hasSize(100).isSorted();
+        assertThat(results.get(10)).isCompletedExceptionally();
+        assertThat(userTasks.size()).isZero();
+    }
+
+    /**
+     * 서로 다른 사용자의 작업은 동시에 실행되지만, 사용자마다 실행 중인 작업은 하나뿐이다.
+     */
+    @Test
+    @DisplayName("사용자별 최대 하나의 작업 실행")
+    void oneRunningTaskPerUser() {
+        // given
+        AtomicInteger[] running = {new AtomicInteger(), new AtomicInteger()};
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            int user = i % 2;
+            results.add(userTasks.submit(user + 1, () -> {
+                maxRunning.accumulateAndGet(running[user].incrementAndGet(), Math::max);
+                running[user].decrementAndGet();
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).join();
+
+        // then
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(userTasks.size()).isZero();
+    }
+
+    /**
+     * 대기 작업이 maxPending 에 이르면 이후 작업은 즉시 거절되고, 차례가 왔을 때 시한이 지난 작업은 실행되지 않는다.
+     */
+    @Test
+    @DisplayName("대기 작업 수 제한 및 시한")
+    void maxPendingAndDeadline() {
+        // given
+        UserTaskQueue bounded = new UserTaskQueue(executor, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+        CompletableFuture<Void> running = bounded.submit(1L, () -> {
+            await(release);
+            return null;
+        });
+
+        // when
+        CompletableFuture<Integer> expired = bounded.submit(1L, Deadline.after(Duration.ofMillis(1)), executed::incrementAndGet);
+        CompletableFuture<Integer> rejected = bounded.submit(1L, executed::incrementAndGet);
+        sleep(10);
+        release.countDown();
+
+        // then
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(TooManyPendingRequestsException.class);
+        assertThatThrownBy(expired::join).hasCauseInstanceOf(DeadlineExceededException.class);
+        running.join();
+        assertThat(executed.get()).isZero();
+        assertThat(bounded.size()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
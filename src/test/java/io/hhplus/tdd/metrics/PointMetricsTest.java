@@ -0,0 +1,69 @@
+package io.hhplus.tdd.metrics;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.exception.MinusPointException;
+import io.hhplus.tdd.exception.OutOfMaximumPointException;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointMetricsTest {
+
+    private MeterRegistry registry;
+    private PointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        pointService = new PointService(new FakeUserPointTable(), new FakePointHistoryTable(), new PointProperties(), registry);
+    }
+
+    /**
+     * 요청 처리 시간은 operation, outcome 별로 기록된다.
+     */
+    @Test
+    @DisplayName("요청별 처리 시간 기록")
+    void operationTimer() {
+        // given
+        pointService.chargePoint(1L, 1000);
+
+        // when
+        pointService.reducePoint(1L, 400);
+        pointService.getUserPoint(1L);
+
+        // then
+        assertThat(registry.get("point.operation").tag("operation", "charge").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get("point.operation").tag("operation", "use").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get("point.operation").tag("operation", "get_point").timer().count()).isEqualTo(1);
+        assertThat(registry.get("point.lock.wait").timer().count()).isEqualTo(2);
+        assertThat(registry.get("point.store").tag("phase", "insert_or_update").timer().count()).isEqualTo(2);
+    }
+
+    /**
+     * 잔고 부족, 최대 잔고 초과로 거절된 요청은 사유별로 집계된다.
+     */
+    @Test
+    @DisplayName("정책 위반 거절 집계")
+    void rejectionCounter() {
+        // given
+        pointService.chargePoint(1L, 1000);
+
+        // when
+        assertThatThrownBy(() -> pointService.reducePoint(1L, 2000)).isInstanceOf(MinusPointException.class);
+        assertThatThrownBy(() -> pointService.chargePoint(1L, 1000000)).isInstanceOf(OutOfMaximumPointException.class);
+
+        // then
+        assertThat(registry.get("point.rejections").tag("reason", "minus_point").counter().count()).isEqualTo(1);
+        assertThat(registry.get("point.rejections").tag("reason", "out_of_maximum").counter().count()).isEqualTo(1);
+        assertThat(registry.get("point.operation").tag("operation", "use").tag("outcome", "rejected").timer().count()).isEqualTo(1);
+        assertThat(registry.get("point.lock.registry.size").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,208 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.AsyncPointHistoryStore;
+import io.hhplus.tdd.database.AsyncPointHistoryStore.Durability;
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.OpenAddressingPointStore;
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.TablePointHistoryStore;
+import io.hhplus.tdd.database.VersionedPointStore;
+import io.hhplus.tdd.exception.MinusPointException;
+import io.hhplus.tdd.lock.RefCountedUserLockProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * OptimisticPointEngine class Unit Test
+ */
+class OptimisticPointEngineTest {
+
+    private OpenAddressingPointStore pointStore;
+    private PointHistoryStore pointHistoryStore;
+
+    /**
+     * Fake 이력 테이블은 여러 쓰레드에서 동시에 기록할 수 없으므로 기록 쓰레드가 하나인 비동기 저장소를 거친다.
+     */
+    @BeforeEach
+    void setUp() {
+        pointStore = new OpenAddressingPointStore();
+        pointHistoryStore = new AsyncPointHistoryStore(new TablePointHistoryStore(new FakePointHistoryTable()), Durability.WAIT, 1024, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointHistoryStore.close();
+    }
+
+    /**
+     * 기록할 때마다 잔고의 버전이 1 씩 오르며, 정책 위반은 기록 없이 예외로 전달된다.
+     */
+    @Test
+    @DisplayName("버전 증가 및 정책 예외")
+    void execute() {
+        // given
+        OptimisticPointEngine engine = new OptimisticPointEngine(pointStore, pointHistoryStore, new RefCountedUserLockProvider(), 3, Duration.ofSeconds(1));
+
+        // when
+        UserPoint charged = engine.execute(new PointCommand(1L, CHARGE, 1000));
+        UserPoint used = engine.execute(new PointCommand(1L, USE, 400));
+
+        // then
+        assertThat(charged.version()).isEqualTo(1);
+        assertThat(used.point()).isEqualTo(600);
+        assertThat(used.version()).isEqualTo(2);
+        assertThatThrownBy(() -> engine.execute(new PointCommand(1L, USE, 700))).isInstanceOf(MinusPointException.class);
+        assertThat(engine.find(1L).version()).isEqualTo(2);
+        assertThat(pointHistoryStore.selectAllByUserId(1L)).hasSize(2);
+    }
+
+    /**
+     * 한 사용자에게 동시에 몰린 요청은 충돌해 Lock 으로 처리되더라도 모두 한 번씩만 반영된다.
+     */
+    @Test
+    @DisplayName("충돌 시 재시도 및 Lock 전환")
+    void contended() {
+        // given
+        OptimisticPointEngine engine = new OptimisticPointEngine(pointStore, pointHistoryStore, new RefCountedUserLockProvider(), 0, Duration.ofMinutes(1));
+        int requestCount = 1000;
+
+        // when
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < requestCount; i++) futures.add(runAsync(() -> engine.execute(new PointCommand(1L, CHARGE, 10))));
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        // then
+        UserPoint userPoint = engine.find(1L);
+        assertThat(userPoint.point()).isEqualTo(requestCount * 10L);
+        assertThat(userPoint.version()).isEqualTo(requestCount);
+        assertThat(pointHistoryStore.selectAllByUserId(1L)).hasSize(requestCount);
+    }
+
+    /**
+     * 먼저 잔고를 기록한 요청이 이력을 기록하는 동안 같은 사용자의 다음 요청은 기록하지 않으므로 이력은 잔고가 바뀐 순서대로 남는다.
+     */
+    @Test
+    @DisplayName("잔고 순서대로 이력 기록")
+    void historyOrder() throws InterruptedException {
+        // given
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PointHistoryStore blocking = new PointHistoryStore() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                if (amount == 100) {
+                    inserting.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return pointHistoryStore.insert(userId, amount, type, updateMillis);
+            }
+
+            @Override
+            public List<PointHistory> selectAllByUserId(long userId) {
+                return pointHistoryStore.selectAllByUserId(userId);
+            }
+
+            @Override
+            public List<PointHistory> selectAllByUserIdBetween(long userId, long fromMillis, long toMillis) {
+                return pointHistoryStore.selectAllByUserIdBetween(userId, fromMillis, toMillis);
+            }
+        };
+        OptimisticPointEngine engine = new OptimisticPointEngine(pointStore, blocking, new RefCountedUserLockProvider(), 3, Duration.ofSeconds(1));
+
+        // when
+        CompletableFuture<UserPoint> first = supplyAsync(() -> engine.execute(new PointCommand(1L, CHARGE, 100)));
+        assertThat(inserting.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<UserPoint> second = supplyAsync(() -> engine.execute(new PointCommand(1L, CHARGE, 200)));
+        Thread.sleep(100);
+        boolean secondDoneEarly = second.isDone();
+        release.countDown();
+
+        // then
+        assertThat(secondDoneEarly).isFalse();
+        assertThat(first.join().version()).isEqualTo(1);
+        assertThat(second.join().version()).isEqualTo(2);
+        assertThat(pointHistoryStore.selectAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(100L, 200L);
+    }
+
+    /**
+     * 기한이 지난 Lock 처리 표시는 다른 사용자를 표시할 때 지워지므로, 다시 요청하지 않는 사용자의 표시가 남지 않는다.
+     */
+    @Test
+    @DisplayName("기한이 지난 충돌 표시 제거")
+    void expireContended() throws InterruptedException {
+        // given
+        AtomicBoolean conflict = new AtomicBoolean();
+        VersionedPointStore conflicting = new VersionedPointStore() {
+            @Override
+            public Optional<UserPoint> compareAndSet(long id, long expectedVersion, long amount) {
+                if (conflict.getAndSet(false)) return Optional.empty();
+                return pointStore.compareAndSet(id, expectedVersion, amount);
+            }
+
+            @Override
+            public UserPoint selectById(long id) {
+                return pointStore.selectById(id);
+            }
+
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                return pointStore.insertOrUpdate(id, amount);
+            }
+        };
+        OptimisticPointEngine engine = new OptimisticPointEngine(conflicting, pointHistoryStore, new RefCountedUserLockProvider(), 0, Duration.ofMillis(10));
+        conflict.set(true);
+        engine.execute(new PointCommand(1L, CHARGE, 100));
+        Thread.sleep(50);
+
+        // when
+        conflict.set(true);
+        engine.execute(new PointCommand(2L, CHARGE, 100));
+
+        // then
+        assertThat(engine.contendedSize()).isEqualTo(1);
+        assertThat(engine.find(1L).point()).isEqualTo(100);
+        assertThat(engine.find(2L).point()).isEqualTo(100);
+    }
+
+    /**
+     * 저장된 버전과 다른 버전으로는 기록되지 않는다.
+     */
+    @Test
+    @DisplayName("버전 비교 기록")
+    void compareAndSet() {
+        // given
+        pointStore.insertOrUpdate(1L, 1000);
+
+        // when
+        boolean stale = pointStore.compareAndSet(1L, 0, 500).isPresent();
+        UserPoint saved = pointStore.compareAndSet(1L, 1, 500).orElseThrow();
+
+        // then
+        assertThat(stale).isFalse();
+        assertThat(saved.version()).isEqualTo(2);
+        assertThat(pointStore.selectById(1L)).isEqualTo(saved);
+        assertThat(pointStore.compareAndSet(2L, 0, 100)).isPresent();
+    }
+}
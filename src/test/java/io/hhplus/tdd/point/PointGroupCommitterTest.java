@@ -0,0 +1,171 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.TablePointHistoryStore;
+import io.hhplus.tdd.database.TablePointStore;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.MinusPointException;
+import io.hhplus.tdd.lock.Deadline;
+import io.hhplus.tdd.lock.RefCountedUserLockProvider;
+import io.hhplus.tdd.lock.UserLock;
+import io.hhplus.tdd.lock.UserLockProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 그룹 커밋 모드 PointService Unit Test
+ */
+class PointGroupCommitterTest {
+
+    private PointService pointService;
+
+    private PointHistoryTable fakePointHistoryTable;
+    private UserPointTable fakeUserPointTable;
+    private final AtomicInteger writeCount = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        fakePointHistoryTable = new FakePointHistoryTable();
+        fakeUserPointTable = new FakeUserPointTable() {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                writeCount.incrementAndGet();
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+
+        PointProperties properties = new PointProperties();
+        properties.setEngine(PointProperties.EngineType.GROUP_COMMIT);
+        pointService = new PointService(fakeUserPointTable, fakePointHistoryTable, properties);
+    }
+
+    /**
+     * 그룹 커밋 모드에서도 요청별 결과와 정책 예외는 개별적으로 전달된다.
+     */
+    @Test
+    @DisplayName("요청별 결과 및 예외 전달")
+    void resultPerCommand() {
+        // given
+        pointService.chargePoint(1L, 1000);
+
+        // when
+        UserPoint userPoint = pointService.reducePoint(1L, 400);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(600);
+        assertThatThrownBy(() -> pointService.reducePoint(1L, 700))
+                .isInstanceOf(MinusPointException.class);
+        assertThat(pointService.getPointHistory(1L)).hasSize(2);
+    }
+
+    /**
+     * 앞선 배치의 잔고 기록이 끝나지 않은 동안 들어온 요청은 대기열에 쌓였다가 다음 배치에서 한 번에 기록된다.
+     */
+    @Test
+    @DisplayName("동시 요청 배치 반영")
+    void concurrentCommands() throws InterruptedException {
+        // given
+        int requestCount = 50;
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UserPointTable blockingTable = new FakeUserPointTable() {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                if (writeCount.incrementAndGet() == 1) {
+                    writing.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        AtomicInteger acquires = new AtomicInteger();
+        UserLockProvider delegate = new RefCountedUserLockProvider();
+        UserLockProvider countingLockProvider = new UserLockProvider() {
+            @Override
+            public UserLock acquire(long userId, Deadline deadline) {
+                acquires.incrementAndGet();
+                return delegate.acquire(userId, deadline);
+            }
+
+            @Override
+            public int size() {
+                return delegate.size();
+            }
+        };
+        PointGroupCommitter committer = new PointGroupCommitter(countingLockProvider,
+                new TablePointStore(blockingTable), new TablePointHistoryStore(fakePointHistoryTable));
+        ExecutorService executor = Executors.newFixedThreadPool(requestCount);
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+        // when
+        try {
+            tasks.add(runAsync(() -> committer.execute(new PointCommand(1L, CHARGE, 100)), executor));
+            writing.await();
+            for (int i = 1; i < requestCount; i++) {
+                tasks.add(runAsync(() -> committer.execute(new PointCommand(1L, CHARGE, 100)), executor));
+            }
+            // 나머지 요청이 모두 대기열에 들어가 Lock 을 기다릴 때까지 첫 기록을 붙잡아 둔다.
+            for (int i = 0; i < 500 && acquires.get() < requestCount; i++) Thread.sleep(10);
+            release.countDown();
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        // then
+        assertThat(acquires.get()).isEqualTo(requestCount);
+        assertThat(committer.find(1L).point()).isEqualTo(100L * requestCount);
+        assertThat(fakePointHistoryTable.selectAllByUserId(1L)).hasSize(requestCount);
+        assertThat(writeCount.get()).isLessThanOrEqualTo(2);
+    }
+
+    /**
+     * 잔고가 기록된 뒤 이력 기록에 실패해도 요청은 성공으로 전달되어, 재시도로 두 번 반영되지 않는다.
+     */
+    @Test
+    @DisplayName("잔고 기록 후 이력 실패 시 성공 전달")
+    void historyFailureAfterBalance() {
+        // given
+        AtomicInteger failures = new AtomicInteger(1);
+        PointHistoryTable failingHistoryTable = new FakePointHistoryTable() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                if (failures.getAndDecrement() > 0) throw new IllegalStateException("history unavailable");
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        };
+        PointProperties properties = new PointProperties();
+        properties.setEngine(PointProperties.EngineType.GROUP_COMMIT);
+        PointService failingService = new PointService(fakeUserPointTable, failingHistoryTable, properties);
+
+        // when
+        UserPoint userPoint = failingService.chargePoint(1L, 1000);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(1000);
+        assertThat(failingService.getUserPoint(1L).point()).isEqualTo(1000);
+        assertThat(failingService.reducePoint(1L, 300).point()).isEqualTo(700);
+        assertThat(failingService.getPointHistory(1L)).hasSize(1);
+    }
+}
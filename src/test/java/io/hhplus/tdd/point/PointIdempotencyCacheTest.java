@@ -0,0 +1,130 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.exception.MinusPointException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * PointIdempotencyCache class Unit Test
+ */
+class PointIdempotencyCacheTest {
+
+    private final PointIdempotencyCache cache = new PointIdempotencyCache(100, Duration.ZERO);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    /**
+     * 같은 키로 다시 들어온 요청은 반영하지 않고 처음 결과를 돌려준다.
+     */
+    @Test
+    @DisplayName("재시도 요청은 처음 결과 반환")
+    void replay() {
+        // given
+        PointCommand command = new PointCommand(1L, CHARGE, 100);
+        UserPoint first = cache.execute("key-1", command, () -> charge(100));
+
+        // when
+        UserPoint retried = cache.execute("key-1", command, () -> charge(100));
+
+        // then
+        assertThat(retried).isEqualTo(first);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    /**
+     * 처음 요청이 처리 중일 때 들어온 재시도 요청은 다시 반영하지 않고 처음 요청의 결과를 기다린다.
+     */
+    @Test
+    @DisplayName("처리 중인 요청의 결과 대기")
+    void waitForInFlight() throws InterruptedException {
+        // given
+        PointCommand command = new PointCommand(1L, CHARGE, 100);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() -> cache.execute("key-1", command, () -> {
+            started.countDown();
+            await(release);
+            return charge(100);
+        }));
+        started.await();
+
+        // when
+        CompletableFuture<UserPoint> retried = CompletableFuture.supplyAsync(() -> cache.execute("key-1", command, () -> charge(100)));
+        release.countDown();
+
+        // then
+        assertThat(retried.join()).isEqualTo(first.join());
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    /**
+     * 정책 위반으로 거절된 결과는 보관되어 재시도 시에도 같은 예외가 전달된다.
+     */
+    @Test
+    @DisplayName("정책 위반 결과 보관")
+    void replayRejection() {
+        // given
+        PointCommand command = new PointCommand(1L, USE, 100);
+        assertThatThrownBy(() -> cache.execute("key-1", command, () -> {
+            executions.incrementAndGet();
+            throw new MinusPointException("point can not be negative.");
+        })).isInstanceOf(MinusPointException.class);
+
+        // when, then
+        assertThatThrownBy(() -> cache.execute("key-1", command, () -> charge(100)))
+                .isInstanceOf(MinusPointException.class);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    /**
+     * 정책 위반이 아닌 오류는 보관하지 않으므로 재시도 시 다시 처리된다.
+     */
+    @Test
+    @DisplayName("일시적인 오류는 재시도 시 다시 처리")
+    void retryAfterError() {
+        // given
+        PointCommand command = new PointCommand(1L, CHARGE, 100);
+        assertThatThrownBy(() -> cache.execute("key-1", command, () -> {
+            throw new IllegalStateException("temporary failure");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // when
+        UserPoint userPoint = cache.execute("key-1", command, () -> charge(100));
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(100);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 요청 거절")
+    void rejectDifferentCommand() {
+        cache.execute("key-1", new PointCommand(1L, CHARGE, 100), () -> charge(100));
+
+        assertThatThrownBy(() -> cache.execute("key-1", new PointCommand(1L, CHARGE, 200), () -> charge(200)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("key-1");
+    }
+
+    private UserPoint charge(long amount) {
+        executions.incrementAndGet();
+        return new UserPoint(1L, amount, System.currentTimeMillis());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
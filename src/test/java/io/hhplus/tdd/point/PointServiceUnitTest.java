@@ -1,20 +1,28 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.database.AsyncPointHistoryStore.Durability;
 import io.hhplus.tdd.database.FakePointHistoryTable;
 import io.hhplus.tdd.database.FakeUserPointTable;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.exception.MinusPointException;
 import io.hhplus.tdd.exception.OutOfMaximumPointException;
+import io.hhplus.tdd.exception.TooManyPendingRequestsException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static io.hhplus.tdd.point.PointService.MAXIMUM_POINT;
 import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
 import static java.lang.System.currentTimeMillis;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -134,4 +142,199 @@ class PointServiceUnitTest {
         assertThatThrownBy(() -> pointService.reducePoint(1L, point))
                 .isInstanceOf(MinusPointException.class);
     }
-}
\ No newline at end of file
+
+    /**
+     * 일괄 요청은 요청 순서대로 항목별 결과를 돌려주며, 실패한 항목이 다른 항목의 처리에 영향을 주지 않는다.
+     */
+    @Test
+    @DisplayName("일괄 충전/사용 - 항목별 결과")
+    void executeBatch() {
+        // given
+        List<PointCommand> commands = List.of(
+                new PointCommand(1L, CHARGE, 1000),
+                new PointCommand(2L, CHARGE, 500),
+                new PointCommand(1L, USE, 1500),
+                new PointCommand(1L, USE, 300),
+                new PointCommand(-1L, CHARGE, 100)
+        );
+
+        // when
+        List<PointResult> results = pointService.executeBatch(commands);
+
+        // then
+        assertThat(results).extracting(PointResult::isSuccess).containsExactly(true, true, false, true, false);
+        assertThat(results.get(2).error()).isInstanceOf(MinusPointException.class);
+        assertThat(results.get(3).userPoint().point()).isEqualTo(700);
+        assertThat(pointService.getUserPoint(1L).point()).isEqualTo(700);
+        assertThat(pointService.getUserPoint(2L).point()).isEqualTo(500);
+        assertThat(pointService.getPointHistory(1L)).hasSize(2);
+    }
+
+    /**
+     * 한 사용자의 요청이 엔진에서 거절되더라도 그 사용자의 항목만 실패로 채워지고 다른 사용자의 결과는 그대로 돌려준다.
+     */
+    @Test
+    @DisplayName("일괄 충전/사용 - 사용자 단위 실패")
+    void executeBatchWithRejectedUser() throws InterruptedException {
+        // given
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean block = new AtomicBoolean(true);
+        UserPointTable blockingTable = new FakeUserPointTable() {
+            @Override
+            public UserPoint selectById(Long id) {
+                if (id == 1L && block.compareAndSet(true, false)) {
+                    holding.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.selectById(id);
+            }
+        };
+        PointProperties properties = new PointProperties();
+        properties.getLock().setMaxWaiters(1);
+        PointService service = new PointService(blockingTable, fakePointHistoryTable, properties);
+        CompletableFuture<UserPoint> holder = CompletableFuture.supplyAsync(() -> service.chargePoint(1L, 100));
+        holding.await();
+
+        // when
+        List<PointResult> results = service.executeBatch(List.of(
+                new PointCommand(1L, CHARGE, 1000),
+                new PointCommand(2L, CHARGE, 500),
+                new PointCommand(1L, USE, 50)
+        ));
+        release.countDown();
+
+        // then
+        assertThat(results).extracting(PointResult::isSuccess).containsExactly(false, true, false);
+        assertThat(results.get(0).error()).isInstanceOf(TooManyPendingRequestsException.class);
+        assertThat(results.get(2).error()).isInstanceOf(TooManyPendingRequestsException.class);
+        assertThat(PointBatchResponse.from(results.get(0)).error().code()).isEqualTo("429");
+        assertThat(results.get(1).userPoint().point()).isEqualTo(500);
+        assertThat(holder.join().point()).isEqualTo(100);
+    }
+
+    /**
+     * 항목별 오류 코드는 API 응답과 같이 잘못된 요청과 정책 위반을 400 으로 돌려준다.
+     */
+    @Test
+    @DisplayName("일괄 충전/사용 - 항목별 오류 코드")
+    void batchErrorCode() {
+        // given
+        List<PointCommand> commands = List.of(
+                new PointCommand(1L, USE, 100),
+                new PointCommand(-1L, CHARGE, 100)
+        );
+
+        // when
+        List<PointBatchResponse> responses = pointService.executeBatch(commands).stream().map(PointBatchResponse::from).toList();
+
+        // then
+        assertThat(responses).extracting(response -> response.error().code()).containsExactly("400", "400");
+    }
+
+    /**
+     * journal 저장 계층은 기록에 실패한 이력의 잔고를 되돌리므로, 사용자 Lock 을 반납한 뒤에 이력을 기록하는 FIRE_AND_FORGET 과는 함께 사용할 수 없다.
+     */
+    @Test
+    @DisplayName("journal 저장 계층과 FIRE_AND_FORGET 이력 기록 조합 거부")
+    void rejectFireAndForgetWithJournal() {
+        // given
+        PointProperties properties = new PointProperties();
+        properties.getStorage().setType(PointProperties.StorageType.JOURNAL);
+        properties.getHistory().getAsync().setEnabled(true);
+        properties.getHistory().getAsync().setDurability(Durability.FIRE_AND_FORGET);
+
+        // when & then
+        assertThatThrownBy(() -> new PointService(fakeUserPointTable, fakePointHistoryTable, properties))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * cursor 를 이어서 전달하면 조건에 맞는 이력을 중복 없이 모두 조회할 수 있다.
+     */
+    @Test
+    @DisplayName("이력 페이지 조회 - cursor 및 거래 종류 조건")
+    void getPointHistoryPage() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            fakePointHistoryTable.insert(1L, 100, CHARGE, currentTimeMillis());
+            fakePointHistoryTable.insert(1L, 50, USE, currentTimeMillis());
+        }
+        PointHistoryQuery query = new PointHistoryQuery(null, 2, CHARGE, Long.MIN_VALUE, Long.MAX_VALUE);
+
+        // when
+        PointHistoryPage first = pointService.getPointHistoryPage(1L, query);
+        PointHistoryPage second = pointService.getPointHistoryPage(1L, query.next(first.nextCursor()));
+        PointHistoryPage last = pointService.getPointHistoryPage(1L, query.next(3L * 2 + 1));
+
+        // then
+        assertThat(first.items()).extracting(PointHistory::id).containsExactly(1L, 3L);
+        assertThat(second.items()).extracting(PointHistory::id).containsExactly(5L, 7L);
+        assertThat(last.items()).extracting(PointHistory::id).containsExactly(9L);
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    /**
+     * 스트리밍 조회는 페이지 크기와 관계없이 조건에 맞는 모든 이력을 순서대로 전달한다.
+     */
+    @Test
+    @DisplayName("이력 스트리밍 조회")
+    void streamPointHistory() {
+        // given
+        for (int i = 0; i < 7; i++) fakePointHistoryTable.insert(1L, 100, CHARGE, currentTimeMillis());
+        List<PointHistory> streamed = new ArrayList<>();
+
+        // when
+        pointService.streamPointHistory(1L, new PointHistoryQuery(null, 3, null, Long.MIN_VALUE, Long.MAX_VALUE), streamed::add);
+
+        // then
+        assertThat(streamed).extracting(PointHistory::id).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+    }
+
+    /**
+     * 비동기 충전/사용도 같은 사용자에 대해 순서대로 반영되고 정책 위반은 예외로 완료된다.
+     */
+    @Test
+    @DisplayName("비동기 충전/사용")
+    void chargeAndReduceAsync() {
+        // given
+        CompletableFuture<UserPoint> charged = pointService.chargePointAsync(1L, 1000, null);
+        CompletableFuture<UserPoint> reduced = pointService.reducePointAsync(1L, 400, null);
+
+        // when
+        CompletableFuture<UserPoint> overused = pointService.reducePointAsync(1L, 700, null);
+
+        // then
+        assertThat(charged.join().point()).isEqualTo(1000);
+        assertThat(reduced.join().point()).isEqualTo(600);
+        assertThatThrownBy(overused::join).hasCauseInstanceOf(MinusPointException.class);
+        assertThat(pointService.getUserPointAsync(1L).join().point()).isEqualTo(600);
+        assertThat(pointService.getPointHistoryAsync(1L).join()).hasSize(2);
+    }
+
+    /**
+     * 요약은 반영에 성공한 충전/사용만 집계하며 정책 위반으로 거절된 요청은 포함하지 않는다.
+     */
+    @Test
+    @DisplayName("포인트 요약 조회")
+    void getPointSummary() {
+        // given
+        pointService.chargePoint(1L, 1000);
+        pointService.reducePoint(1L, 300);
+        assertThatThrownBy(() -> pointService.reducePoint(1L, 900)).isInstanceOf(MinusPointException.class);
+
+        // when
+        PointSummary summary = pointService.getPointSummary(1L, LocalDate.MIN, LocalDate.MAX);
+
+        // then
+        assertThat(summary.totalCharged()).isEqualTo(1000);
+        assertThat(summary.totalUsed()).isEqualTo(300);
+        assertThat(summary.chargeCount()).isEqualTo(1);
+        assertThat(summary.useCount()).isEqualTo(1);
+        assertThat(summary.days()).hasSize(1);
+    }
+}
@@ -0,0 +1,102 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * PointThreads class Unit Test
+ */
+class PointThreadsTest {
+
+    /**
+     * 가상 쓰레드 Executor 는 대기 중인 작업 수가 쓰레드 수에 묶이지 않는다. (Java 21 이상)
+     */
+    @Test
+    @DisplayName("가상 쓰레드 작업은 동시에 대기")
+    void virtualThreads() throws InterruptedException {
+        assumeTrue(PointThreads.virtualThreadsAvailable());
+
+        // given
+        int taskCount = 1_000;
+        CountDownLatch started = new CountDownLatch(taskCount);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = PointThreads.newExecutor("point-io-", 4, true);
+
+        // when
+        for (int i = 0; i < taskCount; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        // then
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    /**
+     * 가상 쓰레드를 사용하지 않으면 threads 개의 데몬 쓰레드만 작업을 실행한다.
+     */
+    @Test
+    @DisplayName("플랫폼 쓰레드는 threads 개로 제한")
+    void platformThreads() throws InterruptedException {
+        // given
+        Set<String> names = ConcurrentHashMap.newKeySet();
+        Set<Boolean> daemon = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = PointThreads.newExecutor("point-io-", 2, false);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            executor.execute(() -> {
+                names.add(Thread.currentThread().getName());
+                daemon.add(Thread.currentThread().isDaemon());
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        assertThat(names).hasSizeLessThanOrEqualTo(2).allMatch(name -> name.startsWith("point-io-"));
+        assertThat(daemon).containsExactly(true);
+    }
+
+    /**
+     * 가상 쓰레드가 없는 JVM 에서는 virtual 이어도 threads 개의 플랫폼 쓰레드로 대신한다.
+     */
+    @Test
+    @DisplayName("가상 쓰레드가 없으면 플랫폼 쓰레드로 대신")
+    void virtualFallback() throws InterruptedException {
+        assumeFalse(PointThreads.virtualThreadsAvailable());
+
+        // given
+        Set<String> names = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = PointThreads.newExecutor("point-io-", 2, true);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            executor.execute(() -> names.add(Thread.currentThread().getName()));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        assertThat(names).hasSizeLessThanOrEqualTo(2).allMatch(name -> name.startsWith("point-io-"));
+    }
+}
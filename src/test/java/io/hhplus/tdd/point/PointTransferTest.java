@@ -0,0 +1,146 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.database.OpenAddressingPointStore;
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.PointStore;
+import io.hhplus.tdd.database.TablePointHistoryStore;
+import io.hhplus.tdd.exception.MinusPointException;
+import io.hhplus.tdd.exception.OutOfMaximumPointException;
+import io.hhplus.tdd.exception.PointRollbackException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 포인트 이체 Unit Test
+ */
+class PointTransferTest {
+
+    /**
+     * 이체하면 두 잔고가 함께 반영되고 같은 시각의 사용/충전 이력 한 쌍이 기록된다.
+     */
+    @Test
+    @DisplayName("이체 시 잔고 및 이력 한 쌍 반영")
+    void transfer() {
+        // given
+        PointService pointService = pointServiceWith(PointProperties.EngineType.LOCKING);
+        pointService.chargePoint(1L, 1000);
+
+        // when
+        PointTransferResult result = pointService.transferPoint(1L, 2L, 300);
+
+        // then
+        assertThat(result.from().point()).isEqualTo(700);
+        assertThat(result.to().point()).isEqualTo(300);
+        assertThat(result.withdrawal().userId()).isEqualTo(1L);
+        assertThat(result.withdrawal().type()).isEqualTo(USE);
+        assertThat(result.deposit().userId()).isEqualTo(2L);
+        assertThat(result.deposit().type()).isEqualTo(CHARGE);
+        assertThat(result.deposit().updateMillis()).isEqualTo(result.withdrawal().updateMillis());
+        assertThat(pointService.getPointHistory(1L)).hasSize(2);
+        assertThat(pointService.getPointHistory(2L)).containsExactly(result.deposit());
+    }
+
+    /**
+     * 보내는 사용자의 잔고가 부족하거나 받는 사용자의 잔고가 최대 포인트를 넘으면 어느 쪽도 반영되지 않는다.
+     */
+    @Test
+    @DisplayName("정책 위반 시 미반영")
+    void rejected() {
+        // given
+        PointService pointService = pointServiceWith(PointProperties.EngineType.LOCKING);
+        pointService.chargePoint(1L, 1000);
+        pointService.chargePoint(2L, PointService.MAXIMUM_POINT);
+
+        // when, then
+        assertThatThrownBy(() -> pointService.transferPoint(1L, 3L, 1001)).isInstanceOf(MinusPointException.class);
+        assertThatThrownBy(() -> pointService.transferPoint(1L, 2L, 1)).isInstanceOf(OutOfMaximumPointException.class);
+        assertThatThrownBy(() -> pointService.transferPoint(1L, 1L, 1)).isInstanceOf(RuntimeException.class);
+        assertThat(pointService.getUserPoint(1L).point()).isEqualTo(1000);
+        assertThat(pointService.getUserPoint(2L).point()).isEqualTo(PointService.MAXIMUM_POINT);
+        assertThat(pointService.getPointHistory(1L)).hasSize(1);
+        assertThat(pointService.getPointHistory(3L)).isEmpty();
+    }
+
+    /**
+     * 두 사용자가 동시에 서로에게 이체해도 교착 상태 없이 모두 끝나며 두 잔고의 합은 유지된다.
+     */
+    @Test
+    @DisplayName("교차 이체 동시 요청")
+    void crossedTransfers() {
+        for (PointProperties.EngineType engine : List.of(PointProperties.EngineType.LOCKING, PointProperties.EngineType.GROUP_COMMIT,
+                PointProperties.EngineType.SHARDED, PointProperties.EngineType.OPTIMISTIC)) {
+            // given
+            PointService pointService = pointServiceWith(engine);
+            pointService.chargePoint(1L, 10000);
+            pointService.chargePoint(2L, 10000);
+            int requestCount = 1000;
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+            // when
+            for (int i = 0; i < requestCount; i++) {
+                long from = i % 2 == 0 ? 1L : 2L;
+                long to = i % 2 == 0 ? 2L : 1L;
+                tasks.add(runAsync(() -> pointService.transferPoint(from, to, 10)));
+            }
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).orTimeout(10, TimeUnit.SECONDS).join();
+
+            // then
+            assertThat(pointService.getUserPoint(1L).point()).isEqualTo(10000);
+            assertThat(pointService.getUserPoint(2L).point()).isEqualTo(10000);
+            assertThat(pointService.getPointHistory(1L)).hasSize(1 + requestCount);
+            assertThat(pointService.getPointHistory(2L)).hasSize(1 + requestCount);
+        }
+    }
+
+    /**
+     * 받는 사용자의 잔고를 기록하지 못하면 보내는 사용자의 잔고를 되돌리며, 이력은 하나도 남기지 않는다.
+     */
+    @Test
+    @DisplayName("잔고 기록 실패 시 되돌림")
+    void compensate() {
+        // given
+        OpenAddressingPointStore points = new OpenAddressingPointStore();
+        PointStore failing = new PointStore() {
+            @Override
+            public UserPoint selectById(long id) {
+                return points.selectById(id);
+            }
+
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                if (id == 2L) throw new IllegalStateException("write failed");
+                return points.insertOrUpdate(id, amount);
+            }
+        };
+        PointHistoryStore pointHistoryStore = new TablePointHistoryStore(new FakePointHistoryTable());
+        points.insertOrUpdate(1L, 1000);
+
+        // when, then
+        assertThatThrownBy(() -> PointTransfer.apply(failing, pointHistoryStore, 1L, 2L, 300)).isInstanceOf(PointRollbackException.class);
+        assertThat(points.selectById(1L).point()).isEqualTo(1000);
+        assertThat(points.selectById(2L).point()).isZero();
+        assertThat(pointHistoryStore.selectAllByUserId(1L)).isEmpty();
+        assertThat(pointHistoryStore.selectAllByUserId(2L)).isEmpty();
+    }
+
+    private static PointService pointServiceWith(PointProperties.EngineType engine) {
+        PointProperties properties = new PointProperties();
+        properties.setEngine(engine);
+        // 버전을 비교해 기록하는 방식은 버전을 관리하는 저장 계층이 필요하다.
+        if (engine == PointProperties.EngineType.OPTIMISTIC) properties.getStorage().setType(PointProperties.StorageType.MEMORY);
+        return new PointService(new FakeUserPointTable(), new FakePointHistoryTable(), properties);
+    }
+}
@@ -0,0 +1,258 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.AsyncPointHistoryStore;
+import io.hhplus.tdd.database.AsyncPointHistoryStore.Durability;
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.database.OpenAddressingPointStore;
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.TablePointHistoryStore;
+import io.hhplus.tdd.database.TablePointStore;
+import io.hhplus.tdd.exception.MinusPointException;
+import io.hhplus.tdd.exception.OutOfMaximumPointException;
+import io.hhplus.tdd.exception.TooManyPendingRequestsException;
+import io.hhplus.tdd.lock.Deadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ShardedPointEngine class Unit Test
+ */
+class ShardedPointEngineTest {
+
+    private ShardedPointEngine engine;
+
+    /**
+     * Fake 테이블은 여러 쓰레드에서 동시에 사용할 수 없으므로 샤드를 하나만 둔다.
+     */
+    @BeforeEach
+    void setUp() {
+        engine = new ShardedPointEngine(new TablePointStore(new FakeUserPointTable()),
+                new TablePointHistoryStore(new FakePointHistoryTable()), 1, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    /**
+     * 비동기로 제출한 요청의 결과와 정책 예외는 요청마다 Future 로 전달된다.
+     */
+    @Test
+    @DisplayName("요청별 결과 및 예외 전달")
+    void resultPerCommand() {
+        // given
+        engine.execute(new PointCommand(1L, CHARGE, 1000));
+
+        // when
+        CompletableFuture<UserPoint> used = engine.submit(new PointCommand(1L, USE, 400));
+        CompletableFuture<UserPoint> overused = engine.submit(new PointCommand(1L, USE, 700));
+
+        // then
+        assertThat(used.join().point()).isEqualTo(600);
+        assertThatThrownBy(overused::join).hasCauseInstanceOf(MinusPointException.class);
+        assertThatThrownBy(() -> engine.execute(new PointCommand(1L, USE, 700)))
+                .isInstanceOf(MinusPointException.class);
+    }
+
+    /**
+     * 대기열 크기보다 많은 요청이 동시에 들어와도 모든 요청이 반영된다.
+     */
+    @Test
+    @DisplayName("동시 요청 반영")
+    void concurrentCommands() {
+        // given
+        int requestCount = 200;
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < requestCount; i++) {
+            long userId = i % 4 + 1;
+            tasks.add(runAsync(() -> engine.execute(new PointCommand(userId, CHARGE, 100))));
+        }
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+
+        // then
+        for (long userId = 1; userId <= 4; userId++) {
+            assertThat(engine.find(userId).point()).isEqualTo(100L * requestCount / 4);
+        }
+    }
+
+    /**
+     * 한 사용자의 여러 요청은 순서대로 반영되고 실패한 요청 이후의 요청도 계속 반영된다.
+     */
+    @Test
+    @DisplayName("일괄 요청 순서 유지")
+    void executeAll() {
+        // when
+        List<PointResult> results = engine.executeAll(1L, List.of(
+                new PointCommand(1L, CHARGE, 500),
+                new PointCommand(1L, USE, 800),
+                new PointCommand(1L, USE, 200)));
+
+        // then
+        assertThat(results).extracting(PointResult::isSuccess).containsExactly(true, false, true);
+        assertThat(results.get(2).userPoint().point()).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("샤드 수 기본값은 코어 수")
+    void defaultShardCount() {
+        ShardedPointEngine defaultEngine = new ShardedPointEngine(new TablePointStore(new FakeUserPointTable()),
+                new TablePointHistoryStore(new FakePointHistoryTable()), 0, 16);
+
+        assertThat(defaultEngine.shardCount()).isEqualTo(Runtime.getRuntime().availableProcessors());
+        defaultEngine.close();
+    }
+
+    /**
+     * 샤드 쓰레드가 멈춰 대기열이 가득 차면 offerTimeout 만큼만 기다린 뒤 거절한다.
+     */
+    @Test
+    @DisplayName("가득 찬 대기열 거절")
+    void rejectWhenFull() throws InterruptedException {
+        // given
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FakeUserPointTable blockingTable = new FakeUserPointTable() {
+            @Override
+            public UserPoint selectById(Long id) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.selectById(id);
+            }
+        };
+        ShardedPointEngine fullEngine = new ShardedPointEngine(new TablePointStore(blockingTable),
+                new TablePointHistoryStore(new FakePointHistoryTable()), 1, 4, Duration.ofMillis(50));
+        List<CompletableFuture<UserPoint>> accepted = new ArrayList<>();
+        accepted.add(fullEngine.submit(new PointCommand(1L, CHARGE, 100)));
+        entered.await();
+        for (int i = 0; i < 4; i++) accepted.add(fullEngine.submit(new PointCommand(1L, CHARGE, 100)));
+
+        // when
+        CompletableFuture<UserPoint> rejected = fullEngine.submit(new PointCommand(1L, CHARGE, 100));
+
+        // then
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(TooManyPendingRequestsException.class);
+        release.countDown();
+        fullEngine.close();
+        assertThat(accepted).allMatch(result -> result.isDone() && !result.isCompletedExceptionally());
+        assertThat(fullEngine.find(1L).point()).isEqualTo(500);
+    }
+
+    /**
+     * 종료와 동시에 들어온 요청도 반영되거나 거절되어, 완료되지 않은 채 남는 요청이 없다.
+     */
+    @Test
+    @DisplayName("종료 중 요청 완료")
+    void completeAllOnClose() throws InterruptedException {
+        // given
+        List<CompletableFuture<UserPoint>> results = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread producer = new Thread(() -> {
+                for (int j = 0; j < 500; j++) results.add(engine.submit(new PointCommand(1L, CHARGE, 1)));
+            });
+            producers.add(producer);
+            producer.start();
+        }
+
+        // when
+        engine.close();
+        for (Thread producer : producers) producer.join();
+
+        // then
+        long charged = 0;
+        for (CompletableFuture<UserPoint> result : results) {
+            try {
+                result.get(1, TimeUnit.SECONDS);
+                charged++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+            } catch (TimeoutException e) {
+                throw new AssertionError("request was never completed", e);
+            }
+        }
+        assertThat(engine.find(1L).point()).isEqualTo(charged);
+    }
+
+    /**
+     * 여러 샤드에 걸친 이체가 서로 반대 방향으로 동시에 들어와도 교착 상태 없이 끝나며, 그 사이의 충전과 섞이지 않는다.
+     * Fake 테이블 대신 여러 쓰레드에서 기록할 수 있는 저장소를 사용한다.
+     */
+    @Test
+    @DisplayName("샤드 간 이체 동시 요청")
+    void transferAcrossShards() {
+        // given
+        PointHistoryStore pointHistoryStore = new AsyncPointHistoryStore(new TablePointHistoryStore(new FakePointHistoryTable()), Durability.WAIT, 1024, 100);
+        ShardedPointEngine shardedEngine = new ShardedPointEngine(new OpenAddressingPointStore(), pointHistoryStore, 4, 64);
+        int userCount = 8;
+        for (long userId = 1; userId <= userCount; userId++) shardedEngine.execute(new PointCommand(userId, CHARGE, 10000));
+        int requestCount = 1000;
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < requestCount; i++) {
+            long from = i % userCount + 1;
+            long to = (i * 3 + 1) % userCount + 1;
+            if (from == to) tasks.add(runAsync(() -> shardedEngine.execute(new PointCommand(from, CHARGE, 1))));
+            else tasks.add(runAsync(() -> shardedEngine.transfer(from, to, 10, Deadline.NONE)));
+        }
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).orTimeout(10, TimeUnit.SECONDS).join();
+
+        // then
+        long charged = 0;
+        long total = 0;
+        for (int i = 0; i < requestCount; i++) if (i % userCount == (i * 3 + 1) % userCount) charged++;
+        for (long userId = 1; userId <= userCount; userId++) total += shardedEngine.find(userId).point();
+        assertThat(total).isEqualTo(10000L * userCount + charged);
+        shardedEngine.close();
+        pointHistoryStore.close();
+    }
+
+    /**
+     * 다른 샤드의 받는 사용자에게 충전하지 못하면 보내는 사용자의 샤드에서 차감한 금액을 되돌리며 이력은 남기지 않는다.
+     */
+    @Test
+    @DisplayName("다른 샤드로의 이체 실패 시 되돌림")
+    void refundAcrossShards() {
+        // given
+        PointHistoryStore pointHistoryStore = new TablePointHistoryStore(new FakePointHistoryTable());
+        ShardedPointEngine shardedEngine = new ShardedPointEngine(new OpenAddressingPointStore(), pointHistoryStore, 2, 64);
+        long toUserId = 2L;
+        while (shardedEngine.shardIndexOf(toUserId) == shardedEngine.shardIndexOf(1L)) toUserId++;
+        long receiver = toUserId;
+        shardedEngine.execute(new PointCommand(1L, CHARGE, 1000));
+        shardedEngine.execute(new PointCommand(receiver, CHARGE, PointService.MAXIMUM_POINT));
+
+        // when, then
+        assertThatThrownBy(() -> shardedEngine.transfer(1L, receiver, 300, Deadline.NONE)).isInstanceOf(OutOfMaximumPointException.class);
+        assertThat(shardedEngine.find(1L).point()).isEqualTo(1000);
+        assertThat(shardedEngine.find(receiver).point()).isEqualTo(PointService.MAXIMUM_POINT);
+        assertThat(pointHistoryStore.selectAllByUserId(1L)).hasSize(1);
+        shardedEngine.close();
+    }
+}
@@ -0,0 +1,223 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.TablePointHistoryStore;
+import io.hhplus.tdd.database.TablePointStore;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.MinusPointException;
+import io.hhplus.tdd.exception.OutOfMaximumPointException;
+import io.hhplus.tdd.lock.Deadline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.hhplus.tdd.point.PointService.MAXIMUM_POINT;
+import static io.hhplus.tdd.point.TransactionType.CHARGE;
+import static io.hhplus.tdd.point.TransactionType.USE;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * WriteBehindPointEngine class Unit Test
+ */
+class WriteBehindPointEngineTest {
+
+    private WriteBehindPointEngine engine;
+
+    private PointHistoryTable fakePointHistoryTable;
+    private UserPointTable fakeUserPointTable;
+    private final AtomicInteger writeCount = new AtomicInteger();
+
+    /**
+     * 테스트 중에는 주기적인 기록이 일어나지 않도록 flush 주기를 길게 설정한다.
+     */
+    @BeforeEach
+    void setUp() {
+        fakePointHistoryTable = new FakePointHistoryTable();
+        fakeUserPointTable = new FakeUserPointTable() {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                writeCount.incrementAndGet();
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        engine = new WriteBehindPointEngine(new TablePointStore(fakeUserPointTable), new TablePointHistoryStore(fakePointHistoryTable), 60_000);
+    }
+
+    /**
+     * 잔고 정책은 메모리의 잔고를 기준으로 즉시 검증된다.
+     */
+    @Test
+    @DisplayName("정책 검증")
+    void policy() {
+        // given
+        engine.execute(new PointCommand(1L, CHARGE, 1000));
+
+        // when & then
+        assertThatThrownBy(() -> engine.execute(new PointCommand(1L, USE, 1001)))
+                .isInstanceOf(MinusPointException.class);
+        assertThatThrownBy(() -> engine.execute(new PointCommand(1L, CHARGE, MAXIMUM_POINT)))
+                .isInstanceOf(OutOfMaximumPointException.class);
+        assertThat(engine.find(1L).point()).isEqualTo(1000);
+    }
+
+    /**
+     * 동시에 반영된 여러 변경은 한 번의 테이블 기록으로 합쳐진다.
+     */
+    @Test
+    @DisplayName("변경 병합 기록")
+    void coalescedWrite() {
+        // given
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(runAsync(() -> engine.execute(new PointCommand(1L, CHARGE, 100))));
+        }
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+
+        // when
+        engine.close();
+
+        // then
+        assertThat(fakeUserPointTable.selectById(1L).point()).isEqualTo(10000);
+        assertThat(fakePointHistoryTable.selectAllByUserId(1L)).hasSize(100);
+        assertThat(writeCount.get()).isEqualTo(1);
+    }
+
+    /**
+     * 이력 기록에 실패하면 남은 이력은 버려지지 않고 다음 flush 에 순서대로 기록된다.
+     */
+    @Test
+    @DisplayName("이력 기록 실패 시 다음 flush 에 재기록")
+    void retryFailedHistory() {
+        // given
+        AtomicInteger failures = new AtomicInteger(1);
+        PointHistoryTable failingHistoryTable = new FakePointHistoryTable() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                if (failures.getAndDecrement() > 0) throw new IllegalStateException("history unavailable");
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        };
+        WriteBehindPointEngine failingEngine = new WriteBehindPointEngine(new TablePointStore(fakeUserPointTable), new TablePointHistoryStore(failingHistoryTable), 60_000);
+        failingEngine.execute(new PointCommand(1L, CHARGE, 1000));
+        failingEngine.execute(new PointCommand(1L, USE, 300));
+
+        // when
+        failingEngine.flush();
+        failingEngine.execute(new PointCommand(1L, CHARGE, 200));
+        failingEngine.flush();
+
+        // then
+        assertThat(fakeUserPointTable.selectById(1L).point()).isEqualTo(900);
+        assertThat(failingHistoryTable.selectAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(1000L, 300L, 200L);
+        failingEngine.close();
+    }
+
+    /**
+     * 기록된 뒤 한 주기 동안 사용되지 않은 사용자는 메모리에서 제거되고, 다시 사용하면 테이블에서 읽어온다.
+     */
+    @Test
+    @DisplayName("사용되지 않은 사용자 제거")
+    void evictIdle() {
+        // given
+        engine.execute(new PointCommand(1L, CHARGE, 1000));
+        engine.execute(new PointCommand(2L, CHARGE, 500));
+        engine.flush();
+        engine.execute(new PointCommand(2L, USE, 100));
+
+        // when
+        engine.flush();
+
+        // then
+        assertThat(engine.size()).isEqualTo(1);
+        assertThat(engine.find(1L).point()).isEqualTo(1000);
+        assertThat(engine.execute(new PointCommand(1L, USE, 300)).point()).isEqualTo(700);
+        assertThat(engine.size()).isEqualTo(2);
+    }
+
+    /**
+     * 옮겨 온 사용자는 메모리의 잔고에 바로 반영되어 flush 가 덮어쓰지 않고, 이력은 원래의 시각으로 기록된다.
+     */
+    @Test
+    @DisplayName("사용자 이동 반영")
+    void restore() {
+        // given - 메모리에 잔고가 올라와 있는 사용자
+        engine.find(1L);
+
+        // when
+        engine.restore(1L, 700, List.of(new PointHistory(9, 1L, 1000, CHARGE, 10), new PointHistory(10, 1L, 300, USE, 20)));
+        engine.execute(new PointCommand(1L, CHARGE, 100));
+        engine.flush();
+
+        // then
+        assertThat(engine.find(1L).point()).isEqualTo(800);
+        assertThat(fakeUserPointTable.selectById(1L).point()).isEqualTo(800);
+        assertThat(fakePointHistoryTable.selectAllByUserId(1L)).extracting(PointHistory::updateMillis).startsWith(10L, 20L);
+    }
+
+    /**
+     * 받는 사용자의 잔고가 최대 포인트를 넘으면 줄였던 보내는 사용자의 잔고가 되돌려지고, 이체의 이력 한 쌍은 다음 flush 에 기록된다.
+     */
+    @Test
+    @DisplayName("이체 반영 및 정책 위반 시 되돌림")
+    void transfer() {
+        // given
+        engine.execute(new PointCommand(1L, CHARGE, 1000));
+        engine.execute(new PointCommand(3L, CHARGE, MAXIMUM_POINT));
+
+        // when
+        PointTransferResult result = engine.transfer(1L, 2L, 300, Deadline.NONE);
+        engine.flush();
+
+        // then
+        assertThat(result.from().point()).isEqualTo(700);
+        assertThat(result.to().point()).isEqualTo(300);
+        assertThatThrownBy(() -> engine.transfer(1L, 3L, 100, Deadline.NONE)).isInstanceOf(OutOfMaximumPointException.class);
+        assertThat(engine.find(1L).point()).isEqualTo(700);
+        assertThat(fakeUserPointTable.selectById(2L).point()).isEqualTo(300);
+        assertThat(fakePointHistoryTable.selectAllByUserId(1L)).extracting(PointHistory::type).containsExactly(CHARGE, USE);
+        assertThat(fakePointHistoryTable.selectAllByUserId(2L)).extracting(PointHistory::type).containsExactly(CHARGE);
+    }
+
+    /**
+     * 되돌리는 금액도 충전과 같이 최대 포인트를 넘을 수 없으므로, 그 사이의 충전으로 여유가 없으면 여유가 생긴 뒤의 flush 에서 되돌린다.
+     */
+    @Test
+    @DisplayName("이체 되돌림이 최대 포인트를 넘으면 다음 주기에 다시 시도")
+    void deferredRefund() {
+        // given - 받는 사용자의 잔고를 읽는 사이 보내는 사용자가 최대 포인트까지 충전한다.
+        WriteBehindPointEngine[] racing = new WriteBehindPointEngine[1];
+        UserPointTable racingTable = new FakeUserPointTable() {
+            @Override
+            public UserPoint selectById(Long id) {
+                if (id == 2L) racing[0].execute(new PointCommand(1L, CHARGE, MAXIMUM_POINT - 700));
+                return super.selectById(id);
+            }
+        };
+        racingTable.insertOrUpdate(2L, MAXIMUM_POINT);
+        racing[0] = new WriteBehindPointEngine(new TablePointStore(racingTable), new TablePointHistoryStore(fakePointHistoryTable), 60_000);
+        racing[0].execute(new PointCommand(1L, CHARGE, 1000));
+
+        // when
+        assertThatThrownBy(() -> racing[0].transfer(1L, 2L, 300, Deadline.NONE)).isInstanceOf(OutOfMaximumPointException.class);
+        UserPoint beforeRefund = racing[0].find(1L);
+        racing[0].flush();
+        racing[0].execute(new PointCommand(1L, USE, 500));
+        racing[0].flush();
+
+        // then
+        assertThat(beforeRefund.point()).isEqualTo(MAXIMUM_POINT);
+        assertThat(racing[0].find(1L).point()).isEqualTo(MAXIMUM_POINT - 200);
+        assertThat(racing[0].pendingRefunds()).isZero();
+        assertThat(racingTable.selectById(1L).point()).isEqualTo(MAXIMUM_POINT - 200);
+        racing[0].close();
+    }
+}